@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Startup time and time-to-first-response per launch mode.
+#
+#   mvn -Paot package -DskipTests            # jar with AOT-generated initializers
+#   mvn -Pnative native:compile -DskipTests  # optional, needs GraalVM
+#   scripts/startup-benchmark.sh [runs]
+#
+# Modes: jvm (plain jar), aot (-Dspring.aot.enabled), cds (AppCDS archive), aot-cds (both) and
+# native (target/weather-app, skipped when not built). Time-to-first-response is measured from
+# process launch to the first 200 from /actuator/health.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$ROOT"/target/weather-app-*.jar | head -n 1)"
+WORK="$ROOT/target/startup-benchmark"
+NATIVE="$ROOT/target/weather-app"
+
+rm -rf "$WORK"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK" >/dev/null
+APP_JAR="$WORK/$(basename "$JAR")"
+
+echo "Training AppCDS archives"
+(cd "$WORK" && java -XX:ArchiveClassesAtExit=jvm.jsa -Dspring.context.exit=onRefresh -jar "$APP_JAR" >/dev/null)
+(cd "$WORK" && java -XX:ArchiveClassesAtExit=aot.jsa -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+    -jar "$APP_JAR" >/dev/null)
+
+now_ms() {
+    date +%s%3N
+}
+
+measure() {
+    local mode="$1"
+    shift
+    local total_started=0 total_first=0
+    for ((run = 1; run <= RUNS; run++)); do
+        local log="$WORK/$mode-$run.log"
+        local start
+        start="$(now_ms)"
+        (cd "$WORK" && exec "$@" --server.port="$PORT" >"$log" 2>&1) &
+        local pid=$!
+        until curl -sf "http://localhost:$PORT/actuator/health" >/dev/null 2>&1; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$mode failed to start, see $log" >&2
+                return 1
+            fi
+            sleep 0.01
+        done
+        local first=$(( $(now_ms) - start ))
+        kill "$pid" && wait "$pid" 2>/dev/null || true
+
+        local started
+        started="$(grep -o 'Started WeatherSolarApplication in [0-9.]*' "$log" | awk '{print $4 * 1000}')"
+        total_started=$(( total_started + ${started%.*} ))
+        total_first=$(( total_first + first ))
+    done
+    printf "%-8s %12d %16d\n" "$mode" $(( total_started / RUNS )) $(( total_first / RUNS ))
+}
+
+printf "%-8s %12s %16s\n" "mode" "started(ms)" "first-resp(ms)"
+measure jvm java -jar "$APP_JAR"
+measure aot java -Dspring.aot.enabled=true -jar "$APP_JAR"
+measure cds java -XX:SharedArchiveFile=jvm.jsa -jar "$APP_JAR"
+measure aot-cds java -XX:SharedArchiveFile=aot.jsa -Dspring.aot.enabled=true -jar "$APP_JAR"
+if [[ -x "$NATIVE" ]]; then
+    measure native "$NATIVE"
+fi
@@ -0,0 +1,23 @@
+package com.weathersolar.Model;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hourly forecast kept as primitive columns, the way Open-Meteo delivers it. Times are epoch
+ * seconds, missing values are NaN.
+ */
+@Getter
+@RequiredArgsConstructor
+public class HourlySeries {
+    private final int utcOffsetSeconds;
+    private final long[] time;
+    private final List<String> variables;
+    private final double[][] values;
+
+    public int size() {
+        return time.length;
+    }
+}
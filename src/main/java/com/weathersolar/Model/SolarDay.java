@@ -0,0 +1,24 @@
+package com.weathersolar.Model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Sun times for one day. Sunrise and sunset are {@code null} during polar day or night.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolarDay {
+    private LocalDate date;
+    private Instant sunrise;
+    private Instant sunset;
+    private Instant solarNoon;
+    private double daylightHours;
+    private double solarEnergy;
+}
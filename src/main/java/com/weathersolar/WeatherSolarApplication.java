@@ -5,12 +5,29 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.web.reactive.function.client.WebClient;
+import com.weathersolar.config.CacheProperties;
+import com.weathersolar.config.ClusterProperties;
+import com.weathersolar.config.ExportProperties;
+import com.weathersolar.config.GridProperties;
+import com.weathersolar.config.LimiterProperties;
+import com.weathersolar.config.NativeRuntimeHints;
+import com.weathersolar.config.ProfilingProperties;
+import com.weathersolar.config.ProviderProperties;
+import com.weathersolar.config.RateLimitProperties;
+import com.weathersolar.config.RefreshProperties;
 import com.weathersolar.config.SolarProperties;
+import com.weathersolar.config.SolarGridProperties;
+import com.weathersolar.config.WarmupProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties(SolarProperties.class)
+@EnableConfigurationProperties({SolarProperties.class, CacheProperties.class, RefreshProperties.class,
+    LimiterProperties.class, RateLimitProperties.class, ProviderProperties.class,
+    GridProperties.class, ExportProperties.class, ClusterProperties.class,
+    WarmupProperties.class, ProfilingProperties.class, SolarGridProperties.class})
 @ComponentScan(basePackages = {"com.weathersolar", "com.weathersolar.config"})
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class WeatherSolarApplication {
 
    public static void main(String[] args) {
@@ -0,0 +1,101 @@
+package com.weathersolar.aggregate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.cache.ForecastKey;
+import com.weathersolar.config.CacheProperties;
+import com.weathersolar.profiling.AggregationEvent;
+
+/**
+ * Keeps incrementally maintained forecast statistics per location and horizon, so summaries are
+ * served without re-scanning the hourly series.
+ */
+@Component
+public class AggregateEngine {
+    private final CacheProperties properties;
+    private final Map<ForecastKey, LocationAggregates> aggregates = new ConcurrentHashMap<>();
+
+    public AggregateEngine(CacheProperties properties) {
+        this.properties = properties;
+    }
+
+    public void mergePressure(ForecastKey key, long[] times, double[] values) {
+        AggregationEvent event = new AggregationEvent();
+        event.begin();
+        aggregatesFor(key).mergePressure(times, values);
+        commit(event, "pressure", key, times.length);
+    }
+
+    public void clearPressure(ForecastKey key) {
+        LocationAggregates location = aggregates.get(key);
+        if (location != null) {
+            location.clearPressure();
+        }
+    }
+
+    /**
+     * Timestamp of the newest merged pressure point, or {@code Long.MIN_VALUE} when there is none.
+     */
+    public long lastPressureTime(ForecastKey key) {
+        LocationAggregates location = aggregates.get(key);
+        return location == null ? Long.MIN_VALUE : location.lastPressureTime();
+    }
+
+    public void mergeDaily(ForecastKey key, List<DailyWeather> days) {
+        AggregationEvent event = new AggregationEvent();
+        event.begin();
+        aggregatesFor(key).mergeDaily(days);
+        commit(event, "daily", key, days.size());
+    }
+
+    public AggregateSnapshot snapshot(ForecastKey key) {
+        AggregationEvent event = new AggregationEvent();
+        event.begin();
+        LocationAggregates location = aggregates.get(key);
+        AggregateSnapshot snapshot = location == null ? null : location.snapshot();
+        commit(event, "snapshot", key, 0);
+        return snapshot;
+    }
+
+    public int size() {
+        return aggregates.size();
+    }
+
+    private static void commit(AggregationEvent event, String operation, ForecastKey key, int samples) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.latitude = key.location().latitude();
+            event.longitude = key.location().longitude();
+            event.days = key.days();
+            event.samples = samples;
+            event.commit();
+        }
+    }
+
+    private LocationAggregates aggregatesFor(ForecastKey key) {
+        LocationAggregates location = aggregates.get(key);
+        if (location != null) {
+            return location;
+        }
+        location = aggregates.computeIfAbsent(key, k -> new LocationAggregates(k.days()));
+        if (aggregates.size() > properties.getMaxEntries()) {
+            evictLeastRecentlyUpdated();
+        }
+        return location;
+    }
+
+    private void evictLeastRecentlyUpdated() {
+        while (aggregates.size() > properties.getMaxEntries()) {
+            aggregates.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().getLastUpdatedMillis()))
+                .ifPresent(oldest -> aggregates.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+}
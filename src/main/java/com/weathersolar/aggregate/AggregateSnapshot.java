@@ -0,0 +1,10 @@
+package com.weathersolar.aggregate;
+
+public record AggregateSnapshot(
+    double averagePressure,
+    double pressureTrendPerHour,
+    double minTemperature,
+    double maxTemperature,
+    double averageSolarEnergy
+) {
+}
@@ -0,0 +1,74 @@
+package com.weathersolar.aggregate;
+
+import java.util.List;
+
+import com.weathersolar.Model.DailyWeather;
+
+/**
+ * Rolling statistics for one location and forecast horizon: hourly pressure plus the daily
+ * temperature extremes and solar energy.
+ */
+class LocationAggregates {
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private final SlidingWindowAggregate pressure;
+    private final SlidingWindowAggregate minTemperature;
+    private final SlidingWindowAggregate maxTemperature;
+    private final SlidingWindowAggregate solarEnergy;
+    private volatile long lastUpdatedMillis;
+
+    LocationAggregates(int days) {
+        long span = days * SECONDS_PER_DAY;
+        this.pressure = new SlidingWindowAggregate(span, days * 24);
+        this.minTemperature = new SlidingWindowAggregate(span, days);
+        this.maxTemperature = new SlidingWindowAggregate(span, days);
+        this.solarEnergy = new SlidingWindowAggregate(span, days);
+        this.lastUpdatedMillis = System.currentTimeMillis();
+    }
+
+    synchronized void mergePressure(long[] times, double[] values) {
+        pressure.merge(times, values);
+        lastUpdatedMillis = System.currentTimeMillis();
+    }
+
+    synchronized void mergeDaily(List<DailyWeather> days) {
+        int size = days.size();
+        long[] times = new long[size];
+        double[] minimums = new double[size];
+        double[] maximums = new double[size];
+        double[] energy = new double[size];
+        for (int i = 0; i < size; i++) {
+            DailyWeather day = days.get(i);
+            times[i] = day.getDate().toEpochDay() * SECONDS_PER_DAY;
+            minimums[i] = day.getMinTemperature();
+            maximums[i] = day.getMaxTemperature();
+            energy[i] = day.getSolarEnergy();
+        }
+        minTemperature.merge(times, minimums);
+        maxTemperature.merge(times, maximums);
+        solarEnergy.merge(times, energy);
+        lastUpdatedMillis = System.currentTimeMillis();
+    }
+
+    synchronized void clearPressure() {
+        pressure.clear();
+    }
+
+    synchronized long lastPressureTime() {
+        return pressure.size() == 0 ? Long.MIN_VALUE : pressure.lastTime();
+    }
+
+    synchronized AggregateSnapshot snapshot() {
+        return new AggregateSnapshot(
+            pressure.mean(),
+            pressure.slopePerHour(),
+            minTemperature.min(),
+            maxTemperature.max(),
+            solarEnergy.mean()
+        );
+    }
+
+    long getLastUpdatedMillis() {
+        return lastUpdatedMillis;
+    }
+}
@@ -0,0 +1,200 @@
+package com.weathersolar.aggregate;
+
+/**
+ * Mean, min, max and least-squares slope over a time-ordered sliding window. Appending a point and
+ * sliding the window are amortized O(1): sums are kept running and min/max come from monotonic
+ * deques. Only rewriting an already merged value falls back to a full rebuild of the window.
+ */
+public class SlidingWindowAggregate {
+    private static final double SECONDS_PER_HOUR = 3600.0;
+
+    private final long spanSeconds;
+    private final int capacity;
+    private final long[] times;
+    private final double[] values;
+    private final long[] minDeque;
+    private final long[] maxDeque;
+
+    private long head;
+    private long tail;
+    private long minHead;
+    private long minTail;
+    private long maxHead;
+    private long maxTail;
+
+    private long originTime;
+    private double sum;
+    private double sumX;
+    private double sumXX;
+    private double sumXY;
+
+    public SlidingWindowAggregate(long spanSeconds, int capacity) {
+        this.spanSeconds = spanSeconds;
+        this.capacity = capacity;
+        this.times = new long[capacity];
+        this.values = new double[capacity];
+        this.minDeque = new long[capacity];
+        this.maxDeque = new long[capacity];
+    }
+
+    /**
+     * Merges points sorted by time. Points after the newest one are appended, points already in
+     * the window only cost a comparison unless their value changed.
+     */
+    public void merge(long[] pointTimes, double[] pointValues) {
+        boolean changed = false;
+        for (int i = 0; i < pointTimes.length; i++) {
+            if (Double.isNaN(pointValues[i])) {
+                continue;
+            }
+            if (size() > 0 && pointTimes[i] <= lastTime()) {
+                changed |= overwrite(pointTimes[i], pointValues[i]);
+            } else {
+                append(pointTimes[i], pointValues[i]);
+            }
+        }
+        if (changed) {
+            rebuild();
+        }
+    }
+
+    public void append(long time, double value) {
+        if (size() > 0 && time <= lastTime()) {
+            throw new IllegalArgumentException("Points must be appended in time order");
+        }
+        if (size() == 0) {
+            originTime = time;
+            sum = sumX = sumXX = sumXY = 0;
+        }
+        if (size() == capacity) {
+            evictOldest();
+        }
+
+        long sequence = tail++;
+        times[index(sequence)] = time;
+        values[index(sequence)] = value;
+        addToSums(time, value);
+
+        while (minTail > minHead && values[index(minDeque[index(minTail - 1)])] >= value) {
+            minTail--;
+        }
+        minDeque[index(minTail++)] = sequence;
+        while (maxTail > maxHead && values[index(maxDeque[index(maxTail - 1)])] <= value) {
+            maxTail--;
+        }
+        maxDeque[index(maxTail++)] = sequence;
+
+        while (times[index(head)] <= time - spanSeconds) {
+            evictOldest();
+        }
+    }
+
+    public void clear() {
+        head = tail = minHead = minTail = maxHead = maxTail = 0;
+        sum = sumX = sumXX = sumXY = 0;
+    }
+
+    public int size() {
+        return (int) (tail - head);
+    }
+
+    public long lastTime() {
+        return times[index(tail - 1)];
+    }
+
+    public double mean() {
+        return size() == 0 ? Double.NaN : sum / size();
+    }
+
+    public double min() {
+        return size() == 0 ? Double.NaN : values[index(minDeque[index(minHead)])];
+    }
+
+    public double max() {
+        return size() == 0 ? Double.NaN : values[index(maxDeque[index(maxHead)])];
+    }
+
+    /**
+     * Least-squares slope of the window in value units per hour.
+     */
+    public double slopePerHour() {
+        int n = size();
+        double denominator = n * sumXX - sumX * sumX;
+        if (n < 2 || denominator == 0) {
+            return 0;
+        }
+        return (n * sumXY - sumX * sum) / denominator;
+    }
+
+    private boolean overwrite(long time, double value) {
+        long low = head;
+        long high = tail - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long midTime = times[index(mid)];
+            if (midTime < time) {
+                low = mid + 1;
+            } else if (midTime > time) {
+                high = mid - 1;
+            } else {
+                if (values[index(mid)] == value) {
+                    return false;
+                }
+                values[index(mid)] = value;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rebuild() {
+        long first = head;
+        long last = tail;
+        sum = sumX = sumXX = sumXY = 0;
+        minHead = minTail = maxHead = maxTail = first;
+        originTime = times[index(first)];
+        for (long sequence = first; sequence < last; sequence++) {
+            double value = values[index(sequence)];
+            addToSums(times[index(sequence)], value);
+            while (minTail > minHead && values[index(minDeque[index(minTail - 1)])] >= value) {
+                minTail--;
+            }
+            minDeque[index(minTail++)] = sequence;
+            while (maxTail > maxHead && values[index(maxDeque[index(maxTail - 1)])] <= value) {
+                maxTail--;
+            }
+            maxDeque[index(maxTail++)] = sequence;
+        }
+    }
+
+    private void evictOldest() {
+        long sequence = head++;
+        removeFromSums(times[index(sequence)], values[index(sequence)]);
+        if (minTail > minHead && minDeque[index(minHead)] == sequence) {
+            minHead++;
+        }
+        if (maxTail > maxHead && maxDeque[index(maxHead)] == sequence) {
+            maxHead++;
+        }
+    }
+
+    private void addToSums(long time, double value) {
+        double x = (time - originTime) / SECONDS_PER_HOUR;
+        sum += value;
+        sumX += x;
+        sumXX += x * x;
+        sumXY += x * value;
+    }
+
+    private void removeFromSums(long time, double value) {
+        double x = (time - originTime) / SECONDS_PER_HOUR;
+        sum -= value;
+        sumX -= x;
+        sumXX -= x * x;
+        sumXY -= x * value;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
@@ -0,0 +1,61 @@
+package com.weathersolar.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.weathersolar.dto.WeatherForecastResponse;
+
+/**
+ * A cached forecast together with its already encoded response bodies. The bodies live and die
+ * with the forecast entry, so replacing or expiring the entry invalidates them as well. Entries read
+ * from the off-heap store carry their record instead and decode it on first access.
+ */
+public class CachedForecast {
+    private volatile WeatherForecastResponse forecast;
+    private Supplier<WeatherForecastResponse> decoder;
+    private final long fetchedAtMillis;
+    private final Map<String, byte[]> encodedBodies = new ConcurrentHashMap<>();
+
+    public CachedForecast(WeatherForecastResponse forecast, long fetchedAtMillis) {
+        this.forecast = forecast;
+        this.fetchedAtMillis = fetchedAtMillis;
+    }
+
+    CachedForecast(long fetchedAtMillis, Supplier<WeatherForecastResponse> decoder) {
+        this.decoder = decoder;
+        this.fetchedAtMillis = fetchedAtMillis;
+    }
+
+    public WeatherForecastResponse getForecast() {
+        WeatherForecastResponse decoded = forecast;
+        if (decoded == null) {
+            synchronized (this) {
+                decoded = forecast;
+                if (decoded == null && decoder != null) {
+                    decoded = decoder.get();
+                    forecast = decoded;
+                    decoder = null;
+                }
+            }
+        }
+        return decoded;
+    }
+
+    public long getFetchedAtMillis() {
+        return fetchedAtMillis;
+    }
+
+    public boolean isExpired(long nowMillis, long ttlMillis) {
+        return nowMillis - fetchedAtMillis >= ttlMillis;
+    }
+
+    public byte[] body(String variant, Supplier<byte[]> encoder) {
+        byte[] body = encodedBodies.get(variant);
+        if (body == null) {
+            body = encoder.get();
+            encodedBodies.putIfAbsent(variant, body);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,132 @@
+package com.weathersolar.cache;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.stereotype.Component;
+
+import com.weathersolar.config.CacheProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Forecasts by rounded location and horizon. Entries live on the heap by default; with
+ * {@code weather.cache.off-heap} they are kept in an {@link OffHeapForecastStore} instead, sized by
+ * {@code off-heap-entries} rather than {@code max-entries}.
+ *
+ * <p>Every off-heap hit is a fresh copy of the record, so on its own it would decode the forecast and
+ * re-encode the response body on each request. A small direct-mapped table of recently served entries,
+ * {@code off-heap-hot-entries} slots keyed by location and fetch time, keeps the decoded forecast and
+ * its encoded bodies on the heap for the cells that are actually busy.
+ */
+@Slf4j
+@Component
+public class ForecastCache {
+    private final CacheProperties properties;
+    private final Map<ForecastKey, CachedForecast> entries = new ConcurrentHashMap<>();
+    private final OffHeapForecastStore offHeap;
+    private final AtomicReferenceArray<HotEntry> hot;
+
+    public ForecastCache(CacheProperties properties) {
+        this.properties = properties;
+        this.offHeap = properties.isOffHeap()
+            ? new OffHeapForecastStore(properties.getOffHeapEntries(), properties.getOffHeapStripes())
+            : null;
+        this.hot = properties.isOffHeap()
+            ? new AtomicReferenceArray<>(nextPowerOfTwo(Math.max(1, properties.getOffHeapHotEntries())))
+            : null;
+    }
+
+    public LocationKey locationKey(double latitude, double longitude) {
+        return LocationKey.of(latitude, longitude, properties.getCoordinatePrecision());
+    }
+
+    public ForecastKey keyFor(double latitude, double longitude, int days) {
+        return new ForecastKey(locationKey(latitude, longitude), days);
+    }
+
+    public CachedForecast get(ForecastKey key) {
+        if (offHeap != null) {
+            CachedForecast stored = offHeap.get(key, System.currentTimeMillis(), properties.getTtl().toMillis());
+            if (stored == null) {
+                return null;
+            }
+            int slot = hotSlot(key);
+            HotEntry entry = hot.get(slot);
+            if (entry != null && entry.key().equals(key)
+                    && entry.cached().getFetchedAtMillis() == stored.getFetchedAtMillis()) {
+                return entry.cached();
+            }
+            hot.set(slot, new HotEntry(key, stored));
+            return stored;
+        }
+        CachedForecast cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis(), properties.getTtl().toMillis())) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    public void put(ForecastKey key, CachedForecast forecast) {
+        if (offHeap != null) {
+            if (offHeap.put(key, forecast)) {
+                hot.set(hotSlot(key), new HotEntry(key, forecast));
+            } else {
+                log.debug("Forecast for {} does not fit the off-heap layout, not cached", key);
+            }
+            return;
+        }
+        entries.put(key, forecast);
+        if (entries.size() > properties.getMaxEntries()) {
+            evict();
+        }
+    }
+
+    public void invalidate(ForecastKey key) {
+        if (offHeap != null) {
+            offHeap.remove(key);
+            int slot = hotSlot(key);
+            HotEntry entry = hot.get(slot);
+            if (entry != null && entry.key().equals(key)) {
+                hot.compareAndSet(slot, entry, null);
+            }
+            return;
+        }
+        entries.remove(key);
+    }
+
+    public int size() {
+        return offHeap != null ? (int) Math.min(offHeap.size(), Integer.MAX_VALUE) : entries.size();
+    }
+
+    private int hotSlot(ForecastKey key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (hot.length() - 1);
+    }
+
+    private static int nextPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        long ttlMillis = properties.getTtl().toMillis();
+        entries.entrySet().removeIf(entry -> entry.getValue().isExpired(now, ttlMillis));
+
+        while (entries.size() > properties.getMaxEntries()) {
+            entries.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().getFetchedAtMillis()))
+                .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+        }
+        log.debug("Forecast cache evicted down to {} entries", entries.size());
+    }
+
+    private record HotEntry(ForecastKey key, CachedForecast cached) {
+    }
+}
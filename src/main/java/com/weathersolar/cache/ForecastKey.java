@@ -0,0 +1,4 @@
+package com.weathersolar.cache;
+
+public record ForecastKey(LocationKey location, int days) {
+}
@@ -0,0 +1,162 @@
+package com.weathersolar.cache;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.client.OpenMeteoClient;
+import com.weathersolar.dto.WeatherForecastResponse;
+
+/**
+ * Fixed-width binary layout of one cached forecast, as kept by {@link OffHeapForecastStore}.
+ * Temperatures are stored in hundredths of a degree, energy, pressure and day length as floats, and
+ * the days as a count after the epoch day of the first one; the weather summary is an index into a
+ * {@link SummaryDictionary}.
+ *
+ * <pre>
+ *  0  long   location (latitude units &lt;&lt; 32 | longitude units)
+ *  8  long   fetched at, epoch millis
+ * 16  byte   forecast horizon in days, 0 marks an empty slot
+ * 17  byte   number of daily entries, -1 for none
+ * 18  short  summary id, -1 for none
+ * 20  float  average pressure
+ * 24  float  average sun exposure
+ * 28  short  minimum temperature
+ * 30  short  maximum temperature
+ * 32  int    epoch day of the first daily entry
+ * 36  13 bytes per day: short min, short max, float solar energy, float daylight hours, byte weather code
+ * </pre>
+ */
+final class ForecastRecord {
+    static final int MAX_DAYS = OpenMeteoClient.MAX_FORECAST_DAYS;
+    static final int DAY_SIZE = 13;
+    static final int SIZE = 36 + MAX_DAYS * DAY_SIZE;
+
+    static final int LOCATION = 0;
+    static final int FETCHED_AT = 8;
+    static final int HORIZON = 16;
+    private static final int DAY_COUNT = 17;
+    private static final int SUMMARY = 18;
+    private static final int AVERAGE_PRESSURE = 20;
+    private static final int AVERAGE_SUN = 24;
+    private static final int MIN_TEMPERATURE = 28;
+    private static final int MAX_TEMPERATURE = 30;
+    private static final int FIRST_DAY = 32;
+    private static final int DAYS = 36;
+
+    private static final short NO_TEMPERATURE = Short.MIN_VALUE;
+
+    private ForecastRecord() {
+    }
+
+    static long location(ForecastKey key) {
+        return ((long) (int) key.location().latitudeUnits() << 32) | (key.location().longitudeUnits() & 0xffffffffL);
+    }
+
+    /**
+     * Whether a forecast fits the layout: at most {@link #MAX_DAYS} consecutive days, temperatures
+     * within the short range and coordinates that fit in an int each.
+     */
+    static boolean fits(ForecastKey key, WeatherForecastResponse forecast) {
+        LocationKey location = key.location();
+        if (location.latitudeUnits() != (int) location.latitudeUnits()
+                || location.longitudeUnits() != (int) location.longitudeUnits()
+                || key.days() < 1 || key.days() > Byte.MAX_VALUE) {
+            return false;
+        }
+        List<DailyWeather> days = forecast.getDailyForecasts();
+        if (days == null) {
+            return true;
+        }
+        if (days.size() > MAX_DAYS) {
+            return false;
+        }
+        for (int i = 0; i < days.size(); i++) {
+            DailyWeather day = days.get(i);
+            if (day.getDate() == null || !day.getDate().equals(days.get(0).getDate().plusDays(i))
+                    || !temperatureFits(day.getMinTemperature()) || !temperatureFits(day.getMaxTemperature())) {
+                return false;
+            }
+        }
+        return temperatureFits(forecast.getMinTemperature()) && temperatureFits(forecast.getMaxTemperature());
+    }
+
+    static void encode(ByteBuffer out, ForecastKey key, long fetchedAtMillis, int summaryId,
+            WeatherForecastResponse forecast) {
+        out.putLong(LOCATION, location(key));
+        out.putLong(FETCHED_AT, fetchedAtMillis);
+        out.put(HORIZON, (byte) key.days());
+        out.putShort(SUMMARY, (short) summaryId);
+        out.putFloat(AVERAGE_PRESSURE, (float) forecast.getAveragePressure());
+        out.putFloat(AVERAGE_SUN, (float) forecast.getAverageSunExposure());
+        out.putShort(MIN_TEMPERATURE, temperature(forecast.getMinTemperature()));
+        out.putShort(MAX_TEMPERATURE, temperature(forecast.getMaxTemperature()));
+
+        List<DailyWeather> days = forecast.getDailyForecasts();
+        if (days == null) {
+            out.put(DAY_COUNT, (byte) -1);
+            return;
+        }
+        out.put(DAY_COUNT, (byte) days.size());
+        out.putInt(FIRST_DAY, days.isEmpty() ? 0 : (int) days.get(0).getDate().toEpochDay());
+        for (int i = 0; i < days.size(); i++) {
+            DailyWeather day = days.get(i);
+            int at = DAYS + i * DAY_SIZE;
+            out.putShort(at, temperature(day.getMinTemperature()));
+            out.putShort(at + 2, temperature(day.getMaxTemperature()));
+            out.putFloat(at + 4, (float) day.getSolarEnergy());
+            out.putFloat(at + 8, (float) day.getDaylightHours());
+            out.put(at + 12, (byte) day.getWeatherCode());
+        }
+    }
+
+    static long fetchedAt(ByteBuffer record) {
+        return record.getLong(FETCHED_AT);
+    }
+
+    static int summaryId(ByteBuffer record) {
+        return record.getShort(SUMMARY);
+    }
+
+    static WeatherForecastResponse decode(ByteBuffer record, String summary) {
+        int dayCount = record.get(DAY_COUNT);
+        List<DailyWeather> days = null;
+        if (dayCount >= 0) {
+            days = new ArrayList<>(dayCount);
+            long firstDay = record.getInt(FIRST_DAY);
+            for (int i = 0; i < dayCount; i++) {
+                int at = DAYS + i * DAY_SIZE;
+                days.add(DailyWeather.builder()
+                    .date(LocalDate.ofEpochDay(firstDay + i))
+                    .minTemperature(temperature(record.getShort(at)))
+                    .maxTemperature(temperature(record.getShort(at + 2)))
+                    .solarEnergy(record.getFloat(at + 4))
+                    .daylightHours(record.getFloat(at + 8))
+                    .weatherCode(record.get(at + 12) & 0xff)
+                    .build());
+            }
+        }
+        return WeatherForecastResponse.builder()
+            .dailyForecasts(days)
+            .averagePressure(record.getFloat(AVERAGE_PRESSURE))
+            .averageSunExposure(record.getFloat(AVERAGE_SUN))
+            .minTemperature(temperature(record.getShort(MIN_TEMPERATURE)))
+            .maxTemperature(temperature(record.getShort(MAX_TEMPERATURE)))
+            .weatherSummary(summary)
+            .build();
+    }
+
+    private static boolean temperatureFits(double celsius) {
+        return Double.isNaN(celsius) || Math.abs(celsius) < 327;
+    }
+
+    private static short temperature(double celsius) {
+        return Double.isNaN(celsius) ? NO_TEMPERATURE : (short) Math.round(celsius * 100);
+    }
+
+    private static double temperature(short centi) {
+        return centi == NO_TEMPERATURE ? Double.NaN : centi / 100.0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.weathersolar.cache;
+
+/**
+ * Cache key for a location, with coordinates rounded to a fixed number of decimals so that
+ * requests for practically the same place share one upstream forecast.
+ */
+public record LocationKey(long latitudeUnits, long longitudeUnits, int precision) {
+
+    public static LocationKey of(double latitude, double longitude, int precision) {
+        double scale = Math.pow(10, precision);
+        return new LocationKey(Math.round(latitude * scale), Math.round(longitude * scale), precision);
+    }
+
+    public double latitude() {
+        return latitudeUnits / Math.pow(10, precision);
+    }
+
+    public double longitude() {
+        return longitudeUnits / Math.pow(10, precision);
+    }
+}
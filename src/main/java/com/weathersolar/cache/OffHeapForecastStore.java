@@ -0,0 +1,244 @@
+package com.weathersolar.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+import com.weathersolar.dto.WeatherForecastResponse;
+
+/**
+ * Forecast cache kept outside the Java heap as fixed-width {@link ForecastRecord}s, so millions of
+ * locations cost direct memory rather than object graphs the collector has to trace.
+ *
+ * <p>The table is split into independently locked stripes, each an 8-way set-associative array in a
+ * direct buffer that is allocated on first write, with about a third more slots than the requested
+ * capacity. A key can only live in the eight slots of its set:
+ * lookups never probe further, and inserting into a full set replaces its oldest entry. Readers copy
+ * a record under an optimistic {@link StampedLock} read and only fall back to the read lock when a
+ * writer got in the way; the copy is decoded into DTOs on first use, i.e. when a response needs it.
+ */
+final class OffHeapForecastStore {
+    private static final int WAYS = 8;
+    /** Slots per requested entry; the slack keeps sets from overflowing while the store is below capacity. */
+    private static final double HEADROOM = 1.35;
+
+    private final Stripe[] stripes;
+    private final int stripeBits;
+    private final int sets;
+    private final int stripeBytes;
+    private final SummaryDictionary summaries = new SummaryDictionary();
+    private final LongAdder size = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    OffHeapForecastStore(int capacity, int stripeCount) {
+        int stripesRounded = nextPowerOfTwo(stripeCount);
+        int perStripe = (int) Math.ceil((double) Math.max(capacity, 1) / stripesRounded);
+        int sets = Math.max(1, (int) Math.ceil(perStripe * HEADROOM / WAYS));
+        long bytes = (long) sets * WAYS * ForecastRecord.SIZE;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Off-heap stripe too large, use more stripes: " + bytes + " bytes");
+        }
+        this.stripes = new Stripe[stripesRounded];
+        for (int i = 0; i < stripesRounded; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeBits = Integer.numberOfTrailingZeros(stripesRounded);
+        this.sets = sets;
+        this.stripeBytes = (int) bytes;
+    }
+
+    /** The cached forecast, or {@code null} when absent or older than {@code ttlMillis}. */
+    CachedForecast get(ForecastKey key, long nowMillis, long ttlMillis) {
+        long location = ForecastRecord.location(key);
+        int hash = hash(location, key.days());
+        Stripe stripe = stripes[hash & (stripes.length - 1)];
+        int set = setOffset(hash);
+        byte[] copy = new byte[ForecastRecord.SIZE];
+
+        boolean found;
+        long stamp = stripe.lock.tryOptimisticRead();
+        found = copyOut(stripe.memory, set, location, key.days(), copy);
+        if (!stripe.lock.validate(stamp)) {
+            stamp = stripe.lock.readLock();
+            try {
+                found = copyOut(stripe.memory, set, location, key.days(), copy);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        if (!found) {
+            return null;
+        }
+
+        ByteBuffer record = ByteBuffer.wrap(copy).order(ByteOrder.nativeOrder());
+        long fetchedAt = ForecastRecord.fetchedAt(record);
+        if (nowMillis - fetchedAt >= ttlMillis) {
+            removeIf(key, fetchedAt);
+            return null;
+        }
+        String summary = summaries.valueOf(ForecastRecord.summaryId(record));
+        return new CachedForecast(fetchedAt, () -> ForecastRecord.decode(record, summary));
+    }
+
+    /**
+     * Stores a forecast, replacing the oldest entry of its set if needed. Returns {@code false} for
+     * forecasts the fixed layout cannot hold.
+     */
+    boolean put(ForecastKey key, CachedForecast cached) {
+        WeatherForecastResponse forecast = cached.getForecast();
+        if (!ForecastRecord.fits(key, forecast)) {
+            return false;
+        }
+        int summaryId = summaries.idOf(forecast.getWeatherSummary());
+        if (summaryId == SummaryDictionary.FULL) {
+            return false;
+        }
+        byte[] encoded = new byte[ForecastRecord.SIZE];
+        ForecastRecord.encode(ByteBuffer.wrap(encoded).order(ByteOrder.nativeOrder()), key,
+            cached.getFetchedAtMillis(), summaryId, forecast);
+
+        long location = ForecastRecord.location(key);
+        int hash = hash(location, key.days());
+        Stripe stripe = stripes[hash & (stripes.length - 1)];
+        int set = setOffset(hash);
+
+        long stamp = stripe.lock.writeLock();
+        try {
+            ByteBuffer memory = stripe.memory;
+            if (memory == null) {
+                memory = ByteBuffer.allocateDirect(stripeBytes).order(ByteOrder.nativeOrder());
+                stripe.memory = memory;
+            }
+            int target = -1;
+            int empty = -1;
+            int oldest = -1;
+            long oldestFetchedAt = Long.MAX_VALUE;
+            for (int way = 0; way < WAYS; way++) {
+                int slot = set + way * ForecastRecord.SIZE;
+                if (isEmpty(memory, slot)) {
+                    if (empty < 0) {
+                        empty = slot;
+                    }
+                } else if (matches(memory, slot, location, key.days())) {
+                    target = slot;
+                    break;
+                } else {
+                    long fetchedAt = memory.getLong(slot + ForecastRecord.FETCHED_AT);
+                    if (fetchedAt < oldestFetchedAt) {
+                        oldestFetchedAt = fetchedAt;
+                        oldest = slot;
+                    }
+                }
+            }
+            if (target < 0 && empty >= 0) {
+                target = empty;
+                size.increment();
+            } else if (target < 0) {
+                target = oldest;
+                evictions.increment();
+            }
+            memory.put(target, encoded);
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    void remove(ForecastKey key) {
+        removeIf(key, Long.MIN_VALUE);
+    }
+
+    long size() {
+        return size.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    /** Direct memory reserved so far, in bytes. */
+    long reservedBytes() {
+        long reserved = 0;
+        for (Stripe stripe : stripes) {
+            if (stripe.memory != null) {
+                reserved += stripeBytes;
+            }
+        }
+        return reserved;
+    }
+
+    /** Removes the entry for {@code key}; with a timestamp, only if it is still that version. */
+    private void removeIf(ForecastKey key, long fetchedAt) {
+        long location = ForecastRecord.location(key);
+        int hash = hash(location, key.days());
+        Stripe stripe = stripes[hash & (stripes.length - 1)];
+        int set = setOffset(hash);
+
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = find(stripe.memory, set, location, key.days());
+            if (slot >= 0 && (fetchedAt == Long.MIN_VALUE
+                    || stripe.memory.getLong(slot + ForecastRecord.FETCHED_AT) == fetchedAt)) {
+                stripe.memory.put(slot + ForecastRecord.HORIZON, (byte) 0);
+                size.decrement();
+            }
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    private static boolean copyOut(ByteBuffer memory, int set, long location, int days, byte[] copy) {
+        int slot = find(memory, set, location, days);
+        if (slot < 0) {
+            return false;
+        }
+        memory.get(slot, copy);
+        return true;
+    }
+
+    private static int find(ByteBuffer memory, int set, long location, int days) {
+        if (memory == null) {
+            return -1;
+        }
+        for (int way = 0; way < WAYS; way++) {
+            int slot = set + way * ForecastRecord.SIZE;
+            if (!isEmpty(memory, slot) && matches(memory, slot, location, days)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isEmpty(ByteBuffer memory, int slot) {
+        return memory.get(slot + ForecastRecord.HORIZON) == 0;
+    }
+
+    private static boolean matches(ByteBuffer memory, int slot, long location, int days) {
+        return memory.getLong(slot + ForecastRecord.LOCATION) == location
+            && memory.get(slot + ForecastRecord.HORIZON) == days;
+    }
+
+    private int setOffset(int hash) {
+        long bits = (hash & 0xffffffffL) >>> stripeBits;
+        long index = (bits * sets) >>> (32 - stripeBits);
+        return (int) index * WAYS * ForecastRecord.SIZE;
+    }
+
+    private static int nextPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private static int hash(long location, int days) {
+        long h = location * 0x9E3779B97F4A7C15L + days;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static final class Stripe {
+        final StampedLock lock = new StampedLock();
+        volatile ByteBuffer memory;
+    }
+}
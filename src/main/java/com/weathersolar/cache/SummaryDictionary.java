@@ -0,0 +1,45 @@
+package com.weathersolar.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Interns the few distinct weather summaries so off-heap records can refer to them by a short id.
+ * Ids are never reused; once the table is full new summaries are not cacheable.
+ */
+final class SummaryDictionary {
+    static final int NONE = -1;
+    static final int FULL = -2;
+    private static final int CAPACITY = Short.MAX_VALUE;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> values = new AtomicReferenceArray<>(CAPACITY);
+    private int next;
+
+    int idOf(String summary) {
+        if (summary == null) {
+            return NONE;
+        }
+        Integer id = ids.get(summary);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(summary);
+            if (id != null) {
+                return id;
+            }
+            if (next == CAPACITY) {
+                return FULL;
+            }
+            values.set(next, summary);
+            ids.put(summary, next);
+            return next++;
+        }
+    }
+
+    String valueOf(int id) {
+        return id < 0 ? null : values.get(id);
+    }
+}
@@ -0,0 +1,138 @@
+package com.weathersolar.client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.weathersolar.Model.HourlySeries;
+import com.weathersolar.config.ProviderProperties;
+import com.weathersolar.limiter.TrafficClass;
+import com.weathersolar.limiter.UpstreamLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends each call to the primary provider and, if it has not answered within its recent latency
+ * percentile, to the secondary as well; whichever emits first wins and the other is cancelled. The
+ * hedge also covers a failed primary, since only a call that produces a value can win; when both fail
+ * the caller gets the error that came last.
+ *
+ * <p>A hedge is a second upstream request, so it takes its own slot in the bulkhead of the call that
+ * caused it, and is skipped when that bulkhead is full.
+ */
+@Slf4j
+public class HedgingWeatherProvider implements WeatherProvider {
+    private final WeatherProvider primary;
+    private final WeatherProvider secondary;
+    private final UpstreamLimiter upstreamLimiter;
+    private final LatencyTracker primaryLatency;
+    private final long initialDelayNanos;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter primaryWins;
+    private final Counter secondaryWins;
+
+    public HedgingWeatherProvider(WeatherProvider primary, WeatherProvider secondary, UpstreamLimiter upstreamLimiter,
+            ProviderProperties properties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.secondary = secondary;
+        this.upstreamLimiter = upstreamLimiter;
+        this.primaryLatency = new LatencyTracker(properties.getHedgePercentile());
+        this.initialDelayNanos = properties.getHedgeInitialDelay().toNanos();
+        this.minDelayNanos = properties.getHedgeMinDelay().toNanos();
+        this.maxDelayNanos = properties.getHedgeMaxDelay().toNanos();
+        this.meterRegistry = meterRegistry;
+        this.primaryWins = meterRegistry.counter("weather.provider.hedge.wins", "provider", primary.name());
+        this.secondaryWins = meterRegistry.counter("weather.provider.hedge.wins", "provider", secondary.name());
+    }
+
+    @Override
+    public String name() {
+        return primary.name() + "+" + secondary.name();
+    }
+
+    @Override
+    public Mono<JsonNode> getWeatherForecast(double latitude, double longitude, int days) {
+        return hedge("daily", provider -> provider.getWeatherForecast(latitude, longitude, days));
+    }
+
+    @Override
+    public Mono<byte[]> getPressureData(double latitude, double longitude, int days) {
+        return hedge("pressure", provider -> provider.getPressureData(latitude, longitude, days));
+    }
+
+    @Override
+    public Mono<byte[]> getPressureData(double latitude, double longitude, String startHour, String endHour) {
+        return hedge("pressure", provider -> provider.getPressureData(latitude, longitude, startHour, endHour));
+    }
+
+    @Override
+    public Mono<HourlySeries> getHourlyForecast(double latitude, double longitude, int days, List<String> variables) {
+        return hedge("hourly", provider -> provider.getHourlyForecast(latitude, longitude, days, variables));
+    }
+
+    @Override
+    public Mono<List<JsonNode>> getDailyBatch(double[] latitudes, double[] longitudes, int days,
+            List<String> variables) {
+        return hedge("daily-batch", provider -> provider.getDailyBatch(latitudes, longitudes, days, variables));
+    }
+
+    /** Delay after which a call still waiting on the primary is hedged. */
+    public Duration hedgeDelay() {
+        long percentile = primaryLatency.percentileNanos();
+        long delay = percentile < 0 ? initialDelayNanos : Math.max(minDelayNanos, Math.min(maxDelayNanos, percentile));
+        return Duration.ofNanos(delay);
+    }
+
+    private <T> Mono<T> hedge(String operation, Function<WeatherProvider, Mono<T>> call) {
+        return Mono.defer(() -> {
+            meterRegistry.counter("weather.provider.calls", "operation", operation).increment();
+            AtomicBoolean hedged = new AtomicBoolean();
+            AtomicReference<Throwable> lastError = new AtomicReference<>();
+            // Read on the subscribing thread, which is the one holding the caller's slot
+            TrafficClass trafficClass = upstreamLimiter.admittedClass();
+            long start = System.nanoTime();
+
+            Mono<T> fromPrimary = call.apply(primary)
+                .doOnNext(value -> {
+                    primaryLatency.record(System.nanoTime() - start);
+                    if (hedged.get()) {
+                        primaryWins.increment();
+                    }
+                })
+                // A primary that lost the race was at least this slow; keep the percentile honest
+                .doOnCancel(() -> primaryLatency.record(System.nanoTime() - start))
+                .doOnError(lastError::set);
+
+            Mono<T> fromSecondary = Mono.delay(hedgeDelay())
+                .then(Mono.defer(() -> {
+                    Mono<T> admitted = upstreamLimiter.tryAdmit(trafficClass, () -> call.apply(secondary));
+                    if (admitted == null) {
+                        meterRegistry.counter("weather.provider.hedge.skipped", "operation", operation).increment();
+                        log.debug("Not hedging {} call: {} upstream bulkhead is full", operation, trafficClass);
+                        return Mono.<T>empty();
+                    }
+                    hedged.set(true);
+                    meterRegistry.counter("weather.provider.hedged", "operation", operation).increment();
+                    log.debug("Hedging {} call to {} after {} ms", operation, secondary.name(),
+                        (System.nanoTime() - start) / 1_000_000);
+                    return admitted;
+                }))
+                .doOnNext(value -> secondaryWins.increment())
+                .doOnError(lastError::set);
+
+            // firstWithValue reports all sources failing as NoSuchElementException; surface the real cause
+            return Mono.firstWithValue(fromPrimary, fromSecondary)
+                .onErrorMap(NoSuchElementException.class, e -> lastError.get() != null ? lastError.get() : e);
+        });
+    }
+}
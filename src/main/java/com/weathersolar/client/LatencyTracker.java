@@ -0,0 +1,46 @@
+package com.weathersolar.client;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Recent latencies of one provider in a lock-free ring. The configured percentile is recomputed every
+ * {@value #RECOMPUTE_EVERY} samples, so reading it is a volatile load.
+ */
+class LatencyTracker {
+    private static final int SAMPLES = 512;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final int MIN_SAMPLES = 20;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+    private final AtomicLong recorded = new AtomicLong();
+    private final double percentile;
+    private volatile long percentileNanos = -1;
+
+    LatencyTracker(double percentile) {
+        this.percentile = Math.min(1.0, Math.max(0.0, percentile));
+    }
+
+    void record(long nanos) {
+        long count = recorded.getAndIncrement();
+        samples.set((int) (count % SAMPLES), nanos);
+        if (count + 1 >= MIN_SAMPLES && (count + 1) % RECOMPUTE_EVERY == 0) {
+            recompute((int) Math.min(count + 1, SAMPLES));
+        }
+    }
+
+    /** The tracked percentile, or -1 until enough samples have been seen. */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+
+    private void recompute(int size) {
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        percentileNanos = sorted[(int) Math.min(size - 1, Math.ceil(percentile * size) - 1)];
+    }
+}
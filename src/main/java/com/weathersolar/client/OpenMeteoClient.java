@@ -1,33 +1,64 @@
 package com.weathersolar.client;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.weathersolar.Model.HourlySeries;
+import com.weathersolar.profiling.JsonParseEvent;
+import com.weathersolar.profiling.UpstreamFetchEvent;
 
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Slf4j
 @Service
-public class OpenMeteoClient {
+public class OpenMeteoClient implements WeatherProvider {
+    public static final int DEFAULT_FORECAST_DAYS = 7;
+    public static final int MAX_FORECAST_DAYS = 16;
+
+    private final String name;
     private final WebClient webClient;
     private final String baseUrl;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_DATE;
+    private static final ObjectReader TREE_READER = new ObjectMapper().reader();
 
+    @Autowired
     public OpenMeteoClient(WebClient.Builder webClientBuilder, @Value("${openmeteo.api.url}") String baseUrl) {
+        this("open-meteo", webClientBuilder, baseUrl);
+    }
+
+    public OpenMeteoClient(String name, WebClient.Builder webClientBuilder, String baseUrl) {
+        this.name = name;
         this.baseUrl = baseUrl;
         this.webClient = webClientBuilder
             .baseUrl(baseUrl)
             .build();
     }
 
-    public Mono<JsonNode> getWeatherForecast(double latitude, double longitude) {
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Mono<JsonNode> getWeatherForecast(double latitude, double longitude, int days) {
         String path = "/forecast";
         log.info("Fetching weather forecast from: {}{} for lat: {}, lon: {}", 
                 baseUrl, path, latitude, longitude);
@@ -37,21 +68,23 @@ public class OpenMeteoClient {
                 .path(path)
                 .queryParam("latitude", latitude)
                 .queryParam("longitude", longitude)
-                .queryParam("daily", "weathercode,temperature_2m_max,temperature_2m_min,sunrise,sunset,precipitation_hours,daylight_duration")
+                .queryParam("daily", "weathercode,temperature_2m_max,temperature_2m_min,precipitation_hours")
                 .queryParam("timezone", "auto")  
-                .queryParam("forecast_days", "7")
+                .queryParam("forecast_days", days)
                 .build())
             .retrieve()
-            .bodyToMono(JsonNode.class)
+            .bodyToMono(byte[].class)
+            .transform(call -> recorded(call, "daily", latitude, longitude, days, body -> body.length))
+            .map(body -> parse(body, "daily"))
             .doOnSuccess(response -> log.info("Successfully received weather forecast data"))
             .doOnError(error -> log.error("Error fetching weather forecast: {}", error.getMessage()))
-            .onErrorResume(WebClientResponseException.class, e -> {
-                log.error("API error response: {}", e.getResponseBodyAsString());
-                return Mono.error(new RuntimeException("Failed to fetch weather data: " + e.getMessage()));
-            });
+            // Kept as WebClientResponseException so the limiter and the service still see the status
+            .doOnError(WebClientResponseException.class,
+                e -> log.error("API error response: {}", e.getResponseBodyAsString()));
     }
 
-    public Mono<JsonNode> getPressureData(double latitude, double longitude) {
+    @Override
+    public Mono<byte[]> getPressureData(double latitude, double longitude, int days) {
         String path = "/forecast";
         log.info("Fetching pressure data from: {}{} for lat: {}, lon: {}", 
                 baseUrl, path, latitude, longitude);
@@ -63,16 +96,206 @@ public class OpenMeteoClient {
                 .queryParam("longitude", longitude)
                 .queryParam("hourly", "pressure_msl")
                 .queryParam("timezone", "auto")  
-                .queryParam("forecast_days", "7")
+                .queryParam("timeformat", "unixtime")
+                .queryParam("forecast_days", days)
+                .build())
+            .retrieve()
+            .bodyToMono(byte[].class)
+            .transform(call -> recorded(call, "pressure", latitude, longitude, days, body -> body.length))
+            .doOnSuccess(response -> log.info("Successfully received pressure data"))
+            .doOnError(error -> log.error("Error fetching pressure data: {}", error.getMessage()))
+            .doOnError(WebClientResponseException.class,
+                e -> log.error("API error response: {}", e.getResponseBodyAsString()));
+    }
+
+    @Override
+    public Mono<byte[]> getPressureData(double latitude, double longitude, String startHour, String endHour) {
+        String path = "/forecast";
+        log.info("Fetching pressure data {} - {} from: {}{} for lat: {}, lon: {}",
+                startHour, endHour, baseUrl, path, latitude, longitude);
+
+        return webClient.get()
+            .uri(uriBuilder -> uriBuilder
+                .path(path)
+                .queryParam("latitude", latitude)
+                .queryParam("longitude", longitude)
+                .queryParam("hourly", "pressure_msl")
+                .queryParam("timezone", "auto")
+                .queryParam("timeformat", "unixtime")
+                .queryParam("start_hour", startHour)
+                .queryParam("end_hour", endHour)
                 .build())
             .retrieve()
-            .bodyToMono(JsonNode.class)
+            .bodyToMono(byte[].class)
+            .transform(call -> recorded(call, "pressure-delta", latitude, longitude, 0, body -> body.length))
             .doOnSuccess(response -> log.info("Successfully received pressure data"))
             .doOnError(error -> log.error("Error fetching pressure data: {}", error.getMessage()))
-            .onErrorResume(WebClientResponseException.class, e -> {
-                log.error("API error response: {}", e.getResponseBodyAsString());
-                return Mono.error(new RuntimeException("Failed to fetch pressure data: " + e.getMessage()));
-            });
+            .doOnError(WebClientResponseException.class,
+                e -> log.error("API error response: {}", e.getResponseBodyAsString()));
+    }
+
+    @Override
+    public Mono<HourlySeries> getHourlyForecast(double latitude, double longitude, int days, List<String> variables) {
+        String path = "/forecast";
+        log.info("Fetching {} day hourly forecast from: {}{} for lat: {}, lon: {}",
+                days, baseUrl, path, latitude, longitude);
+
+        Flux<DataBuffer> body = webClient.get()
+            .uri(uriBuilder -> uriBuilder
+                .path(path)
+                .queryParam("latitude", latitude)
+                .queryParam("longitude", longitude)
+                .queryParam("hourly", String.join(",", variables))
+                .queryParam("timezone", "auto")
+                .queryParam("timeformat", "unixtime")
+                .queryParam("forecast_days", days)
+                .build())
+            .retrieve()
+            .bodyToFlux(DataBuffer.class);
+
+        return Mono.defer(() -> {
+                OpenMeteoHourlyParser parser = newHourlyParser(variables, days * 24);
+                long[] received = new long[1];
+                Mono<HourlySeries> parsed = body
+                    .doOnNext(buffer -> {
+                        received[0] += buffer.readableByteCount();
+                        feed(parser, buffer);
+                    })
+                    .then(Mono.fromCallable(parser::finish));
+                return recorded(parsed, "hourly", latitude, longitude, days, series -> received[0]);
+            })
+            .doOnSuccess(series -> log.info("Successfully parsed {} hourly rows", series.size()))
+            .doOnError(error -> log.error("Error fetching hourly data: {}", error.getMessage()))
+            .doOnError(WebClientResponseException.class,
+                e -> log.error("API error response: {}", e.getResponseBodyAsString()));
+    }
+
+    /**
+     * One request for all locations: Open-Meteo takes comma-separated coordinate lists and answers
+     * with an array, or with a bare object when there is a single location.
+     */
+    @Override
+    public Mono<List<JsonNode>> getDailyBatch(double[] latitudes, double[] longitudes, int days,
+            List<String> variables) {
+        if (latitudes.length != longitudes.length || latitudes.length == 0) {
+            return Mono.error(new IllegalArgumentException("Batch needs matching, non-empty coordinate lists"));
+        }
+        String path = "/forecast";
+        log.info("Fetching {} day {} batch for {} locations from: {}{}", days, variables, latitudes.length,
+                baseUrl, path);
+
+        return webClient.get()
+            .uri(uriBuilder -> uriBuilder
+                .path(path)
+                .queryParam("latitude", joinCoordinates(latitudes))
+                .queryParam("longitude", joinCoordinates(longitudes))
+                .queryParam("daily", String.join(",", variables))
+                .queryParam("timezone", "GMT")
+                .queryParam("forecast_days", days)
+                .build())
+            .retrieve()
+            .bodyToMono(byte[].class)
+            .transform(call -> recorded(call, "daily-batch", latitudes[0], longitudes[0], days, body -> body.length))
+            .map(body -> locations(parse(body, "daily-batch"), latitudes.length))
+            .doOnError(error -> log.error("Error fetching daily batch: {}", error.getMessage()))
+            .doOnError(WebClientResponseException.class,
+                e -> log.error("API error response: {}", e.getResponseBodyAsString()));
+    }
+
+    private static String joinCoordinates(double[] values) {
+        StringBuilder joined = new StringBuilder(values.length * 9);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                joined.append(',');
+            }
+            joined.append(Math.round(values[i] * 10_000) / 10_000.0);
+        }
+        return joined.toString();
+    }
+
+    private static List<JsonNode> locations(JsonNode payload, int expected) {
+        List<JsonNode> locations = new ArrayList<>(expected);
+        if (payload.isArray()) {
+            payload.forEach(locations::add);
+        } else {
+            locations.add(payload);
+        }
+        if (locations.size() != expected) {
+            throw new IllegalStateException("Batch answered " + locations.size() + " of " + expected + " locations");
+        }
+        return locations;
+    }
+
+    /**
+     * Wraps a call in an {@link UpstreamFetchEvent} that starts on subscription. Cancelled calls, such
+     * as hedged requests that lost, are committed as unsuccessful.
+     */
+    private <T> Mono<T> recorded(Mono<T> call, String operation, double latitude, double longitude, int days,
+            ToLongFunction<T> size) {
+        return Mono.defer(() -> {
+            UpstreamFetchEvent event = new UpstreamFetchEvent();
+            if (!event.isEnabled()) {
+                return call;
+            }
+            event.begin();
+            return call
+                .doOnSuccess(value -> commit(event, operation, latitude, longitude, days,
+                    value == null ? -1 : size.applyAsLong(value), value != null))
+                .doOnError(error -> commit(event, operation, latitude, longitude, days, -1, false))
+                .doOnCancel(() -> commit(event, operation, latitude, longitude, days, -1, false));
+        });
+    }
+
+    private void commit(UpstreamFetchEvent event, String operation, double latitude, double longitude, int days,
+            long bytes, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.provider = name;
+            event.operation = operation;
+            event.latitude = latitude;
+            event.longitude = longitude;
+            event.days = days;
+            event.bytes = bytes;
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    private static JsonNode parse(byte[] body, String payload) {
+        JsonParseEvent event = new JsonParseEvent();
+        event.begin();
+        try {
+            return TREE_READER.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed " + payload + " payload", e);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.payload = payload;
+                event.bytes = body.length;
+                event.commit();
+            }
+        }
+    }
+
+    private static OpenMeteoHourlyParser newHourlyParser(List<String> variables, int expectedRows) {
+        try {
+            return new OpenMeteoHourlyParser(variables, expectedRows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void feed(OpenMeteoHourlyParser parser, DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+            while (chunks.hasNext()) {
+                parser.feed(chunks.next());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
     }
 
     public LocalDate parseDate(String dateString) {
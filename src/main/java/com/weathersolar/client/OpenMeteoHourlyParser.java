@@ -0,0 +1,129 @@
+package com.weathersolar.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.weathersolar.Model.HourlySeries;
+
+/**
+ * Incrementally parses an Open-Meteo hourly response ({@code timeformat=unixtime}) into primitive
+ * columns. Network buffers are pushed in with {@link #feed(ByteBuffer)} as they arrive, so neither
+ * the raw body nor a JsonNode tree is ever held in memory.
+ */
+class OpenMeteoHourlyParser {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int TIME_COLUMN = -1;
+    private static final int SKIPPED_COLUMN = -2;
+
+    private final List<String> variables;
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+
+    private int depth;
+    private boolean inHourly;
+    private String topLevelField;
+    private int column = SKIPPED_COLUMN;
+
+    private int utcOffsetSeconds;
+    private long[] time;
+    private int timeSize;
+    private final double[][] values;
+    private final int[] valueSizes;
+
+    OpenMeteoHourlyParser(List<String> variables, int expectedRows) throws IOException {
+        this.variables = variables;
+        this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        int capacity = Math.max(expectedRows, 16);
+        this.time = new long[capacity];
+        this.values = new double[variables.size()][capacity];
+        this.valueSizes = new int[variables.size()];
+    }
+
+    void feed(ByteBuffer buffer) throws IOException {
+        feeder.feedInput(buffer);
+        drain();
+    }
+
+    HourlySeries finish() throws IOException {
+        feeder.endOfInput();
+        drain();
+        parser.close();
+
+        if (timeSize == 0) {
+            throw new IOException("Hourly response has no time column");
+        }
+        double[][] columns = new double[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            if (valueSizes[i] != timeSize) {
+                throw new IOException("Column " + variables.get(i) + " has " + valueSizes[i]
+                    + " rows, expected " + timeSize);
+            }
+            columns[i] = values[i].length == timeSize ? values[i] : Arrays.copyOf(values[i], timeSize);
+        }
+        return new HourlySeries(utcOffsetSeconds, Arrays.copyOf(time, timeSize), variables, columns);
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    depth++;
+                    if (depth == 2 && token == JsonToken.START_OBJECT && "hourly".equals(topLevelField)) {
+                        inHourly = true;
+                    }
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (depth == 2) {
+                        inHourly = false;
+                    }
+                    if (depth == 3) {
+                        column = SKIPPED_COLUMN;
+                    }
+                    depth--;
+                }
+                case FIELD_NAME -> {
+                    if (depth == 1) {
+                        topLevelField = parser.currentName();
+                    } else if (depth == 2 && inHourly) {
+                        column = columnIndex(parser.currentName());
+                    }
+                }
+                default -> onScalar(token);
+            }
+        }
+    }
+
+    private void onScalar(JsonToken token) throws IOException {
+        if (depth == 1 && "utc_offset_seconds".equals(topLevelField)) {
+            utcOffsetSeconds = parser.getIntValue();
+        } else if (depth == 3 && inHourly && column == TIME_COLUMN) {
+            if (timeSize == time.length) {
+                time = Arrays.copyOf(time, timeSize * 2);
+            }
+            time[timeSize++] = parser.getLongValue();
+        } else if (depth == 3 && inHourly && column >= 0) {
+            int size = valueSizes[column];
+            if (size == values[column].length) {
+                values[column] = Arrays.copyOf(values[column], size * 2);
+            }
+            values[column][size] = token == JsonToken.VALUE_NULL ? Double.NaN : parser.getDoubleValue();
+            valueSizes[column] = size + 1;
+        }
+    }
+
+    private int columnIndex(String name) {
+        if ("time".equals(name)) {
+            return TIME_COLUMN;
+        }
+        int index = variables.indexOf(name);
+        return index >= 0 ? index : SKIPPED_COLUMN;
+    }
+}
@@ -0,0 +1,52 @@
+package com.weathersolar.client;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.weathersolar.Model.HourlySeries;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Source of Open-Meteo shaped forecast data. {@link OpenMeteoClient} talks to any endpoint that speaks
+ * the Open-Meteo API, so the public service and a self-hosted mirror are both providers.
+ */
+public interface WeatherProvider {
+
+    String name();
+
+    /**
+     * Whether {@link #getWeatherForecast} for this location and horizon is served without network I/O.
+     * Such calls bypass the upstream concurrency limits.
+     */
+    default boolean isLocal(double latitude, double longitude, int days) {
+        return false;
+    }
+
+    /** Whether {@link #getPressureData(double, double, int)} is served without network I/O. */
+    default boolean isPressureLocal(double latitude, double longitude, int days) {
+        return false;
+    }
+
+    /** Whether {@link #getPressureData(double, double, String, String)} is served without network I/O. */
+    default boolean isPressureLocal(double latitude, double longitude, String startHour, String endHour) {
+        return false;
+    }
+
+    Mono<JsonNode> getWeatherForecast(double latitude, double longitude, int days);
+
+    Mono<byte[]> getPressureData(double latitude, double longitude, int days);
+
+    Mono<byte[]> getPressureData(double latitude, double longitude, String startHour, String endHour);
+
+    Mono<HourlySeries> getHourlyForecast(double latitude, double longitude, int days, List<String> variables);
+
+    /**
+     * Daily {@code variables} in UTC days for many locations in a single upstream call, one payload per
+     * location in input order. Providers that cannot batch answer with {@link UnsupportedOperationException}.
+     */
+    default Mono<List<JsonNode>> getDailyBatch(double[] latitudes, double[] longitudes, int days,
+            List<String> variables) {
+        return Mono.error(new UnsupportedOperationException(name() + " cannot batch locations"));
+    }
+}
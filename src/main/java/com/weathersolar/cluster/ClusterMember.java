@@ -0,0 +1,4 @@
+package com.weathersolar.cluster;
+
+public record ClusterMember(String id, String url) {
+}
@@ -0,0 +1,161 @@
+package com.weathersolar.cluster;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.weathersolar.cache.LocationKey;
+import com.weathersolar.config.ClusterProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The current view of the cluster. Members come from {@code weather.cluster.members} plus an optional
+ * discovery file of {@code id=url} lines that is re-read on every refresh, so nodes join or leave by
+ * editing that file. A peer that fails a forwarded call is skipped for {@code peer-down-duration}; its
+ * cells fall through to the next member on the ring instead of being rehashed across the cluster.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.cluster", name = "enabled", havingValue = "true")
+public class ClusterMembership {
+    private final ClusterProperties properties;
+    private final String selfId;
+    private final LongSupplier clock;
+    private final Map<String, Long> downUntil = new ConcurrentHashMap<>();
+    private volatile HashRing ring;
+
+    public ClusterMembership(ClusterProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    ClusterMembership(ClusterProperties properties, LongSupplier clock) {
+        if (properties.getSelfId() == null || properties.getSelfId().isBlank()) {
+            throw new IllegalStateException("weather.cluster.self-id must be set when clustering is enabled");
+        }
+        if (properties.getSharedSecret() == null || properties.getSharedSecret().isBlank()) {
+            throw new IllegalStateException("weather.cluster.shared-secret must be set when clustering is enabled");
+        }
+        this.properties = properties;
+        this.selfId = properties.getSelfId();
+        this.clock = clock;
+        this.ring = new HashRing(List.of(), properties.getVirtualNodes());
+        refresh();
+    }
+
+    public HashRing ring() {
+        return ring;
+    }
+
+    public boolean isSelf(ClusterMember member) {
+        return selfId.equals(member.id());
+    }
+
+    /** The member that should fetch the cell, skipping peers currently marked down; never {@code null}. */
+    public ClusterMember ownerOf(LocationKey cell) {
+        ClusterMember owner = ring.owner(cell, this::isUsable);
+        return owner != null ? owner : new ClusterMember(selfId, null);
+    }
+
+    public void markDown(ClusterMember member) {
+        if (downUntil.put(member.id(), clock.getAsLong() + properties.getPeerDownDuration().toMillis()) == null) {
+            log.warn("Cluster peer {} at {} is unreachable, routing its cells to the next member", member.id(), member.url());
+        }
+    }
+
+    private boolean isUsable(ClusterMember member) {
+        if (isSelf(member)) {
+            return true;
+        }
+        Long until = downUntil.get(member.id());
+        if (until == null) {
+            return true;
+        }
+        if (clock.getAsLong() < until) {
+            return false;
+        }
+        if (downUntil.remove(member.id(), until)) {
+            log.info("Retrying cluster peer {} at {}", member.id(), member.url());
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${weather.cluster.refresh-interval:PT10S}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("Cluster membership refresh failed, keeping previous ring: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void refresh() {
+        Map<String, ClusterMember> members = new LinkedHashMap<>();
+        for (ClusterProperties.Member member : properties.getMembers()) {
+            members.put(member.getId(), new ClusterMember(member.getId(), stripSlash(member.getUrl())));
+        }
+        members.putAll(readDiscoveryFile());
+        members.putIfAbsent(selfId, new ClusterMember(selfId, null));
+
+        HashRing previous = ring;
+        if (members.values().stream().collect(Collectors.toSet()).equals(Set.copyOf(previous.members()))) {
+            return;
+        }
+        Set<String> before = previous.members().stream().map(ClusterMember::id).collect(Collectors.toSet());
+        Set<String> after = members.keySet();
+        for (String id : after) {
+            if (!before.contains(id)) {
+                log.info("Cluster member {} joined at {}", id, members.get(id).url());
+            }
+        }
+        for (String id : before) {
+            if (!after.contains(id)) {
+                log.info("Cluster member {} left", id);
+                downUntil.remove(id);
+            }
+        }
+        ring = new HashRing(members.values(), properties.getVirtualNodes());
+    }
+
+    private Map<String, ClusterMember> readDiscoveryFile() {
+        Map<String, ClusterMember> members = new LinkedHashMap<>();
+        String file = properties.getDiscoveryFile();
+        if (file == null || file.isBlank()) {
+            return members;
+        }
+        Path path = Path.of(file);
+        if (!Files.isRegularFile(path)) {
+            log.debug("Cluster discovery file {} not found", path);
+            return members;
+        }
+        try {
+            for (String line : Files.readAllLines(path)) {
+                String entry = line.strip();
+                int separator = entry.indexOf('=');
+                if (entry.isEmpty() || entry.startsWith("#") || separator <= 0) {
+                    continue;
+                }
+                String id = entry.substring(0, separator).strip();
+                members.put(id, new ClusterMember(id, stripSlash(entry.substring(separator + 1).strip())));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read cluster discovery file " + path, e);
+        }
+        return members;
+    }
+
+    private static String stripSlash(String url) {
+        return url != null && url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
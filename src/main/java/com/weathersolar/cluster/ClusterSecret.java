@@ -0,0 +1,23 @@
+package com.weathersolar.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import com.weathersolar.config.ClusterProperties;
+
+/**
+ * Checks the {@link PeerForwarder#SECRET_HEADER} a member sends with forwarded requests. A blank secret or a
+ * disabled cluster never matches, and the comparison is constant-time so the secret cannot be probed byte by byte.
+ */
+public final class ClusterSecret {
+    private ClusterSecret() {
+    }
+
+    public static boolean matches(ClusterProperties properties, String presented) {
+        String expected = properties.getSharedSecret();
+        if (!properties.isEnabled() || expected == null || expected.isBlank() || presented == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,105 @@
+package com.weathersolar.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.weathersolar.cache.LocationKey;
+
+/**
+ * Immutable consistent-hash ring over geo cells. Every member is placed at {@code virtualNodes}
+ * pseudo-random points and owns the cells hashing to the arc before each of them, so adding or
+ * removing a member only moves the cells on that member's arcs.
+ */
+public final class HashRing {
+    private final long[] tokens;
+    private final ClusterMember[] owners;
+    private final List<ClusterMember> members;
+
+    public HashRing(Collection<ClusterMember> members, int virtualNodes) {
+        this.members = List.copyOf(members);
+        int size = this.members.size() * virtualNodes;
+        long[] points = new long[size];
+        int[] memberOf = new int[size];
+        int i = 0;
+        for (int m = 0; m < this.members.size(); m++) {
+            String id = this.members.get(m).id();
+            for (int v = 0; v < virtualNodes; v++) {
+                points[i] = hash(id + "#" + v);
+                memberOf[i] = m;
+                i++;
+            }
+        }
+        Integer[] order = new Integer[size];
+        for (int j = 0; j < size; j++) {
+            order[j] = j;
+        }
+        // ties (practically impossible with 64-bit hashes) are broken by member id to keep every node agreeing
+        Arrays.sort(order, (a, b) -> points[a] != points[b]
+            ? Long.compare(points[a], points[b])
+            : this.members.get(memberOf[a]).id().compareTo(this.members.get(memberOf[b]).id()));
+        this.tokens = new long[size];
+        this.owners = new ClusterMember[size];
+        for (int j = 0; j < size; j++) {
+            tokens[j] = points[order[j]];
+            owners[j] = this.members.get(memberOf[order[j]]);
+        }
+    }
+
+    public List<ClusterMember> members() {
+        return members;
+    }
+
+    public ClusterMember owner(LocationKey cell) {
+        return owner(cell, member -> true);
+    }
+
+    /**
+     * The first member clockwise from the cell that passes {@code usable}, i.e. the owner the cell
+     * falls back to while the ones before it are down; {@code null} if none qualifies.
+     */
+    public ClusterMember owner(LocationKey cell, Predicate<ClusterMember> usable) {
+        if (tokens.length == 0) {
+            return null;
+        }
+        long h = hash(cell);
+        int start = Arrays.binarySearch(tokens, h);
+        if (start < 0) {
+            start = -start - 1;
+        }
+        for (int n = 0; n < tokens.length; n++) {
+            ClusterMember candidate = owners[(start + n) % tokens.length];
+            if (usable.test(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    static long hash(LocationKey cell) {
+        long h = cell.latitudeUnits() * 0x9E3779B97F4A7C15L;
+        h = (h ^ cell.longitudeUnits()) * 0xC2B2AE3D27D4EB4FL;
+        h ^= cell.precision();
+        return mix(h);
+    }
+
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
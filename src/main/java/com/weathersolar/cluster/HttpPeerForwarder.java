@@ -0,0 +1,113 @@
+package com.weathersolar.cluster;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.weathersolar.cache.ForecastKey;
+import com.weathersolar.cache.LocationKey;
+import com.weathersolar.config.ClusterProperties;
+import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.dto.WeeklySummaryResponse;
+import com.weathersolar.exception.ExternalServiceException;
+import com.weathersolar.exception.UpstreamOverloadedException;
+import com.weathersolar.limiter.TrafficClass;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asks the owning peer for the forecast over its internal endpoint, using the cell's own coordinates so
+ * the owner lands on the same cache key. Connection failures and timeouts mark the peer down and make the
+ * caller fetch locally, so losing a peer costs upstream calls, never errors. An error the owner answers
+ * with is passed on instead: fetching locally after the owner reported overload would only add load.
+ */
+@Slf4j
+public class HttpPeerForwarder implements PeerForwarder {
+    public static final String FORECAST_PATH = "/internal/cluster/forecast";
+    public static final String SUMMARY_PATH = "/internal/cluster/summary";
+
+    private final ClusterMembership membership;
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final String sharedSecret;
+    private final Counter forwarded;
+    private final Counter failed;
+
+    public HttpPeerForwarder(ClusterMembership membership, WebClient.Builder webClientBuilder,
+            ClusterProperties properties, MeterRegistry meterRegistry) {
+        this.membership = membership;
+        this.webClient = webClientBuilder.build();
+        this.timeout = properties.getForwardTimeout();
+        this.sharedSecret = properties.getSharedSecret();
+        this.forwarded = meterRegistry.counter("weather.cluster.forwarded", "outcome", "success");
+        this.failed = meterRegistry.counter("weather.cluster.forwarded", "outcome", "failure");
+    }
+
+    @Override
+    public WeatherForecastResponse forward(ForecastKey key, TrafficClass trafficClass) {
+        return request(FORECAST_PATH + "?latitude={lat}&longitude={lon}&days={days}", key, trafficClass,
+            WeatherForecastResponse.class);
+    }
+
+    @Override
+    public WeeklySummaryResponse forwardSummary(ForecastKey key, TrafficClass trafficClass) {
+        return request(SUMMARY_PATH + "?latitude={lat}&longitude={lon}", key, trafficClass,
+            WeeklySummaryResponse.class);
+    }
+
+    private <T> T request(String path, ForecastKey key, TrafficClass trafficClass, Class<T> type) {
+        LocationKey cell = key.location();
+        ClusterMember owner = membership.ownerOf(cell);
+        if (membership.isSelf(owner)) {
+            return null;
+        }
+        try {
+            T response = webClient.get()
+                .uri(owner.url() + path, cell.latitude(), cell.longitude(), key.days())
+                .header(FORWARDED_HEADER, "true")
+                .header(SECRET_HEADER, sharedSecret)
+                .header(TRAFFIC_CLASS_HEADER, trafficClass.name())
+                .retrieve()
+                .bodyToMono(type)
+                .block(timeout);
+            if (response != null) {
+                forwarded.increment();
+                return response;
+            }
+        } catch (WebClientResponseException e) {
+            failed.increment();
+            throw ownerError(owner, key, trafficClass, e);
+        } catch (WebClientRequestException | IllegalStateException e) {
+            // IllegalStateException is what block() throws on timeout
+            membership.markDown(owner);
+            log.debug("Forwarding {} to {} failed: {}", key, owner.id(), e.getMessage());
+        }
+        failed.increment();
+        return null;
+    }
+
+    private static RuntimeException ownerError(ClusterMember owner, ForecastKey key, TrafficClass trafficClass,
+            WebClientResponseException e) {
+        int status = e.getStatusCode().value();
+        log.warn("Cluster peer {} answered {} for {}", owner.id(), status, key);
+        if (status == 429 || status == 503) {
+            return new UpstreamOverloadedException("Cluster peer " + owner.id() + " is overloaded", trafficClass,
+                retryAfterSeconds(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)));
+        }
+        // A 4xx from the owner is a cluster misconfiguration, not the client's fault
+        return new ExternalServiceException("Cluster peer " + owner.id() + " failed with status " + status, e, 502);
+    }
+
+    private static long retryAfterSeconds(String retryAfter) {
+        try {
+            return retryAfter == null ? 1 : Math.max(1, Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.weathersolar.cluster;
+
+import com.weathersolar.cache.ForecastKey;
+import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.dto.WeeklySummaryResponse;
+import com.weathersolar.limiter.TrafficClass;
+
+/**
+ * Routes a forecast cache miss to the cluster member that owns its cell.
+ */
+public interface PeerForwarder {
+    String FORWARDED_HEADER = "X-Weather-Forwarded";
+    String SECRET_HEADER = "X-Weather-Cluster-Secret";
+    String TRAFFIC_CLASS_HEADER = "X-Weather-Traffic-Class";
+
+    /** Used when clustering is disabled: every cell is local. */
+    PeerForwarder LOCAL = (key, trafficClass) -> null;
+
+    /**
+     * The owner's forecast for the key, or {@code null} when this node owns the cell or the owner could
+     * not be reached, in which case the caller fetches from upstream itself. An error status from the
+     * owner is thrown, overload as {@link com.weathersolar.exception.UpstreamOverloadedException}. The owner fetches on the
+     * bulkhead of {@code trafficClass}.
+     */
+    WeatherForecastResponse forward(ForecastKey key, TrafficClass trafficClass);
+
+    /**
+     * The owner's weekly summary for the key, on the same terms as {@link #forward}. Only the owner holds
+     * the hourly pressure aggregates the trend is computed from.
+     */
+    default WeeklySummaryResponse forwardSummary(ForecastKey key, TrafficClass trafficClass) {
+        return null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.weathersolar.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.cache")
+public class CacheProperties {
+    private Duration ttl = Duration.ofMinutes(15);
+    private int coordinatePrecision = 2;
+    private int maxEntries = 10000;
+    private boolean offHeap = false;
+    private int offHeapEntries = 1_000_000;
+    private int offHeapStripes = 64;
+    private int offHeapHotEntries = 4096;
+
+    public Duration getTtl() {
+        return ttl;
+    }
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+    public int getCoordinatePrecision() {
+        return coordinatePrecision;
+    }
+    public void setCoordinatePrecision(int coordinatePrecision) {
+        this.coordinatePrecision = coordinatePrecision;
+    }
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+    public void setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+    public int getOffHeapEntries() {
+        return offHeapEntries;
+    }
+    public void setOffHeapEntries(int offHeapEntries) {
+        this.offHeapEntries = offHeapEntries;
+    }
+    public int getOffHeapStripes() {
+        return offHeapStripes;
+    }
+    public void setOffHeapStripes(int offHeapStripes) {
+        this.offHeapStripes = offHeapStripes;
+    }
+    public int getOffHeapHotEntries() {
+        return offHeapHotEntries;
+    }
+    public void setOffHeapHotEntries(int offHeapHotEntries) {
+        this.offHeapHotEntries = offHeapHotEntries;
+    }
+}
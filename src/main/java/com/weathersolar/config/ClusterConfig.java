@@ -0,0 +1,43 @@
+package com.weathersolar.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.weathersolar.cluster.ClusterMembership;
+import com.weathersolar.cluster.HttpPeerForwarder;
+import com.weathersolar.cluster.PeerForwarder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Configuration
+public class ClusterConfig {
+
+    /**
+     * Forwards cache misses to the owning instance when {@code weather.cluster} is enabled; otherwise
+     * every cell is served locally.
+     */
+    @Bean
+    public PeerForwarder peerForwarder(ObjectProvider<ClusterMembership> membership, ClusterProperties properties,
+            WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        ClusterMembership cluster = membership.getIfAvailable();
+        if (cluster == null) {
+            return PeerForwarder.LOCAL;
+        }
+        log.info("Sharding forecast cells as {} across {} cluster members", properties.getSelfId(),
+            cluster.ring().members().size());
+        return new HttpPeerForwarder(cluster, webClientBuilder.clone(), properties, meterRegistry);
+    }
+
+    /** Re-reads the member list; only active in cluster mode. */
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "weather.cluster", name = "enabled", havingValue = "true")
+    static class MembershipRefresh {
+    }
+}
@@ -0,0 +1,101 @@
+package com.weathersolar.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.cluster")
+public class ClusterProperties {
+    private boolean enabled = false;
+    private String selfId;
+    private List<Member> members = new ArrayList<>();
+    private String discoveryFile;
+    private Duration refreshInterval = Duration.ofSeconds(10);
+    private int virtualNodes = 128;
+    private Duration forwardTimeout = Duration.ofSeconds(3);
+    private Duration peerDownDuration = Duration.ofSeconds(30);
+    private String sharedSecret;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    public String getSelfId() {
+        return selfId;
+    }
+    public void setSelfId(String selfId) {
+        this.selfId = selfId;
+    }
+    public List<Member> getMembers() {
+        return members;
+    }
+    public void setMembers(List<Member> members) {
+        this.members = members;
+    }
+    public String getDiscoveryFile() {
+        return discoveryFile;
+    }
+    public void setDiscoveryFile(String discoveryFile) {
+        this.discoveryFile = discoveryFile;
+    }
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+    public Duration getForwardTimeout() {
+        return forwardTimeout;
+    }
+    public void setForwardTimeout(Duration forwardTimeout) {
+        this.forwardTimeout = forwardTimeout;
+    }
+    public Duration getPeerDownDuration() {
+        return peerDownDuration;
+    }
+    public void setPeerDownDuration(Duration peerDownDuration) {
+        this.peerDownDuration = peerDownDuration;
+    }
+    public String getSharedSecret() {
+        return sharedSecret;
+    }
+    public void setSharedSecret(String sharedSecret) {
+        this.sharedSecret = sharedSecret;
+    }
+
+    public static class Member {
+        private String id;
+        private String url;
+
+        public Member() {
+        }
+
+        public Member(String id, String url) {
+            this.id = id;
+            this.url = url;
+        }
+
+        public String getId() {
+            return id;
+        }
+        public void setId(String id) {
+            this.id = id;
+        }
+        public String getUrl() {
+            return url;
+        }
+        public void setUrl(String url) {
+            this.url = url;
+        }
+    }
+}
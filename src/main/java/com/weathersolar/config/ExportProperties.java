@@ -0,0 +1,43 @@
+package com.weathersolar.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.export")
+public class ExportProperties {
+    private String dir = "exports";
+    private int parallelism = 4;
+    private double upstreamRequestsPerSecond = 5.0;
+    private int maxSites = 100_000;
+    private int maxAttempts = 3;
+
+    public String getDir() {
+        return dir;
+    }
+    public void setDir(String dir) {
+        this.dir = dir;
+    }
+    public int getParallelism() {
+        return parallelism;
+    }
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+    public double getUpstreamRequestsPerSecond() {
+        return upstreamRequestsPerSecond;
+    }
+    public void setUpstreamRequestsPerSecond(double upstreamRequestsPerSecond) {
+        this.upstreamRequestsPerSecond = upstreamRequestsPerSecond;
+    }
+    public int getMaxSites() {
+        return maxSites;
+    }
+    public void setMaxSites(int maxSites) {
+        this.maxSites = maxSites;
+    }
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+}
@@ -0,0 +1,12 @@
+package com.weathersolar.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Runs the periodic grid ingest; only active in grid mirror mode. */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "weather.grid", name = "enabled", havingValue = "true")
+public class GridConfig {
+}
@@ -0,0 +1,45 @@
+package com.weathersolar.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.grid")
+public class GridProperties {
+    private boolean enabled = false;
+    private String sourcePath = "";
+    private String dataDir = "grid";
+    private Duration refreshInterval = Duration.ofHours(1);
+    private boolean bilinear = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    public String getSourcePath() {
+        return sourcePath;
+    }
+    public void setSourcePath(String sourcePath) {
+        this.sourcePath = sourcePath;
+    }
+    public String getDataDir() {
+        return dataDir;
+    }
+    public void setDataDir(String dataDir) {
+        this.dataDir = dataDir;
+    }
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+    public boolean isBilinear() {
+        return bilinear;
+    }
+    public void setBilinear(boolean bilinear) {
+        this.bilinear = bilinear;
+    }
+}
@@ -0,0 +1,94 @@
+package com.weathersolar.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.limiter")
+public class LimiterProperties {
+    private boolean enabled = true;
+    private Bulkhead interactive = new Bulkhead(20, 2, 100);
+    private Bulkhead background = new Bulkhead(4, 1, 16);
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    public Bulkhead getInteractive() {
+        return interactive;
+    }
+    public void setInteractive(Bulkhead interactive) {
+        this.interactive = interactive;
+    }
+    public Bulkhead getBackground() {
+        return background;
+    }
+    public void setBackground(Bulkhead background) {
+        this.background = background;
+    }
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public static class Bulkhead {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private double rttTolerance = 1.5;
+        private double smoothing = 0.2;
+        private double backoffRatio = 0.9;
+
+        public Bulkhead() {
+            this(20, 1, 100);
+        }
+
+        public Bulkhead(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+        public int getMinLimit() {
+            return minLimit;
+        }
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+        public double getRttTolerance() {
+            return rttTolerance;
+        }
+        public void setRttTolerance(double rttTolerance) {
+            this.rttTolerance = rttTolerance;
+        }
+        public double getSmoothing() {
+            return smoothing;
+        }
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+    }
+}
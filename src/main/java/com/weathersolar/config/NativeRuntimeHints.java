@@ -0,0 +1,91 @@
+package com.weathersolar.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.Model.SolarDay;
+import com.weathersolar.Model.WeatherForecast;
+import com.weathersolar.Model.WeeklySummary;
+import com.weathersolar.dto.SolarForecastResponse;
+import com.weathersolar.dto.SolarGridResponse;
+import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.dto.WeeklySummaryResponse;
+import com.weathersolar.exception.GlobalExceptionHandler;
+import com.weathersolar.export.ExportJobStatus;
+import com.weathersolar.export.ExportRequest;
+import com.weathersolar.export.ExportSite;
+import com.weathersolar.profiling.RecordingStatus;
+
+/**
+ * Reflection hints for the AOT and native image builds. The Lombok DTOs are (de)serialized by
+ * Jackson, the properties classes are bound by Spring and upstream payloads are read as JsonNode
+ * trees, none of which is visible to the native image static analysis on its own.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] JSON_TYPES = {
+        DailyWeather.class,
+        SolarDay.class,
+        WeatherForecast.class,
+        WeeklySummary.class,
+        WeatherForecastResponse.class,
+        WeatherForecastResponse.WeatherForecastResponseBuilder.class,
+        WeeklySummaryResponse.class,
+        SolarForecastResponse.class,
+        WeeklySummaryResponse.WeeklySummaryResponseBuilder.class,
+        GlobalExceptionHandler.ErrorResponse.class,
+        ExportRequest.class,
+        ExportSite.class,
+        ExportJobStatus.class,
+        RecordingStatus.class,
+        SolarGridResponse.class,
+        SolarGridResponse.Tile.class
+    };
+
+    private static final Class<?>[] PROPERTIES_TYPES = {
+        SolarProperties.class,
+        CacheProperties.class,
+        RefreshProperties.class,
+        LimiterProperties.class,
+        LimiterProperties.Bulkhead.class,
+        RateLimitProperties.class,
+        ProviderProperties.class,
+        GridProperties.class,
+        ExportProperties.class,
+        ClusterProperties.class,
+        ClusterProperties.Member.class,
+        WarmupProperties.class,
+        ProfilingProperties.class,
+        SolarGridProperties.class
+    };
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), JSON_TYPES);
+
+        for (Class<?> type : PROPERTIES_TYPES) {
+            hints.reflection().registerType(type,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+        }
+
+        for (Class<?> type : new Class<?>[] {JsonNode.class, ObjectNode.class, ArrayNode.class}) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.reflection().registerType(TypeReference.of("com.fasterxml.jackson.databind.deser.std.JsonNodeDeserializer"),
+            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        hints.resources().registerPattern("warmup/*.json");
+    }
+}
@@ -0,0 +1,45 @@
+package com.weathersolar.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.profiling")
+public class ProfilingProperties {
+    private String dir = "profiling";
+    private String settings = "profile";
+    private Duration defaultDuration = Duration.ofMinutes(2);
+    private Duration maxDuration = Duration.ofMinutes(10);
+    private int maxRecordings = 5;
+
+    public String getDir() {
+        return dir;
+    }
+    public void setDir(String dir) {
+        this.dir = dir;
+    }
+    public String getSettings() {
+        return settings;
+    }
+    public void setSettings(String settings) {
+        this.settings = settings;
+    }
+    public Duration getDefaultDuration() {
+        return defaultDuration;
+    }
+    public void setDefaultDuration(Duration defaultDuration) {
+        this.defaultDuration = defaultDuration;
+    }
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+    public int getMaxRecordings() {
+        return maxRecordings;
+    }
+    public void setMaxRecordings(int maxRecordings) {
+        this.maxRecordings = maxRecordings;
+    }
+}
@@ -0,0 +1,52 @@
+package com.weathersolar.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.provider")
+public class ProviderProperties {
+    private String secondaryUrl = "";
+    private boolean hedgingEnabled = true;
+    private double hedgePercentile = 0.95;
+    private Duration hedgeInitialDelay = Duration.ofMillis(500);
+    private Duration hedgeMinDelay = Duration.ofMillis(50);
+    private Duration hedgeMaxDelay = Duration.ofSeconds(3);
+
+    public String getSecondaryUrl() {
+        return secondaryUrl;
+    }
+    public void setSecondaryUrl(String secondaryUrl) {
+        this.secondaryUrl = secondaryUrl;
+    }
+    public boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+    public void setHedgingEnabled(boolean hedgingEnabled) {
+        this.hedgingEnabled = hedgingEnabled;
+    }
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+    public void setHedgePercentile(double hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+    public Duration getHedgeInitialDelay() {
+        return hedgeInitialDelay;
+    }
+    public void setHedgeInitialDelay(Duration hedgeInitialDelay) {
+        this.hedgeInitialDelay = hedgeInitialDelay;
+    }
+    public Duration getHedgeMinDelay() {
+        return hedgeMinDelay;
+    }
+    public void setHedgeMinDelay(Duration hedgeMinDelay) {
+        this.hedgeMinDelay = hedgeMinDelay;
+    }
+    public Duration getHedgeMaxDelay() {
+        return hedgeMaxDelay;
+    }
+    public void setHedgeMaxDelay(Duration hedgeMaxDelay) {
+        this.hedgeMaxDelay = hedgeMaxDelay;
+    }
+}
@@ -0,0 +1,26 @@
+package com.weathersolar.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.weathersolar.limiter.ClientRateLimitInterceptor;
+
+@Configuration
+@ConditionalOnProperty(prefix = "weather.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+    private final ClientRateLimitInterceptor rateLimitInterceptor;
+
+    public RateLimitConfig(ClientRateLimitInterceptor rateLimitInterceptor) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+    }
+
+    @SuppressWarnings("null")
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor)
+            .addPathPatterns("/api/**", "/internal/cluster/**")
+            .order(0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.weathersolar.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int capacity = 30;
+    private double refillPerSecond = 5.0;
+    private int tableSize = 65536;
+    private String apiKeyHeader = "X-API-Key";
+    private List<String> apiKeys = new ArrayList<>();
+    private boolean trustForwardedFor = false;
+    private int trustedProxyHops = 1;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    public int getCapacity() {
+        return capacity;
+    }
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+    public double getRefillPerSecond() {
+        return refillPerSecond;
+    }
+    public void setRefillPerSecond(double refillPerSecond) {
+        this.refillPerSecond = refillPerSecond;
+    }
+    public int getTableSize() {
+        return tableSize;
+    }
+    public void setTableSize(int tableSize) {
+        this.tableSize = tableSize;
+    }
+    public String getApiKeyHeader() {
+        return apiKeyHeader;
+    }
+    public void setApiKeyHeader(String apiKeyHeader) {
+        this.apiKeyHeader = apiKeyHeader;
+    }
+    public List<String> getApiKeys() {
+        return apiKeys;
+    }
+    public void setApiKeys(List<String> apiKeys) {
+        this.apiKeys = apiKeys;
+    }
+    public boolean isTrustForwardedFor() {
+        return trustForwardedFor;
+    }
+    public void setTrustForwardedFor(boolean trustForwardedFor) {
+        this.trustForwardedFor = trustForwardedFor;
+    }
+    public int getTrustedProxyHops() {
+        return trustedProxyHops;
+    }
+    public void setTrustedProxyHops(int trustedProxyHops) {
+        this.trustedProxyHops = trustedProxyHops;
+    }
+}
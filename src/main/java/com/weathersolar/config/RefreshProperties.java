@@ -0,0 +1,31 @@
+package com.weathersolar.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.refresh")
+public class RefreshProperties {
+    private boolean deltaEnabled = true;
+    private Duration modelRunInterval = Duration.ofHours(6);
+    private Duration modelRunAvailabilityDelay = Duration.ofHours(4);
+
+    public boolean isDeltaEnabled() {
+        return deltaEnabled;
+    }
+    public void setDeltaEnabled(boolean deltaEnabled) {
+        this.deltaEnabled = deltaEnabled;
+    }
+    public Duration getModelRunInterval() {
+        return modelRunInterval;
+    }
+    public void setModelRunInterval(Duration modelRunInterval) {
+        this.modelRunInterval = modelRunInterval;
+    }
+    public Duration getModelRunAvailabilityDelay() {
+        return modelRunAvailabilityDelay;
+    }
+    public void setModelRunAvailabilityDelay(Duration modelRunAvailabilityDelay) {
+        this.modelRunAvailabilityDelay = modelRunAvailabilityDelay;
+    }
+}
@@ -0,0 +1,73 @@
+package com.weathersolar.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.solar-grid")
+public class SolarGridProperties {
+    private int tileSize = 10;
+    private int maxCells = 40_000;
+    private double minResolution = 0.01;
+    private double maxResolution = 5.0;
+    private int fetchConcurrency = 2;
+    private int parallelism = 0;
+    private int maxTiles = 4096;
+    private Duration tileTtl = Duration.ofMinutes(30);
+    private Duration fetchTimeout = Duration.ofSeconds(20);
+
+    public int getTileSize() {
+        return tileSize;
+    }
+    public void setTileSize(int tileSize) {
+        this.tileSize = tileSize;
+    }
+    public int getMaxCells() {
+        return maxCells;
+    }
+    public void setMaxCells(int maxCells) {
+        this.maxCells = maxCells;
+    }
+    public double getMinResolution() {
+        return minResolution;
+    }
+    public void setMinResolution(double minResolution) {
+        this.minResolution = minResolution;
+    }
+    public double getMaxResolution() {
+        return maxResolution;
+    }
+    public void setMaxResolution(double maxResolution) {
+        this.maxResolution = maxResolution;
+    }
+    public int getFetchConcurrency() {
+        return fetchConcurrency;
+    }
+    public void setFetchConcurrency(int fetchConcurrency) {
+        this.fetchConcurrency = fetchConcurrency;
+    }
+    public int getParallelism() {
+        return parallelism;
+    }
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+    public int getMaxTiles() {
+        return maxTiles;
+    }
+    public void setMaxTiles(int maxTiles) {
+        this.maxTiles = maxTiles;
+    }
+    public Duration getTileTtl() {
+        return tileTtl;
+    }
+    public void setTileTtl(Duration tileTtl) {
+        this.tileTtl = tileTtl;
+    }
+    public Duration getFetchTimeout() {
+        return fetchTimeout;
+    }
+    public void setFetchTimeout(Duration fetchTimeout) {
+        this.fetchTimeout = fetchTimeout;
+    }
+}
@@ -1,9 +1,7 @@
 package com.weathersolar.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.context.annotation.Configuration;
 
-@Configuration
 @ConfigurationProperties(prefix = "solar.installation")
 public class SolarProperties {
     private double power;
@@ -0,0 +1,25 @@
+package com.weathersolar.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.weathersolar.controller.CoordinateGuardInterceptor;
+
+@Configuration
+public class ValidationConfig implements WebMvcConfigurer {
+    private final CoordinateGuardInterceptor coordinateGuardInterceptor;
+
+    public ValidationConfig(CoordinateGuardInterceptor coordinateGuardInterceptor) {
+        this.coordinateGuardInterceptor = coordinateGuardInterceptor;
+    }
+
+    @SuppressWarnings("null")
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // After the rate limiter, so invalid requests still count against the client's budget
+        registry.addInterceptor(coordinateGuardInterceptor)
+            .addPathPatterns("/api/weather/**", "/internal/cluster/**")
+            .order(1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.weathersolar.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.warmup")
+public class WarmupProperties {
+    private boolean enabled = true;
+    private int roundSize = 200;
+    private double tolerance = 0.05;
+    private int stableRounds = 3;
+    private int minRounds = 5;
+    private Duration maxDuration = Duration.ofSeconds(60);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    public int getRoundSize() {
+        return roundSize;
+    }
+    public void setRoundSize(int roundSize) {
+        this.roundSize = roundSize;
+    }
+    public double getTolerance() {
+        return tolerance;
+    }
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+    public int getStableRounds() {
+        return stableRounds;
+    }
+    public void setStableRounds(int stableRounds) {
+        this.stableRounds = stableRounds;
+    }
+    public int getMinRounds() {
+        return minRounds;
+    }
+    public void setMinRounds(int minRounds) {
+        this.minRounds = minRounds;
+    }
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+}
@@ -0,0 +1,49 @@
+package com.weathersolar.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weathersolar.client.HedgingWeatherProvider;
+import com.weathersolar.client.OpenMeteoClient;
+import com.weathersolar.client.WeatherProvider;
+import com.weathersolar.grid.GridForecastStore;
+import com.weathersolar.grid.GridWeatherProvider;
+import com.weathersolar.limiter.UpstreamLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Configuration
+public class WeatherProviderConfig {
+
+    /**
+     * The provider the services use: the public Open-Meteo client, hedged against a mirror when
+     * {@code weather.provider.secondary-url} is set, behind the local grid when {@code weather.grid} is
+     * enabled.
+     */
+    @Bean
+    @Primary
+    public WeatherProvider weatherProvider(OpenMeteoClient openMeteoClient, ProviderProperties properties,
+            GridProperties gridProperties, ObjectProvider<GridForecastStore> gridStore,
+            WebClient.Builder webClientBuilder, ObjectMapper objectMapper, UpstreamLimiter upstreamLimiter,
+            MeterRegistry meterRegistry) {
+        WeatherProvider provider = openMeteoClient;
+        String secondaryUrl = properties.getSecondaryUrl();
+        if (properties.isHedgingEnabled() && secondaryUrl != null && !secondaryUrl.isBlank()) {
+            log.info("Hedging Open-Meteo requests against mirror {}", secondaryUrl);
+            OpenMeteoClient mirror = new OpenMeteoClient("mirror", webClientBuilder.clone(), secondaryUrl);
+            provider = new HedgingWeatherProvider(openMeteoClient, mirror, upstreamLimiter, properties, meterRegistry);
+        }
+        GridForecastStore store = gridStore.getIfAvailable();
+        if (store != null) {
+            log.info("Serving in-region forecasts from grid in {}", gridProperties.getDataDir());
+            provider = new GridWeatherProvider(store, provider, objectMapper, gridProperties.isBilinear());
+        }
+        return provider;
+    }
+}
@@ -0,0 +1,103 @@
+package com.weathersolar.controller;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.weathersolar.exception.CoordinateRangeException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Rejects out-of-range coordinates before handler method validation runs. Bean Validation would reject
+ * them too, but only after building violation objects, interpolating messages and filling in a stack
+ * trace; here a flood of bad coordinates costs a parse and a comparison, and ends in a preallocated
+ * exception with a cached body. Only {@code latitude} and {@code longitude} parameters that
+ * carry {@code @Min}/{@code @Max} are checked, with the violation message method validation would
+ * produce. Values that do not parse are left to the normal binding errors.
+ */
+@Component
+public class CoordinateGuardInterceptor implements HandlerInterceptor {
+    private static final List<String> GUARDED = List.of("latitude", "longitude");
+
+    private final Map<Method, Range[]> ranges = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            Range[] guarded = ranges.get(handlerMethod.getMethod());
+            if (guarded == null) {
+                guarded = ranges.computeIfAbsent(handlerMethod.getMethod(), CoordinateGuardInterceptor::ranges);
+            }
+            for (Range range : guarded) {
+                CoordinateRangeException rejection = range.check(request.getParameter(range.parameter));
+                if (rejection != null) {
+                    throw rejection;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Range[] ranges(Method method) {
+        List<Range> ranges = new ArrayList<>(2);
+        for (Parameter parameter : method.getParameters()) {
+            Min min = parameter.getAnnotation(Min.class);
+            Max max = parameter.getAnnotation(Max.class);
+            if (GUARDED.contains(parameter.getName()) && min != null && max != null) {
+                ranges.add(new Range(parameter.getName(), method.getName() + "." + parameter.getName(),
+                    min.value(), max.value()));
+            }
+        }
+        return ranges.toArray(Range[]::new);
+    }
+
+    /** Preallocated rejections for one parameter, named the way method validation names it. */
+    private static final class Range {
+        private final String parameter;
+        private final long min;
+        private final long max;
+        private final CoordinateRangeException tooSmall;
+        private final CoordinateRangeException tooLarge;
+        private final CoordinateRangeException notANumber;
+
+        Range(String parameter, String path, long min, long max) {
+            this.parameter = parameter;
+            this.min = min;
+            this.max = max;
+            String minViolation = path + ": must be greater than or equal to " + min;
+            String maxViolation = path + ": must be less than or equal to " + max;
+            this.tooSmall = new CoordinateRangeException(minViolation);
+            this.tooLarge = new CoordinateRangeException(maxViolation);
+            // NaN violates both constraints
+            this.notANumber = new CoordinateRangeException(minViolation + ", " + maxViolation);
+        }
+
+        /** The rejection for {@code raw}, or null when it is in range or left to the binder. */
+        CoordinateRangeException check(String raw) {
+            if (raw == null || raw.isEmpty()) {
+                return null;
+            }
+            double value;
+            try {
+                value = Double.parseDouble(raw);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (Double.isNaN(value)) {
+                return notANumber;
+            }
+            return value < min ? tooSmall : value > max ? tooLarge : null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.weathersolar.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.weathersolar.export.ExportJobService;
+import com.weathersolar.export.ExportJobStatus;
+import com.weathersolar.export.ExportRequest;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/export/jobs")
+@RequiredArgsConstructor
+public class ExportController {
+   private final ExportJobService exportJobService;
+
+   @PostMapping
+   public ResponseEntity<ExportJobStatus> submit(@RequestBody ExportRequest request) throws IOException {
+       ExportJobStatus status = exportJobService.submit(request);
+       return ResponseEntity.accepted()
+           .location(URI.create("/api/export/jobs/" + status.id()))
+           .body(status);
+   }
+
+   @GetMapping("/{id}")
+   public ResponseEntity<ExportJobStatus> status(@PathVariable String id) {
+       return ResponseEntity.of(exportJobService.status(id));
+   }
+
+   @PostMapping("/{id}/resume")
+   public ResponseEntity<ExportJobStatus> resume(@PathVariable String id) throws IOException {
+       return ResponseEntity.of(exportJobService.resume(id));
+   }
+
+   @GetMapping("/{id}/result")
+   public ResponseEntity<Resource> result(@PathVariable String id) {
+       Optional<ExportJobStatus> status = exportJobService.status(id);
+       if (status.isEmpty()) {
+           return ResponseEntity.notFound().build();
+       }
+       Optional<Path> result = exportJobService.result(id);
+       if (result.isEmpty()) {
+           return ResponseEntity.status(HttpStatus.CONFLICT).build();
+       }
+
+       Path file = result.get();
+       return ResponseEntity.ok()
+           .contentType(MediaType.parseMediaType(status.get().format().getMediaType()))
+           .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+           .body(new FileSystemResource(file));
+   }
+}
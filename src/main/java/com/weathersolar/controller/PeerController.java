@@ -0,0 +1,61 @@
+package com.weathersolar.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.weathersolar.cluster.ClusterSecret;
+import com.weathersolar.cluster.HttpPeerForwarder;
+import com.weathersolar.cluster.PeerForwarder;
+import com.weathersolar.config.ClusterProperties;
+import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.dto.WeeklySummaryResponse;
+import com.weathersolar.limiter.TrafficClass;
+import com.weathersolar.service.WeatherService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Answers forecasts and weekly summaries forwarded by other cluster members. Always served from this node's cache or
+ * upstream, never forwarded again, so members with briefly different rings cannot bounce a request.
+ */
+@RestController
+@RequestMapping
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "weather.cluster", name = "enabled", havingValue = "true")
+public class PeerController {
+   private final WeatherService weatherService;
+   private final ClusterProperties clusterProperties;
+
+   @GetMapping(HttpPeerForwarder.FORECAST_PATH)
+   public ResponseEntity<WeatherForecastResponse> getOwnedForecast(
+           @RequestParam double latitude,
+           @RequestParam double longitude,
+           @RequestParam int days,
+           @RequestHeader(value = PeerForwarder.SECRET_HEADER, required = false) String secret,
+           @RequestHeader(value = PeerForwarder.TRAFFIC_CLASS_HEADER, defaultValue = "INTERACTIVE") TrafficClass trafficClass
+   ) {
+       if (!ClusterSecret.matches(clusterProperties, secret)) {
+           return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+       }
+       return ResponseEntity.ok(weatherService.getOwnedForecast(latitude, longitude, days, trafficClass));
+   }
+
+   @GetMapping(HttpPeerForwarder.SUMMARY_PATH)
+   public ResponseEntity<WeeklySummaryResponse> getOwnedSummary(
+           @RequestParam double latitude,
+           @RequestParam double longitude,
+           @RequestHeader(value = PeerForwarder.SECRET_HEADER, required = false) String secret,
+           @RequestHeader(value = PeerForwarder.TRAFFIC_CLASS_HEADER, defaultValue = "INTERACTIVE") TrafficClass trafficClass
+   ) {
+       if (!ClusterSecret.matches(clusterProperties, secret)) {
+           return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+       }
+       return ResponseEntity.ok(weatherService.getOwnedWeeklySummary(latitude, longitude, trafficClass));
+   }
+}
@@ -0,0 +1,51 @@
+package com.weathersolar.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.weathersolar.serialization.SolarGridWriter;
+import com.weathersolar.solargrid.BoundingBox;
+import com.weathersolar.solargrid.SolarGrid;
+import com.weathersolar.solargrid.SolarGridService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/weather/solar/grid")
+@RequiredArgsConstructor
+public class SolarGridController {
+   private static final MediaType BINARY = MediaType.parseMediaType(SolarGridWriter.MEDIA_TYPE);
+
+   private final SolarGridService solarGridService;
+
+   @GetMapping
+   public ResponseEntity<?> getSolarGrid(
+           @RequestParam String bbox,
+           @RequestParam double resolution,
+           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+           @RequestParam(defaultValue = "1.0") double installedPowerKw,
+           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+   ) {
+       SolarGrid grid = solarGridService.getGrid(BoundingBox.parse(bbox), resolution, date, installedPowerKw);
+
+       boolean binary = accept != null && MediaType.parseMediaTypes(accept).stream()
+           .anyMatch(mediaType -> mediaType.getQualityValue() > 0 && BINARY.equalsTypeAndSubtype(mediaType));
+       ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+           .header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+       if (binary) {
+           StreamingResponseBody body = out -> SolarGridWriter.writeBinary(grid, out);
+           return response.contentType(BINARY).body(body);
+       }
+       return response.contentType(MediaType.APPLICATION_JSON).body(SolarGridWriter.toTiles(grid));
+   }
+}
@@ -1,14 +1,29 @@
 package com.weathersolar.controller;
 
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.Model.HourlySeries;
+import com.weathersolar.cache.CachedForecast;
+import com.weathersolar.dto.SolarForecastResponse;
 import com.weathersolar.dto.WeeklySummaryResponse;
+import com.weathersolar.serialization.HourlySeriesWriter;
+import com.weathersolar.serialization.ResponseBodyEncoder;
+import com.weathersolar.serialization.ResponseFormat;
+import com.weathersolar.service.SolarService;
 import com.weathersolar.service.WeatherService;
 
 import jakarta.validation.constraints.Max;
@@ -20,21 +35,84 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 @Validated
 public class WeatherController {
+   private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
    private final WeatherService weatherService;
+   private final ResponseBodyEncoder responseBodyEncoder;
+   private final SolarService solarService;
 
    @GetMapping("/forecast")
-   public ResponseEntity<WeatherForecastResponse> getWeatherForecast(
+   public ResponseEntity<byte[]> getWeatherForecast(
+           @RequestParam @Min(-90) @Max(90) double latitude,
+           @RequestParam @Min(-180) @Max(180) double longitude,
+           @RequestParam(defaultValue = "7") @Min(1) @Max(16) int days,
+           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+   ) {
+       ResponseFormat format = ResponseFormat.negotiate(accept);
+       if (format == null) {
+           return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+       }
+
+       CachedForecast cached = weatherService.getCachedForecast(latitude, longitude, days);
+       boolean gzip = ResponseBodyEncoder.acceptsGzip(acceptEncoding);
+
+       ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+           .contentType(format.getMediaType())
+           .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+       if (gzip) {
+           response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+       }
+       return response.body(responseBodyEncoder.forecastBody(cached, format, gzip));
+   }
+
+   @GetMapping("/forecast/hourly")
+   public ResponseEntity<StreamingResponseBody> getHourlyForecast(
            @RequestParam @Min(-90) @Max(90) double latitude,
-           @RequestParam @Min(-180) @Max(180) double longitude
+           @RequestParam @Min(-180) @Max(180) double longitude,
+           @RequestParam(defaultValue = "7") @Min(1) @Max(16) int days,
+           @RequestParam(required = false) List<String> variables,
+           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
    ) {
-       return ResponseEntity.ok(weatherService.getForecast(latitude, longitude));
+       boolean ndjson = accept != null && MediaType.parseMediaTypes(accept).stream()
+           .anyMatch(mediaType -> mediaType.getQualityValue() > 0 && NDJSON.equalsTypeAndSubtype(mediaType));
+       HourlySeries series = weatherService.getHourlyForecast(latitude, longitude, days,
+           variables == null || variables.isEmpty() ? WeatherService.DEFAULT_HOURLY_VARIABLES : variables);
+
+       StreamingResponseBody body = ndjson
+           ? out -> HourlySeriesWriter.writeNdjson(series, out)
+           : out -> HourlySeriesWriter.writeJsonArray(series, out);
+       return ResponseEntity.ok()
+           .contentType(ndjson ? NDJSON : MediaType.APPLICATION_JSON)
+           .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+           .body(body);
    }
 
    @GetMapping("/summary")
-   public ResponseEntity<WeeklySummaryResponse> getWeeklySummary(
+   public ResponseEntity<byte[]> getWeeklySummary(
+           @RequestParam @Min(-90) @Max(90) double latitude,
+           @RequestParam @Min(-180) @Max(180) double longitude,
+           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+   ) {
+       ResponseFormat format = ResponseFormat.negotiate(accept);
+       if (format == null) {
+           return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+       }
+
+       WeeklySummaryResponse summary = weatherService.getWeeklySummary(latitude, longitude);
+       return ResponseEntity.ok()
+           .contentType(format.getMediaType())
+           .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+           .body(responseBodyEncoder.encode(summary, format));
+   }
+
+   @GetMapping("/solar")
+   public ResponseEntity<SolarForecastResponse> getSolarForecast(
            @RequestParam @Min(-90) @Max(90) double latitude,
-           @RequestParam @Min(-180) @Max(180) double longitude
+           @RequestParam @Min(-180) @Max(180) double longitude,
+           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+           @RequestParam(defaultValue = "7") @Min(1) @Max(366) int days
    ) {
-       return ResponseEntity.ok(weatherService.getWeeklySummary(latitude, longitude));
+       return ResponseEntity.ok(solarService.getSolarForecast(latitude, longitude, date, days));
    }
-}
\ No newline at end of file
+}
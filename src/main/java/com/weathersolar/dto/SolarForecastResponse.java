@@ -0,0 +1,20 @@
+package com.weathersolar.dto;
+
+import java.util.List;
+
+import com.weathersolar.Model.SolarDay;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolarForecastResponse {
+   private double latitude;
+   private double longitude;
+   private List<SolarDay> days;
+}
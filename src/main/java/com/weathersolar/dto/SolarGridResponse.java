@@ -0,0 +1,39 @@
+package com.weathersolar.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolarGridResponse {
+   private LocalDate date;
+   private double resolution;
+   private int tileSize;
+   private double installedPowerKw;
+   private String unit;
+   private List<Tile> tiles;
+
+   /**
+    * One whole tile, so clients can cache tiles by {@code tileRow}/{@code tileCol}. {@code south} and
+    * {@code west} are the centre of the first cell; {@code values} are row-major from there, northwards
+    * then eastwards, with {@code null} where no forecast exists.
+    */
+   @Data
+   @Builder
+   @NoArgsConstructor
+   @AllArgsConstructor
+   public static class Tile {
+       private int tileRow;
+       private int tileCol;
+       private double south;
+       private double west;
+       private Float[] values;
+   }
+}
@@ -11,6 +11,7 @@ import lombok.Builder;
 @AllArgsConstructor
 public class WeeklySummaryResponse {
    private double averagePressure;
+   private double pressureTrend;
    private double averageSunExposure;
    private double minTemperature;
    private double maxTemperature;
@@ -0,0 +1,41 @@
+package com.weathersolar.exception;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * Pre-serialized {@link GlobalExceptionHandler.ErrorResponse}. Everything but the timestamp is
+ * encoded once; rendering copies the prefix and appends the current time's digits.
+ */
+final class CachedErrorBody {
+    private final byte[] prefix;
+
+    CachedErrorBody(String errorCode, String message) {
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        String json = "{\"errorCode\":\"" + new String(encoder.quoteAsString(errorCode))
+            + "\",\"message\":\"" + new String(encoder.quoteAsString(message))
+            + "\",\"timestamp\":";
+        this.prefix = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    byte[] render(long timestamp) {
+        int digits = digits(timestamp);
+        byte[] body = Arrays.copyOf(prefix, prefix.length + digits + 1);
+        int position = prefix.length + digits;
+        body[position] = '}';
+        for (long remaining = timestamp; position > prefix.length; remaining /= 10) {
+            body[--position] = (byte) ('0' + remaining % 10);
+        }
+        return body;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+}
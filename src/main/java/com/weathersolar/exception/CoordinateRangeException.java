@@ -0,0 +1,13 @@
+package com.weathersolar.exception;
+
+/**
+ * Thrown by the coordinate guard for a parameter outside the {@code @Min}/{@code @Max} range of its
+ * handler method. The message is the one method validation reports for the same violation, so clients
+ * get an identical VALIDATION_ERROR body; like the other rejections it captures no stack trace.
+ */
+public class CoordinateRangeException extends RuntimeException {
+
+    public CoordinateRangeException(String message) {
+        super(message, null, false, false);
+    }
+}
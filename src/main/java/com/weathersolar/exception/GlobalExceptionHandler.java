@@ -1,6 +1,8 @@
 package com.weathersolar.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -9,23 +11,49 @@ import org.springframework.web.reactive.function.client.WebClientResponseExcepti
 import org.springframework.web.reactive.function.client.WebClientException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 
+import com.weathersolar.utils.RateLimitedLogger;
+
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int MAX_CACHED_BODIES = 256;
+
+    private final RateLimitedLogger locationLog = new RateLimitedLogger(log, LOG_INTERVAL_NANOS, 5);
+    private final RateLimitedLogger validationLog = new RateLimitedLogger(log, LOG_INTERVAL_NANOS, 5);
+    private final RateLimitedLogger argumentLog = new RateLimitedLogger(log, LOG_INTERVAL_NANOS, 5);
+    private final RateLimitedLogger rateLimitLog = new RateLimitedLogger(log, LOG_INTERVAL_NANOS, 1);
+    private final Map<String, CachedErrorBody> validationBodies = new ConcurrentHashMap<>();
+    private final CachedErrorBody rateLimitedBody =
+        new CachedErrorBody("RATE_LIMITED", "Too many requests, please slow down");
+    private final CachedErrorBody upstreamOverloadedBody =
+        new CachedErrorBody("UPSTREAM_OVERLOADED", "Weather service is busy, please retry shortly");
+
     @ExceptionHandler(LocationValidationException.class)
     public ResponseEntity<ErrorResponse> handleLocationValidation(LocationValidationException e) {
-        log.warn("Location validation error: {}", e.getMessage());
+        locationLog.warn("Location validation error: {}", e.getMessage());
         return ResponseEntity.badRequest()
             .body(new ErrorResponse("INVALID_LOCATION", e.getMessage()));
     }
 
+    @ExceptionHandler(CoordinateRangeException.class)
+    public ResponseEntity<byte[]> handleCoordinateRange(CoordinateRangeException e) {
+        validationLog.warn("Validation error: {}", e.getMessage());
+        return ResponseEntity.badRequest()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(cachedBody(validationBodies, "VALIDATION_ERROR", "Invalid request parameters: ", e.getMessage())
+                .render(System.currentTimeMillis()));
+    }
+
     @ExceptionHandler(WeatherDataProcessingException.class)
     public ResponseEntity<ErrorResponse> handleWeatherDataProcessing(WeatherDataProcessingException e) {
         log.error("Weather data processing error: {}", e.getMessage());
@@ -45,6 +73,24 @@ public class GlobalExceptionHandler {
                 "Weather service temporarily unavailable"));
     }
 
+    @ExceptionHandler(UpstreamOverloadedException.class)
+    public ResponseEntity<byte[]> handleUpstreamOverloaded(UpstreamOverloadedException e) {
+        log.debug("Rejected upstream call: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(upstreamOverloadedBody.render(System.currentTimeMillis()));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<byte[]> handleRateLimitExceeded(RateLimitExceededException e) {
+        rateLimitLog.warn("Client rate limited: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(rateLimitedBody.render(System.currentTimeMillis()));
+    }
+
     @ExceptionHandler(WebClientResponseException.class)
     public ResponseEntity<ErrorResponse> handleWebClientResponse(WebClientResponseException e) {
         log.error("API client error: {} (status: {})", e.getMessage(), e.getStatusCode());
@@ -64,7 +110,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorResponse> handleConstraintViolation(ConstraintViolationException e) {
-        log.warn("Validation error: {}", e.getMessage());
+        validationLog.warn("Validation error: {}", e.getMessage());
         return ResponseEntity.badRequest()
             .body(new ErrorResponse("VALIDATION_ERROR", 
                 "Invalid request parameters: " + e.getMessage()));
@@ -91,7 +137,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException e) {
-        log.warn("Illegal argument: {}", e.getMessage());
+        argumentLog.warn("Illegal argument: {}", e.getMessage());
         return ResponseEntity.badRequest()
             .body(new ErrorResponse("INVALID_ARGUMENT", e.getMessage()));
     }
@@ -104,6 +150,19 @@ public class GlobalExceptionHandler {
                 "An unexpected error occurred"));
     }
 
+    private static CachedErrorBody cachedBody(Map<String, CachedErrorBody> cache, String errorCode, String prefix,
+            String message) {
+        CachedErrorBody body = cache.get(message);
+        if (body != null) {
+            return body;
+        }
+        body = new CachedErrorBody(errorCode, prefix + message);
+        // Messages are a handful of fixed strings; stop caching if something starts varying them
+        if (cache.size() < MAX_CACHED_BODIES) {
+            cache.putIfAbsent(message, body);
+        }
+        return body;
+    }
 
     public static class ErrorResponse {
         private String errorCode;
@@ -1,12 +1,16 @@
 package com.weathersolar.exception;
 
 
+/**
+ * Thrown for coordinates outside the valid range. Expected in bulk from bots, so the exception never
+ * captures a stack trace.
+ */
 public class LocationValidationException extends RuntimeException {
     public LocationValidationException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
     
     public LocationValidationException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
-}
\ No newline at end of file
+}
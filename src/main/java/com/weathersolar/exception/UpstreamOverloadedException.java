@@ -0,0 +1,36 @@
+package com.weathersolar.exception;
+
+import com.weathersolar.limiter.TrafficClass;
+
+public class UpstreamOverloadedException extends RuntimeException {
+    private final TrafficClass trafficClass;
+    private final int limit;
+    private final long retryAfterSeconds;
+
+    public UpstreamOverloadedException(TrafficClass trafficClass, int limit, long retryAfterSeconds) {
+        super("Upstream concurrency limit of " + limit + " reached for " + trafficClass + " traffic", null, false, false);
+        this.trafficClass = trafficClass;
+        this.limit = limit;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /** Overload reported by another node, such as the cluster peer that owns the cell; its limit is unknown. */
+    public UpstreamOverloadedException(String message, TrafficClass trafficClass, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.trafficClass = trafficClass;
+        this.limit = 0;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public TrafficClass getTrafficClass() {
+        return trafficClass;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
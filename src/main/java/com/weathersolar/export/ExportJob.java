@@ -0,0 +1,93 @@
+package com.weathersolar.export;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Mutable state of a job while this instance knows about it. */
+class ExportJob {
+    private final String id;
+    private final ExportFormat format;
+    private final Path directory;
+    private final long createdAt;
+    private final int totalSites;
+    private final AtomicInteger completedSites = new AtomicInteger();
+    private final AtomicInteger failedSites = new AtomicInteger();
+    private volatile ExportStatus status;
+    private volatile int uniqueCells;
+    private volatile long completedAt;
+    private volatile String error;
+
+    ExportJob(String id, ExportFormat format, Path directory, long createdAt, int totalSites, ExportStatus status) {
+        this.id = id;
+        this.format = format;
+        this.directory = directory;
+        this.createdAt = createdAt;
+        this.totalSites = totalSites;
+        this.status = status;
+    }
+
+    static ExportJob restore(ExportJobStatus status, Path directory) {
+        ExportJob job = new ExportJob(status.id(), status.format(), directory, status.createdAt(), status.totalSites(),
+            status.status());
+        job.uniqueCells = status.uniqueCells();
+        job.completedSites.set(status.completedSites());
+        job.failedSites.set(status.failedSites());
+        job.completedAt = status.completedAt();
+        job.error = status.error();
+        return job;
+    }
+
+    ExportJobStatus snapshot() {
+        return new ExportJobStatus(id, status, format, totalSites, uniqueCells, completedSites.get(),
+            failedSites.get(), createdAt, completedAt, error);
+    }
+
+    String getId() {
+        return id;
+    }
+
+    ExportFormat getFormat() {
+        return format;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    Path sitesFile() {
+        return directory.resolve("sites.ndjson");
+    }
+
+    Path statusFile() {
+        return directory.resolve("job.json");
+    }
+
+    Path resultFile() {
+        return directory.resolve("result." + format.getExtension());
+    }
+
+    ExportStatus getStatus() {
+        return status;
+    }
+
+    void start(int uniqueCells, int alreadyCompleted) {
+        this.status = ExportStatus.RUNNING;
+        this.uniqueCells = uniqueCells;
+        this.completedSites.set(alreadyCompleted);
+        this.failedSites.set(0);
+        this.error = null;
+    }
+
+    void siteCompleted(boolean failed) {
+        completedSites.incrementAndGet();
+        if (failed) {
+            failedSites.incrementAndGet();
+        }
+    }
+
+    void finish(ExportStatus status, String error) {
+        this.status = status;
+        this.error = error;
+        this.completedAt = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,382 @@
+package com.weathersolar.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.cache.ForecastCache;
+import com.weathersolar.cache.LocationKey;
+import com.weathersolar.config.ExportProperties;
+import com.weathersolar.exception.UpstreamOverloadedException;
+import com.weathersolar.limiter.TrafficClass;
+import com.weathersolar.service.WeatherService;
+import com.weathersolar.utils.SolarEnergyCalculator;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs bulk day-ahead exports. A job's site list, status and result live in their own directory under
+ * {@code weather.export.dir}, so the result is streamed to disk instead of held in memory and a job cut
+ * short by a restart picks up where its result file ends.
+ *
+ * <p>Sites are grouped by forecast cache cell and each cell is fetched once, as background traffic and
+ * paced to {@code weather.export.upstream-requests-per-second}; at most {@code parallelism} cells are in
+ * flight. Jobs run one after another so a large export cannot starve a smaller one of its budget.
+ */
+@Slf4j
+@Service
+public class ExportJobService {
+    /** Forecast length fetched per cell; index 1 of the result is the day-ahead value. */
+    static final int FORECAST_DAYS = 2;
+    private static final int DAY_AHEAD = 1;
+    private static final int CHECKPOINT_SITES = 1000;
+
+    private final WeatherService weatherService;
+    private final SolarEnergyCalculator solarEnergyCalculator;
+    private final ForecastCache forecastCache;
+    private final ExportProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Path baseDir;
+    private final ExportRateBudget rateBudget;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService jobRunner;
+    private final ExecutorService workers;
+
+    public ExportJobService(WeatherService weatherService, SolarEnergyCalculator solarEnergyCalculator,
+                            ForecastCache forecastCache, ExportProperties properties, ObjectMapper objectMapper) {
+        this.weatherService = weatherService;
+        this.solarEnergyCalculator = solarEnergyCalculator;
+        this.forecastCache = forecastCache;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.baseDir = Path.of(properties.getDir());
+        this.rateBudget = new ExportRateBudget(properties.getUpstreamRequestsPerSecond());
+        this.jobRunner = Executors.newSingleThreadExecutor(namedThreads("export-job"));
+        this.workers = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), namedThreads("export-worker"));
+    }
+
+    public ExportJobStatus submit(ExportRequest request) throws IOException {
+        List<ExportSite> sites = validate(request);
+        ExportFormat format = request.format() != null ? request.format() : ExportFormat.CSV;
+
+        String id = UUID.randomUUID().toString();
+        Path dir = baseDir.resolve(id);
+        Files.createDirectories(dir);
+        ExportJob job = new ExportJob(id, format, dir, System.currentTimeMillis(), sites.size(), ExportStatus.QUEUED);
+        writeAtomically(job.sitesFile(), out -> {
+            for (ExportSite site : sites) {
+                out.write(objectMapper.writeValueAsString(site));
+                out.write('\n');
+            }
+        });
+        persist(job);
+        jobs.put(id, job);
+        jobRunner.execute(() -> run(job));
+        log.info("Queued export job {} with {} sites as {}", id, sites.size(), format);
+        return job.snapshot();
+    }
+
+    public Optional<ExportJobStatus> status(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(ExportJob::snapshot);
+    }
+
+    /** The result file of a completed job; empty while the job is unknown or still running. */
+    public Optional<Path> result(String id) {
+        ExportJob job = jobs.get(id);
+        if (job == null || job.getStatus() != ExportStatus.COMPLETED) {
+            return Optional.empty();
+        }
+        return Optional.of(job.resultFile());
+    }
+
+    /** Re-queues a failed job; result rows already written are kept and sites that got an error row are retried. */
+    public Optional<ExportJobStatus> resume(String id) throws IOException {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (job.getStatus() == ExportStatus.FAILED) {
+            job.finish(ExportStatus.QUEUED, null);
+            persist(job);
+            jobRunner.execute(() -> run(job));
+        }
+        return Optional.of(job.snapshot());
+    }
+
+    /** Loads the jobs on disk and re-queues those a previous run did not finish. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (!Files.isDirectory(baseDir)) {
+            return;
+        }
+        try (Stream<Path> dirs = Files.list(baseDir)) {
+            dirs.map(dir -> dir.resolve("job.json"))
+                .filter(Files::isRegularFile)
+                .sorted()
+                .forEach(this::restore);
+        } catch (IOException e) {
+            log.error("Could not scan export directory {}: {}", baseDir, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobRunner.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void restore(Path statusFile) {
+        try {
+            ExportJobStatus status = objectMapper.readValue(statusFile.toFile(), ExportJobStatus.class);
+            ExportJob job = ExportJob.restore(status, statusFile.getParent());
+            if (jobs.putIfAbsent(job.getId(), job) == null && !status.status().isFinished()) {
+                log.info("Resuming export job {} at {}/{} sites", job.getId(), status.completedSites(), status.totalSites());
+                jobRunner.execute(() -> run(job));
+            }
+        } catch (IOException e) {
+            log.error("Skipping unreadable export job {}: {}", statusFile, e.getMessage());
+        }
+    }
+
+    void run(ExportJob job) {
+        try {
+            List<ExportSite> sites = readSites(job.sitesFile());
+            Set<String> done = ExportWriter.recover(job.resultFile(), job.getFormat(), objectMapper);
+
+            Map<LocationKey, List<ExportSite>> cells = new LinkedHashMap<>();
+            int alreadyDone = 0;
+            for (ExportSite site : sites) {
+                if (done.contains(site.id())) {
+                    alreadyDone++;
+                } else {
+                    cells.computeIfAbsent(forecastCache.locationKey(site.latitude(), site.longitude()),
+                        k -> new ArrayList<>()).add(site);
+                }
+            }
+            job.start(cells.size(), alreadyDone);
+            persist(job);
+
+            try (ExportWriter writer = ExportWriter.open(job.resultFile(), job.getFormat(), objectMapper)) {
+                runCells(job, cells, writer);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            job.finish(ExportStatus.COMPLETED, null);
+            log.info("Export job {} completed: {} sites, {} failed", job.getId(), job.snapshot().totalSites(),
+                job.snapshot().failedSites());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (IOException | RuntimeException e) {
+            log.error("Export job {} failed: {}", job.getId(), e.getMessage());
+            job.finish(ExportStatus.FAILED, e.getMessage());
+        }
+        try {
+            persist(job);
+        } catch (IOException e) {
+            log.error("Could not persist status of export job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private void runCells(ExportJob job, Map<LocationKey, List<ExportSite>> cells, ExportWriter writer)
+            throws InterruptedException, IOException {
+        int parallelism = Math.max(1, properties.getParallelism());
+        Semaphore slots = new Semaphore(parallelism);
+        AtomicInteger sinceCheckpoint = new AtomicInteger();
+        AtomicReference<Exception> cellFailure = new AtomicReference<>();
+
+        for (Map.Entry<LocationKey, List<ExportSite>> cell : cells.entrySet()) {
+            slots.acquire();
+            if (cellFailure.get() != null) {
+                slots.release();
+                break;
+            }
+            workers.execute(() -> {
+                try {
+                    processCell(job, cell.getKey(), cell.getValue(), writer);
+                    int sites = cell.getValue().size();
+                    // Exactly one worker sees the count cross the threshold and takes the checkpoint
+                    int before = sinceCheckpoint.getAndUpdate(
+                        count -> count + sites >= CHECKPOINT_SITES ? 0 : count + sites);
+                    if (before + sites >= CHECKPOINT_SITES) {
+                        persist(job);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    cellFailure.compareAndSet(null, e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    slots.release();
+                }
+            });
+        }
+        slots.acquire(parallelism);
+        Exception failure = cellFailure.get();
+        if (failure instanceof IOException e) {
+            throw e;
+        }
+        if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+    }
+
+    private void processCell(ExportJob job, LocationKey cell, List<ExportSite> sites, ExportWriter writer)
+            throws InterruptedException, IOException {
+        DailyWeather dayAhead;
+        try {
+            dayAhead = fetchDayAhead(cell);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (isInterruption(e)) {
+                // Shutting down: leave the cell out so the resumed job fetches it again.
+                throw new InterruptedException();
+            }
+            for (ExportSite site : sites) {
+                writer.write(ExportRow.failed(site, e.getMessage() != null ? e.getMessage() : e.toString()));
+                job.siteCompleted(true);
+            }
+            return;
+        }
+
+        double sunHours = Math.min(24, Math.max(0, dayAhead.getDaylightHours()));
+        for (ExportSite site : sites) {
+            double energy = site.capacityKw() != null
+                ? solarEnergyCalculator.calculateDailySolarEnergy(sunHours, site.capacityKw())
+                : solarEnergyCalculator.calculateDailySolarEnergy(sunHours);
+            writer.write(new ExportRow(site.id(), site.latitude(), site.longitude(), String.valueOf(dayAhead.getDate()),
+                energy, dayAhead.getMaxTemperature(), dayAhead.getMinTemperature(), dayAhead.getWeatherCode(), null));
+            job.siteCompleted(false);
+        }
+    }
+
+    private DailyWeather fetchDayAhead(LocationKey cell) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            rateBudget.acquire();
+            try {
+                List<DailyWeather> days = weatherService
+                    .getCachedForecast(cell.latitude(), cell.longitude(), FORECAST_DAYS, TrafficClass.BACKGROUND)
+                    .getForecast().getDailyForecasts();
+                if (days.isEmpty()) {
+                    throw new IllegalStateException("Empty forecast");
+                }
+                return days.get(Math.min(DAY_AHEAD, days.size() - 1));
+            } catch (UpstreamOverloadedException e) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    throw e;
+                }
+                TimeUnit.SECONDS.sleep(Math.max(1, e.getRetryAfterSeconds()));
+            }
+        }
+    }
+
+    private static boolean isInterruption(Throwable error) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<ExportSite> validate(ExportRequest request) {
+        if (request == null || request.sites() == null || request.sites().isEmpty()) {
+            throw new IllegalArgumentException("At least one site is required");
+        }
+        List<ExportSite> sites = request.sites();
+        if (sites.size() > properties.getMaxSites()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxSites() + " sites per job, got: " + sites.size());
+        }
+        Set<String> ids = new HashSet<>();
+        for (ExportSite site : sites) {
+            if (site.id() == null || site.id().isBlank()) {
+                throw new IllegalArgumentException("Every site needs an id");
+            }
+            if (!ids.add(site.id())) {
+                throw new IllegalArgumentException("Duplicate site id: " + site.id());
+            }
+            if (!(site.latitude() >= -90 && site.latitude() <= 90)) {
+                throw new IllegalArgumentException("Invalid latitude for site " + site.id());
+            }
+            if (!(site.longitude() >= -180 && site.longitude() <= 180)) {
+                throw new IllegalArgumentException("Invalid longitude for site " + site.id());
+            }
+            if (site.capacityKw() != null && !(site.capacityKw() > 0)) {
+                throw new IllegalArgumentException("Capacity must be positive for site " + site.id());
+            }
+        }
+        return sites;
+    }
+
+    private List<ExportSite> readSites(Path file) throws IOException {
+        List<ExportSite> sites = new ArrayList<>();
+        try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            for (String line : (Iterable<String>) lines::iterator) {
+                if (!line.isEmpty()) {
+                    sites.add(objectMapper.readValue(line, ExportSite.class));
+                }
+            }
+        }
+        return sites;
+    }
+
+    private void persist(ExportJob job) throws IOException {
+        synchronized (job) {
+            ExportJobStatus snapshot = job.snapshot();
+            writeAtomically(job.statusFile(), out -> out.write(objectMapper.writeValueAsString(snapshot)));
+        }
+    }
+
+    private static void writeAtomically(Path target, LineSink body) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            body.writeTo(out);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @FunctionalInterface
+    private interface LineSink {
+        void writeTo(BufferedWriter out) throws IOException;
+    }
+}
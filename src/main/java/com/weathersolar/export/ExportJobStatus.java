@@ -0,0 +1,19 @@
+package com.weathersolar.export;
+
+/**
+ * Snapshot of an export job as returned by the API and persisted next to the job's files. Times are
+ * epoch milliseconds; {@code completedAt} is 0 until the job finishes.
+ */
+public record ExportJobStatus(
+    String id,
+    ExportStatus status,
+    ExportFormat format,
+    int totalSites,
+    int uniqueCells,
+    int completedSites,
+    int failedSites,
+    long createdAt,
+    long completedAt,
+    String error
+) {
+}
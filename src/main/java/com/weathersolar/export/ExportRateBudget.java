@@ -0,0 +1,34 @@
+package com.weathersolar.export;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces upstream fetches of export jobs to a fixed rate. Each caller reserves the next free slot and
+ * sleeps until it comes up, so bursts are spread out instead of hitting the upstream all at once.
+ * A non-positive rate disables pacing.
+ */
+class ExportRateBudget {
+    private final long intervalNanos;
+    private long nextSlotNanos;
+
+    ExportRateBudget(double permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+        this.nextSlotNanos = System.nanoTime();
+    }
+
+    void acquire() throws InterruptedException {
+        if (intervalNanos == 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSlotNanos);
+            nextSlotNanos = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.weathersolar.export;
+
+import java.util.List;
+
+public record ExportRequest(List<ExportSite> sites, ExportFormat format) {
+}
@@ -0,0 +1,18 @@
+package com.weathersolar.export;
+
+/** One output row: the day-ahead estimate for a site, or the reason it could not be computed. */
+record ExportRow(
+    String siteId,
+    double latitude,
+    double longitude,
+    String date,
+    double solarEnergyKwh,
+    double maxTemperature,
+    double minTemperature,
+    int weatherCode,
+    String error
+) {
+    static ExportRow failed(ExportSite site, String error) {
+        return new ExportRow(site.id(), site.latitude(), site.longitude(), null, 0, 0, 0, 0, error);
+    }
+}
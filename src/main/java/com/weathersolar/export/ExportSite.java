@@ -0,0 +1,8 @@
+package com.weathersolar.export;
+
+/**
+ * One site of an export job. {@code capacityKw} is the installed peak power; when absent the configured
+ * default installation is assumed.
+ */
+public record ExportSite(String id, double latitude, double longitude, Double capacityKw) {
+}
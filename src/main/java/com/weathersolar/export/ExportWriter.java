@@ -0,0 +1,200 @@
+package com.weathersolar.export;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Appends result rows to a job's output file. Rows are written whole under a lock and flushed every
+ * {@value #FLUSH_EVERY} rows; whatever a crash leaves behind is at worst one torn line at the end,
+ * which {@link #recover} cuts off before the job resumes, along with the error rows of sites to retry.
+ */
+class ExportWriter implements Closeable {
+    static final String CSV_HEADER =
+        "site_id,latitude,longitude,date,solar_energy_kwh,max_temperature,min_temperature,weather_code,error";
+    private static final int FLUSH_EVERY = 256;
+
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter out;
+    private int unflushed;
+
+    private ExportWriter(ExportFormat format, ObjectMapper objectMapper, BufferedWriter out) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.out = out;
+    }
+
+    static ExportWriter open(Path file, ExportFormat format, ObjectMapper objectMapper) throws IOException {
+        boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+        BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (fresh && format == ExportFormat.CSV) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+        return new ExportWriter(format, objectMapper, out);
+    }
+
+    /**
+     * Truncates a torn trailing line, drops error rows so a resumed job retries those sites, and returns the
+     * ids of the sites whose results made it to disk.
+     */
+    static Set<String> recover(Path file, ExportFormat format, ObjectMapper objectMapper) throws IOException {
+        Set<String> done = new HashSet<>();
+        if (!Files.exists(file)) {
+            return done;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            long end = raf.length();
+            while (end > 0) {
+                raf.seek(end - 1);
+                if (raf.read() == '\n') {
+                    break;
+                }
+                end--;
+            }
+            raf.setLength(end);
+        }
+        List<String> kept = new ArrayList<>();
+        boolean dropped = false;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || (format == ExportFormat.CSV && line.equals(CSV_HEADER))) {
+                kept.add(line);
+                continue;
+            }
+            String siteId;
+            boolean failed;
+            if (format == ExportFormat.CSV) {
+                List<String> fields = csvFields(line);
+                siteId = fields.get(0);
+                failed = fields.size() > 8 && !fields.get(8).isEmpty();
+            } else {
+                JsonNode row = readRow(line, objectMapper);
+                siteId = row.path("site_id").asText();
+                failed = row.hasNonNull("error");
+            }
+            if (failed) {
+                dropped = true;
+            } else {
+                kept.add(line);
+                done.add(siteId);
+            }
+        }
+        if (dropped) {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, kept, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return done;
+    }
+
+    synchronized void write(ExportRow row) throws IOException {
+        if (format == ExportFormat.CSV) {
+            out.write(csv(row));
+        } else {
+            out.write(json(row));
+        }
+        out.write('\n');
+        if (++unflushed >= FLUSH_EVERY) {
+            out.flush();
+            unflushed = 0;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    private String csv(ExportRow row) {
+        StringBuilder sb = new StringBuilder(96);
+        sb.append(escape(row.siteId())).append(',')
+            .append(row.latitude()).append(',')
+            .append(row.longitude()).append(',');
+        if (row.error() == null) {
+            sb.append(row.date()).append(',')
+                .append(row.solarEnergyKwh()).append(',')
+                .append(row.maxTemperature()).append(',')
+                .append(row.minTemperature()).append(',')
+                .append(row.weatherCode()).append(',');
+        } else {
+            sb.append(",,,,,").append(escape(row.error()));
+        }
+        return sb.toString();
+    }
+
+    private String json(ExportRow row) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("site_id", row.siteId());
+        node.put("latitude", row.latitude());
+        node.put("longitude", row.longitude());
+        if (row.error() == null) {
+            node.put("date", row.date());
+            node.put("solar_energy_kwh", row.solarEnergyKwh());
+            node.put("max_temperature", row.maxTemperature());
+            node.put("min_temperature", row.minTemperature());
+            node.put("weather_code", row.weatherCode());
+        } else {
+            node.put("error", row.error());
+        }
+        return objectMapper.writeValueAsString(node);
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static List<String> csvFields(String line) {
+        List<String> fields = new ArrayList<>(9);
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    sb.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    sb.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        fields.add(sb.toString());
+        return fields;
+    }
+
+    private static JsonNode readRow(String line, ObjectMapper objectMapper) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt export row: " + line, e);
+        }
+    }
+}
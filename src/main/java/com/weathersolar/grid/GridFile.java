@@ -0,0 +1,253 @@
+package com.weathersolar.grid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only, memory-mapped view of a gridded forecast.
+ *
+ * <p>Layout (little endian): an 8 byte magic, the {@link GridSpec}, the daily and hourly variable
+ * names, then one float32 column per variable. Within a column the values of one grid point are
+ * contiguous ({@code point * steps + step}), so a location's series is a single sequential read.
+ * Absolute reads on the mapped buffer do not touch its position, so one instance is shared by all
+ * request threads.
+ */
+public final class GridFile {
+    private static final byte[] MAGIC = "WSGRID01".getBytes(StandardCharsets.US_ASCII);
+
+    private final Path path;
+    private final GridSpec spec;
+    private final ByteBuffer data;
+    private final Map<String, Integer> dailyOffsets;
+    private final Map<String, Integer> hourlyOffsets;
+
+    private GridFile(Path path, GridSpec spec, ByteBuffer data, Map<String, Integer> dailyOffsets,
+            Map<String, Integer> hourlyOffsets) {
+        this.path = path;
+        this.spec = spec;
+        this.data = data;
+        this.dailyOffsets = dailyOffsets;
+        this.hourlyOffsets = hourlyOffsets;
+    }
+
+    public static GridFile open(Path path) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Grid file too large to map: " + path);
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        data.order(ByteOrder.LITTLE_ENDIAN);
+
+        byte[] magic = new byte[MAGIC.length];
+        data.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a grid file: " + path);
+        }
+        GridSpec spec = new GridSpec(data.getInt(), data.getInt(), data.getDouble(), data.getDouble(),
+            data.getDouble(), data.getDouble(), data.getInt(), LocalDate.ofEpochDay(data.getLong()),
+            data.getInt(), data.getLong(), data.getInt());
+        List<String> daily = readNames(data);
+        List<String> hourly = readNames(data);
+
+        long offset = align(data.position());
+        Map<String, Integer> dailyOffsets = new HashMap<>();
+        for (String name : daily) {
+            dailyOffsets.put(name, (int) offset);
+            offset += (long) spec.points() * spec.days() * Float.BYTES;
+        }
+        Map<String, Integer> hourlyOffsets = new HashMap<>();
+        for (String name : hourly) {
+            hourlyOffsets.put(name, (int) offset);
+            offset += (long) spec.points() * spec.hours() * Float.BYTES;
+        }
+        if (offset > data.capacity()) {
+            throw new IOException("Truncated grid file: " + path);
+        }
+        return new GridFile(path, spec, data, Map.copyOf(dailyOffsets), Map.copyOf(hourlyOffsets));
+    }
+
+    /**
+     * Writes a grid. Column arrays are indexed {@code point * steps + step}; missing values are NaN.
+     */
+    public static void write(Path path, GridSpec spec, Map<String, float[]> daily, Map<String, float[]> hourly)
+            throws IOException {
+        int namesLength = 0;
+        for (String name : daily.keySet()) {
+            namesLength += 2 + name.getBytes(StandardCharsets.UTF_8).length;
+        }
+        for (String name : hourly.keySet()) {
+            namesLength += 2 + name.getBytes(StandardCharsets.UTF_8).length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(align(128 + namesLength)).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC)
+            .putInt(spec.rows()).putInt(spec.cols())
+            .putDouble(spec.latitude0()).putDouble(spec.longitude0())
+            .putDouble(spec.latitudeStep()).putDouble(spec.longitudeStep())
+            .putInt(spec.utcOffsetSeconds())
+            .putLong(spec.firstDay().toEpochDay()).putInt(spec.days())
+            .putLong(spec.firstHourEpochSecond()).putInt(spec.hours());
+        writeNames(header, daily.keySet());
+        writeNames(header, hourly.keySet());
+        header.position(align(header.position()));
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, header);
+            for (float[] column : daily.values()) {
+                writeColumn(channel, column, spec.points() * spec.days());
+            }
+            for (float[] column : hourly.values()) {
+                writeColumn(channel, column, spec.points() * spec.hours());
+            }
+            channel.force(false);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public GridSpec spec() {
+        return spec;
+    }
+
+    public boolean hasDaily(String variable) {
+        return dailyOffsets.containsKey(variable);
+    }
+
+    public boolean hasHourly(String variable) {
+        return hourlyOffsets.containsKey(variable);
+    }
+
+    /**
+     * Daily value at a coordinate, bilinearly interpolated between the four surrounding points or taken
+     * from the nearest one. Cells with a missing corner fall back to the nearest point.
+     */
+    public double daily(String variable, double latitude, double longitude, int day, boolean bilinear) {
+        return sample(dailyOffsets.get(variable), spec.days(), day, latitude, longitude, bilinear);
+    }
+
+    public double hourly(String variable, double latitude, double longitude, int hour, boolean bilinear) {
+        return sample(hourlyOffsets.get(variable), spec.hours(), hour, latitude, longitude, bilinear);
+    }
+
+    private double sample(Integer column, int steps, int step, double latitude, double longitude, boolean bilinear) {
+        if (column == null || step < 0 || step >= steps) {
+            return Double.NaN;
+        }
+        double row = clamp((latitude - spec.latitude0()) / spec.latitudeStep(), spec.rows() - 1);
+        double col = clamp((longitude - spec.longitude0()) / spec.longitudeStep(), spec.cols() - 1);
+        if (!bilinear) {
+            return value(column, steps, step, (int) Math.round(row), (int) Math.round(col));
+        }
+
+        int row0 = (int) Math.floor(row);
+        int col0 = (int) Math.floor(col);
+        int row1 = Math.min(row0 + 1, spec.rows() - 1);
+        int col1 = Math.min(col0 + 1, spec.cols() - 1);
+        double rowWeight = row - row0;
+        double colWeight = col - col0;
+
+        double south = lerp(value(column, steps, step, row0, col0), value(column, steps, step, row0, col1), colWeight);
+        double north = lerp(value(column, steps, step, row1, col0), value(column, steps, step, row1, col1), colWeight);
+        double result = lerp(south, north, rowWeight);
+        return Double.isNaN(result)
+            ? value(column, steps, step, (int) Math.round(row), (int) Math.round(col))
+            : result;
+    }
+
+    private double value(int column, int steps, int step, int row, int col) {
+        int point = row * spec.cols() + col;
+        return data.getFloat(column + (point * steps + step) * Float.BYTES);
+    }
+
+    private static double lerp(double a, double b, double weight) {
+        if (weight == 0) {
+            return a;
+        }
+        return a + (b - a) * weight;
+    }
+
+    private static double clamp(double value, int max) {
+        return Math.max(0, Math.min(max, value));
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static int align(int position) {
+        return (position + 7) & ~7;
+    }
+
+    private static List<String> readNames(ByteBuffer buffer) {
+        int count = buffer.getShort();
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            names.add(new String(name, StandardCharsets.UTF_8));
+        }
+        return names;
+    }
+
+    private static void writeNames(ByteBuffer buffer, Iterable<String> names) {
+        int countPosition = buffer.position();
+        buffer.putShort((short) 0);
+        short count = 0;
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            buffer.putShort((short) bytes.length).put(bytes);
+            count++;
+        }
+        buffer.putShort(countPosition, count);
+    }
+
+    private static void writeColumn(FileChannel channel, float[] column, int expected) throws IOException {
+        if (column.length != expected) {
+            throw new IllegalArgumentException("Column has " + column.length + " values, expected " + expected);
+        }
+        ByteBuffer chunk = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        for (float value : column) {
+            if (!chunk.hasRemaining()) {
+                chunk.flip();
+                writeFully(channel, chunk);
+                chunk.clear();
+            }
+            chunk.putFloat(value);
+        }
+        chunk.flip();
+        writeFully(channel, chunk);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /** {@link Files#deleteIfExists} that never throws; an existing mapping keeps the data readable. */
+    static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Another process may still hold it on platforms that refuse to delete mapped files
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.weathersolar.grid;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weathersolar.config.GridProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the current memory-mapped grid. Each refresh ingests the configured dump into a new file and
+ * swaps it in with a single volatile write, so readers never see a half-built grid and never block.
+ * The newest grid on disk is mapped at start-up, before the first ingest has run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.grid", name = "enabled", havingValue = "true")
+public class GridForecastStore {
+    private static final String FILE_PREFIX = "grid-";
+    private static final String FILE_SUFFIX = ".bin";
+
+    private final GridProperties properties;
+    private final GridIngestor ingestor;
+    private final Path dataDir;
+    private volatile GridFile current;
+
+    public GridForecastStore(GridProperties properties, ObjectMapper objectMapper) throws IOException {
+        this.properties = properties;
+        this.ingestor = new GridIngestor(objectMapper);
+        this.dataDir = Path.of(properties.getDataDir());
+        Files.createDirectories(dataDir);
+        this.current = openLatest();
+    }
+
+    public GridFile current() {
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${weather.grid.refresh-interval:PT1H}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (IOException | RuntimeException e) {
+            log.error("Grid ingest from {} failed, keeping previous grid: {}", properties.getSourcePath(), e.getMessage());
+        }
+    }
+
+    public synchronized GridFile refresh() throws IOException {
+        Path source = Path.of(properties.getSourcePath());
+        if (!Files.isRegularFile(source)) {
+            throw new IOException("Grid dump not found: " + source);
+        }
+
+        Path target = dataDir.resolve(FILE_PREFIX + System.currentTimeMillis() + FILE_SUFFIX);
+        Path partial = dataDir.resolve(target.getFileName() + ".partial");
+        long start = System.nanoTime();
+        GridSpec spec = ingestor.ingest(source, partial);
+        Files.move(partial, target);
+
+        GridFile previous = current;
+        current = GridFile.open(target);
+        if (previous != null) {
+            GridFile.deleteQuietly(previous.path());
+        }
+        log.info("Ingested {}x{} grid with {} days from {} in {} ms", spec.rows(), spec.cols(), spec.days(),
+            source, (System.nanoTime() - start) / 1_000_000);
+        return current;
+    }
+
+    private GridFile openLatest() {
+        try (Stream<Path> files = Files.list(dataDir)) {
+            Path latest = files
+                .filter(file -> file.getFileName().toString().startsWith(FILE_PREFIX))
+                .filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX))
+                .max(Path::compareTo)
+                .orElse(null);
+            return latest == null ? null : GridFile.open(latest);
+        } catch (IOException e) {
+            log.warn("Could not map existing grid in {}: {}", dataDir, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.weathersolar.grid;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Converts a regional bulk dump into a {@link GridFile}. The dump is what Open-Meteo returns for a
+ * multi-coordinate request: a JSON array with one forecast object per grid point, each carrying its
+ * {@code latitude}/{@code longitude}, a {@code daily} block with ISO dates and an {@code hourly} block.
+ * The points must lie on a regular grid; missing cells are stored as NaN.
+ */
+public class GridIngestor {
+    static final List<String> DAILY_VARIABLES = List.of("weathercode", "temperature_2m_max", "temperature_2m_min",
+        "sunrise", "sunset", "daylight_duration", "precipitation_hours");
+    private static final double COORDINATE_SCALE = 10_000;
+
+    private final ObjectMapper objectMapper;
+
+    public GridIngestor(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public GridSpec ingest(Path source, Path target) throws IOException {
+        List<JsonNode> points = readPoints(source);
+        if (points.isEmpty()) {
+            throw new IOException("Grid dump contains no points: " + source);
+        }
+
+        double[] latitudes = axis(points, "latitude");
+        double[] longitudes = axis(points, "longitude");
+        JsonNode first = points.get(0);
+        JsonNode firstDaily = first.path("daily");
+        JsonNode firstHourly = first.path("hourly");
+        int utcOffsetSeconds = first.path("utc_offset_seconds").asInt(0);
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds(utcOffsetSeconds);
+        LocalDate firstDay = LocalDate.parse(firstDaily.path("time").get(0).asText());
+        int days = firstDaily.path("time").size();
+        int hours = firstHourly.path("time").size();
+
+        GridSpec spec = new GridSpec(latitudes.length, longitudes.length, latitudes[0], longitudes[0],
+            step(latitudes), step(longitudes), utcOffsetSeconds, firstDay, days,
+            firstDay.atStartOfDay().toEpochSecond(offset), hours);
+
+        Map<String, float[]> daily = new LinkedHashMap<>();
+        for (String variable : DAILY_VARIABLES) {
+            if (firstDaily.has(variable)) {
+                daily.put(variable, nanColumn(spec.points() * days));
+            }
+        }
+        Map<String, float[]> hourly = new LinkedHashMap<>();
+        for (Iterator<String> names = firstHourly.fieldNames(); names.hasNext();) {
+            String variable = names.next();
+            if (!"time".equals(variable)) {
+                hourly.put(variable, nanColumn(spec.points() * hours));
+            }
+        }
+
+        for (JsonNode point : points) {
+            int row = index(latitudes, point.path("latitude").asDouble());
+            int col = index(longitudes, point.path("longitude").asDouble());
+            int base = row * spec.cols() + col;
+            JsonNode pointDaily = point.path("daily");
+            JsonNode dates = pointDaily.path("time");
+            for (Map.Entry<String, float[]> column : daily.entrySet()) {
+                JsonNode values = pointDaily.path(column.getKey());
+                for (int day = 0; day < Math.min(days, values.size()); day++) {
+                    column.getValue()[base * days + day] = dailyValue(column.getKey(), values.get(day), dates.get(day));
+                }
+            }
+            JsonNode pointHourly = point.path("hourly");
+            for (Map.Entry<String, float[]> column : hourly.entrySet()) {
+                JsonNode values = pointHourly.path(column.getKey());
+                for (int hour = 0; hour < Math.min(hours, values.size()); hour++) {
+                    JsonNode value = values.get(hour);
+                    column.getValue()[base * hours + hour] = value.isNull() ? Float.NaN : (float) value.asDouble();
+                }
+            }
+        }
+
+        GridFile.write(target, spec, daily, hourly);
+        return spec;
+    }
+
+    private List<JsonNode> readPoints(Path source) throws IOException {
+        List<JsonNode> points = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(source);
+                JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Grid dump must be a JSON array: " + source);
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                points.add(objectMapper.readTree(parser));
+            }
+        }
+        return points;
+    }
+
+    private static float dailyValue(String variable, JsonNode value, JsonNode date) {
+        if (value == null || value.isNull()) {
+            return Float.NaN;
+        }
+        if ("sunrise".equals(variable) || "sunset".equals(variable)) {
+            // Seconds after local midnight; the date is implied by the column position
+            LocalDateTime time = LocalDateTime.parse(value.asText());
+            LocalDate day = date == null ? time.toLocalDate() : LocalDate.parse(date.asText());
+            return (float) (time.toLocalTime().toSecondOfDay() + (time.toLocalDate().toEpochDay() - day.toEpochDay()) * 86_400);
+        }
+        return (float) value.asDouble();
+    }
+
+    private static double[] axis(List<JsonNode> points, String field) {
+        TreeSet<Long> values = new TreeSet<>();
+        for (JsonNode point : points) {
+            values.add(Math.round(point.path(field).asDouble() * COORDINATE_SCALE));
+        }
+        return values.stream().mapToDouble(value -> value / COORDINATE_SCALE).toArray();
+    }
+
+    private static double step(double[] axis) throws IOException {
+        if (axis.length < 2) {
+            return 1.0;
+        }
+        double step = (axis[axis.length - 1] - axis[0]) / (axis.length - 1);
+        for (int i = 1; i < axis.length; i++) {
+            if (Math.abs(axis[i] - axis[i - 1] - step) > step * 0.01) {
+                throw new IOException("Grid points are not evenly spaced near " + axis[i]);
+            }
+        }
+        return step;
+    }
+
+    private static int index(double[] axis, double value) {
+        return Arrays.binarySearch(axis, Math.round(value * COORDINATE_SCALE) / COORDINATE_SCALE);
+    }
+
+    private static float[] nanColumn(int size) {
+        float[] column = new float[size];
+        Arrays.fill(column, Float.NaN);
+        return column;
+    }
+}
@@ -0,0 +1,33 @@
+package com.weathersolar.grid;
+
+import java.time.LocalDate;
+
+/**
+ * Geometry and time axes of a regular latitude/longitude grid. Points are numbered row-major,
+ * {@code row * cols + col}, with rows running north from {@code latitude0} and columns east from
+ * {@code longitude0}. Hourly steps start at local midnight of {@code firstDay}.
+ */
+public record GridSpec(
+    int rows,
+    int cols,
+    double latitude0,
+    double longitude0,
+    double latitudeStep,
+    double longitudeStep,
+    int utcOffsetSeconds,
+    LocalDate firstDay,
+    int days,
+    long firstHourEpochSecond,
+    int hours
+) {
+
+    public int points() {
+        return rows * cols;
+    }
+
+    public boolean covers(double latitude, double longitude) {
+        double row = (latitude - latitude0) / latitudeStep;
+        double col = (longitude - longitude0) / longitudeStep;
+        return row >= 0 && row <= rows - 1 && col >= 0 && col <= cols - 1;
+    }
+}
@@ -0,0 +1,217 @@
+package com.weathersolar.grid;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.weathersolar.Model.HourlySeries;
+import com.weathersolar.client.WeatherProvider;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Answers in-region requests from the memory-mapped grid and passes everything else to the remote
+ * provider. Grid answers are built synchronously from the mapping, in the same shape Open-Meteo would
+ * return, so the request path does no network I/O for covered coordinates.
+ */
+public class GridWeatherProvider implements WeatherProvider {
+    private static final String PRESSURE = "pressure_msl";
+
+    private final GridForecastStore store;
+    private final WeatherProvider delegate;
+    private final ObjectMapper objectMapper;
+    private final boolean bilinear;
+    private final Clock clock;
+
+    public GridWeatherProvider(GridForecastStore store, WeatherProvider delegate, ObjectMapper objectMapper,
+            boolean bilinear) {
+        this(store, delegate, objectMapper, bilinear, Clock.systemUTC());
+    }
+
+    GridWeatherProvider(GridForecastStore store, WeatherProvider delegate, ObjectMapper objectMapper,
+            boolean bilinear, Clock clock) {
+        this.store = store;
+        this.delegate = delegate;
+        this.objectMapper = objectMapper;
+        this.bilinear = bilinear;
+        this.clock = clock;
+    }
+
+    @Override
+    public String name() {
+        return "grid+" + delegate.name();
+    }
+
+    @Override
+    public boolean isLocal(double latitude, double longitude, int days) {
+        return servesDaily(store.current(), latitude, longitude, days);
+    }
+
+    @Override
+    public boolean isPressureLocal(double latitude, double longitude, int days) {
+        return servesPressure(store.current(), latitude, longitude, days);
+    }
+
+    @Override
+    public boolean isPressureLocal(double latitude, double longitude, String startHour, String endHour) {
+        return servesPressure(store.current(), latitude, longitude, startHour, endHour);
+    }
+
+    @Override
+    public Mono<JsonNode> getWeatherForecast(double latitude, double longitude, int days) {
+        GridFile grid = store.current();
+        if (!servesDaily(grid, latitude, longitude, days)) {
+            return delegate.getWeatherForecast(latitude, longitude, days);
+        }
+        return Mono.fromSupplier(() -> daily(grid, latitude, longitude, firstDay(grid, days), days));
+    }
+
+    @Override
+    public Mono<byte[]> getPressureData(double latitude, double longitude, int days) {
+        GridFile grid = store.current();
+        if (!servesPressure(grid, latitude, longitude, days)) {
+            return delegate.getPressureData(latitude, longitude, days);
+        }
+        int firstHour = firstDay(grid, days) * 24;
+        return Mono.fromCallable(() -> pressure(grid, latitude, longitude, firstHour, firstHour + days * 24 - 1));
+    }
+
+    @Override
+    public Mono<byte[]> getPressureData(double latitude, double longitude, String startHour, String endHour) {
+        GridFile grid = store.current();
+        if (!servesPressure(grid, latitude, longitude, startHour, endHour)) {
+            return delegate.getPressureData(latitude, longitude, startHour, endHour);
+        }
+        int first = hourIndex(grid, startHour);
+        int last = hourIndex(grid, endHour);
+        return Mono.fromCallable(() -> pressure(grid, latitude, longitude, first, last));
+    }
+
+    @Override
+    public Mono<HourlySeries> getHourlyForecast(double latitude, double longitude, int days, List<String> variables) {
+        GridFile grid = store.current();
+        if (grid == null || !grid.spec().covers(latitude, longitude) || firstDay(grid, days) < 0
+                || !variables.stream().allMatch(grid::hasHourly)) {
+            return delegate.getHourlyForecast(latitude, longitude, days, variables);
+        }
+        return Mono.fromSupplier(() -> hourly(grid, latitude, longitude, firstDay(grid, days) * 24, days * 24, variables));
+    }
+
+    /** The grid holds hourly fields in local days only, so batches always go to the delegate. */
+    @Override
+    public Mono<List<JsonNode>> getDailyBatch(double[] latitudes, double[] longitudes, int days,
+            List<String> variables) {
+        return delegate.getDailyBatch(latitudes, longitudes, days, variables);
+    }
+
+    // The isLocal checks and the request paths share these, so a call reported local never goes remote
+    private boolean servesDaily(GridFile grid, double latitude, double longitude, int days) {
+        return grid != null && grid.spec().covers(latitude, longitude) && firstDay(grid, days) >= 0;
+    }
+
+    private boolean servesPressure(GridFile grid, double latitude, double longitude, int days) {
+        return servesDaily(grid, latitude, longitude, days) && grid.hasHourly(PRESSURE);
+    }
+
+    private static boolean servesPressure(GridFile grid, double latitude, double longitude, String startHour,
+            String endHour) {
+        if (grid == null || !grid.hasHourly(PRESSURE) || !grid.spec().covers(latitude, longitude)) {
+            return false;
+        }
+        int first = hourIndex(grid, startHour);
+        int last = hourIndex(grid, endHour);
+        return first >= 0 && last < grid.spec().hours() && first <= last;
+    }
+
+    /** Index of today's local date in the grid, or -1 when the grid does not hold {@code days} days from today. */
+    private int firstDay(GridFile grid, int days) {
+        GridSpec spec = grid.spec();
+        LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.ofTotalSeconds(spec.utcOffsetSeconds())));
+        long first = today.toEpochDay() - spec.firstDay().toEpochDay();
+        return first >= 0 && first + days <= spec.days() ? (int) first : -1;
+    }
+
+    private static int hourIndex(GridFile grid, String localHour) {
+        GridSpec spec = grid.spec();
+        long epochSecond = LocalDateTime.parse(localHour).toEpochSecond(ZoneOffset.ofTotalSeconds(spec.utcOffsetSeconds()));
+        long index = Math.floorDiv(epochSecond - spec.firstHourEpochSecond(), 3600);
+        return index < 0 || index > Integer.MAX_VALUE ? -1 : (int) index;
+    }
+
+    private JsonNode daily(GridFile grid, double latitude, double longitude, int firstDay, int days) {
+        GridSpec spec = grid.spec();
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("latitude", latitude);
+        root.put("longitude", longitude);
+        root.put("utc_offset_seconds", spec.utcOffsetSeconds());
+        ObjectNode daily = root.putObject("daily");
+        ArrayNode time = daily.putArray("time");
+        for (int day = firstDay; day < firstDay + days; day++) {
+            time.add(spec.firstDay().plusDays(day).toString());
+        }
+
+        for (String variable : GridIngestor.DAILY_VARIABLES) {
+            if (!grid.hasDaily(variable)) {
+                continue;
+            }
+            ArrayNode values = daily.putArray(variable);
+            for (int day = firstDay; day < firstDay + days; day++) {
+                double value = grid.daily(variable, latitude, longitude, day, bilinear && !"weathercode".equals(variable));
+                if (Double.isNaN(value)) {
+                    values.addNull();
+                } else if ("weathercode".equals(variable)) {
+                    values.add((int) value);
+                } else if ("sunrise".equals(variable) || "sunset".equals(variable)) {
+                    values.add(spec.firstDay().plusDays(day).atStartOfDay()
+                        .plusSeconds(Math.round(value))
+                        .withSecond(0)
+                        .toString());
+                } else {
+                    values.add(value);
+                }
+            }
+        }
+        return root;
+    }
+
+    private byte[] pressure(GridFile grid, double latitude, double longitude, int firstHour, int lastHour)
+            throws JsonProcessingException {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("utc_offset_seconds", grid.spec().utcOffsetSeconds());
+        ObjectNode hourly = root.putObject("hourly");
+        ArrayNode time = hourly.putArray("time");
+        ArrayNode values = hourly.putArray(PRESSURE);
+        for (int hour = firstHour; hour <= lastHour; hour++) {
+            time.add(grid.spec().firstHourEpochSecond() + hour * 3600L);
+            double value = grid.hourly(PRESSURE, latitude, longitude, hour, bilinear);
+            if (Double.isNaN(value)) {
+                values.addNull();
+            } else {
+                values.add(value);
+            }
+        }
+        return objectMapper.writeValueAsBytes(root);
+    }
+
+    private HourlySeries hourly(GridFile grid, double latitude, double longitude, int firstHour, int hours,
+            List<String> variables) {
+        long[] time = new long[hours];
+        double[][] values = new double[variables.size()][hours];
+        for (int i = 0; i < hours; i++) {
+            time[i] = grid.spec().firstHourEpochSecond() + (firstHour + i) * 3600L;
+        }
+        for (int v = 0; v < variables.size(); v++) {
+            for (int i = 0; i < hours; i++) {
+                values[v][i] = grid.hourly(variables.get(v), latitude, longitude, firstHour + i, bilinear);
+            }
+        }
+        return new HourlySeries(grid.spec().utcOffsetSeconds(), time, List.copyOf(variables), values);
+    }
+}
@@ -0,0 +1,101 @@
+package com.weathersolar.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.weathersolar.config.LimiterProperties;
+
+/**
+ * Concurrency limit sized from observed latency, in the spirit of the gradient limiter: a long-term
+ * exponential average of the round trip time is compared with each new sample. While samples stay
+ * within {@code rttTolerance} of the average the limit grows by roughly its square root; when latency
+ * climbs the gradient drops below one and the limit shrinks proportionally. Timeouts and upstream
+ * overload responses cut the limit multiplicatively (AIMD).
+ *
+ * <p>Acquiring a slot is a single CAS on the in-flight counter; only samples take the monitor.
+ */
+public class AdaptiveLimit {
+    private static final double LONG_RTT_WEIGHT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveLimit(LimiterProperties.Bulkhead properties) {
+        this.minLimit = Math.max(1, properties.getMinLimit());
+        this.maxLimit = Math.max(minLimit, properties.getMaxLimit());
+        this.rttTolerance = Math.max(1.0, properties.getRttTolerance());
+        this.smoothing = properties.getSmoothing();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.estimatedLimit = Math.min(maxLimit, Math.max(minLimit, properties.getInitialLimit()));
+        this.limit = (int) estimatedLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Releases a slot whose call completed normally after {@code rttNanos}. */
+    public void onSuccess(long rttNanos) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (longRttNanos == 0) {
+                longRttNanos = rttNanos;
+            } else {
+                longRttNanos += (rttNanos - longRttNanos) * LONG_RTT_WEIGHT;
+            }
+            // Let the baseline recover after a sustained slowdown instead of treating it as the new normal
+            if (longRttNanos > 2.0 * rttNanos) {
+                longRttNanos *= 0.95;
+            }
+            // Without demand there is no evidence the upstream could take more
+            if (inFlightAtRelease < estimatedLimit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / Math.max(1, rttNanos)));
+            double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            update(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+        }
+    }
+
+    /** Releases a slot whose call timed out or was refused by an overloaded upstream. */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            update(estimatedLimit * backoffRatio);
+        }
+    }
+
+    /** Releases a slot without taking a sample, e.g. for client errors that say nothing about load. */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,72 @@
+package com.weathersolar.limiter;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.weathersolar.cluster.ClusterSecret;
+import com.weathersolar.cluster.PeerForwarder;
+import com.weathersolar.config.ClusterProperties;
+import com.weathersolar.config.RateLimitProperties;
+import com.weathersolar.exception.RateLimitExceededException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admission control in front of the API controllers. Clients are identified by API key when they send
+ * one of the configured keys, otherwise by remote address, so inventing keys does not buy new buckets.
+ * {@code X-Forwarded-For} is only honoured when trusted, and then only the entry appended by the outermost
+ * trusted proxy, counted from the right: entries further left are whatever the client sent. Left untrusted,
+ * all clients behind a reverse proxy share the proxy's bucket. Cluster members forwarding misses with
+ * the shared secret are not limited here: their fan-in is every client's traffic, already admitted once on
+ * the node that received it.
+ */
+@Component
+public class ClientRateLimitInterceptor implements HandlerInterceptor {
+    private final ClientRateLimiter rateLimiter;
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+    private final boolean trustForwardedFor;
+    private final int trustedProxyHops;
+    private final ClusterProperties clusterProperties;
+
+    public ClientRateLimitInterceptor(ClientRateLimiter rateLimiter, RateLimitProperties properties,
+            ClusterProperties clusterProperties) {
+        this.rateLimiter = rateLimiter;
+        this.apiKeyHeader = properties.getApiKeyHeader();
+        this.apiKeys = Set.copyOf(properties.getApiKeys());
+        this.trustForwardedFor = properties.isTrustForwardedFor();
+        this.trustedProxyHops = Math.max(1, properties.getTrustedProxyHops());
+        this.clusterProperties = clusterProperties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (ClusterSecret.matches(clusterProperties, request.getHeader(PeerForwarder.SECRET_HEADER))) {
+            return true;
+        }
+        long waitNanos = rateLimiter.tryAcquire(clientId(request));
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+        }
+        return true;
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                String[] hops = forwardedFor.split(",");
+                return "ip:" + hops[Math.max(0, hops.length - trustedProxyHops)].trim();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,132 @@
+package com.weathersolar.limiter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.weathersolar.config.RateLimitProperties;
+
+/**
+ * Per-client token buckets in a fixed-size, lock-free table.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the theoretical arrival time of the next
+ * request (the GCRA formulation of a token bucket), so admitting a request is one CAS. The table is
+ * split into stripes of {@value #STRIPE_WIDTH} slots; a client hashes to one stripe and is looked up
+ * by a short linear scan. When its stripe is full, a new client takes over the slot whose bucket was
+ * charged least recently - a bucket that has refilled completely carries no state worth keeping, so
+ * idle clients are evicted for free and memory never grows past {@code tableSize} buckets.
+ */
+@Component
+public class ClientRateLimiter {
+    private static final int STRIPE_WIDTH = 8;
+    private static final int MAX_INSERT_ATTEMPTS = 4;
+
+    private final AtomicReferenceArray<Bucket> slots;
+    private final int stripeMask;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public ClientRateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    ClientRateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        int tableSize = properties.getTableSize();
+        int size = tableSize <= STRIPE_WIDTH ? STRIPE_WIDTH : Integer.highestOneBit(tableSize - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.stripeMask = (size - 1) & ~(STRIPE_WIDTH - 1);
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / properties.getRefillPerSecond()));
+        this.burstNanos = emissionIntervalNanos * Math.max(1, properties.getCapacity());
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one token from the client's bucket.
+     *
+     * @return 0 when the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String clientId) {
+        long now = nanoClock.getAsLong();
+        int hash = spread(clientId.hashCode());
+        int stripe = hash & stripeMask;
+
+        for (int attempt = 0; attempt < MAX_INSERT_ATTEMPTS; attempt++) {
+            int victim = -1;
+            Bucket victimBucket = null;
+            for (int i = 0; i < STRIPE_WIDTH; i++) {
+                int index = stripe + i;
+                Bucket bucket = slots.get(index);
+                if (bucket == null) {
+                    victim = index;
+                    victimBucket = null;
+                    break;
+                }
+                if (bucket.hash == hash && bucket.clientId.equals(clientId)) {
+                    return bucket.acquire(now);
+                }
+                if (victim < 0 || bucket.lastCharged() - victimBucket.lastCharged() < 0) {
+                    victim = index;
+                    victimBucket = bucket;
+                }
+            }
+
+            Bucket fresh = new Bucket(clientId, hash, now);
+            if (slots.compareAndSet(victim, victimBucket, fresh)) {
+                return fresh.acquire(now);
+            }
+            // Lost the race for the slot; it may now hold this very client, so look again
+        }
+        // Stripe is churning under contention; admit rather than spin on behalf of a client we cannot track
+        return 0;
+    }
+
+    /** Number of occupied slots; bounded by the table size. */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    }
+
+    private final class Bucket {
+        private final String clientId;
+        private final int hash;
+        private final AtomicLong theoreticalArrival;
+
+        private Bucket(String clientId, int hash, long now) {
+            this.clientId = clientId;
+            this.hash = hash;
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        private long acquire(long now) {
+            while (true) {
+                long arrival = theoreticalArrival.get();
+                long next = (arrival - now < 0 ? now : arrival) + emissionIntervalNanos;
+                long wait = next - burstNanos - now;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (theoreticalArrival.compareAndSet(arrival, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        private long lastCharged() {
+            return theoreticalArrival.get();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.weathersolar.limiter;
+
+/**
+ * Bulkhead an upstream call belongs to. Interactive calls serve an HTTP request that is waiting for
+ * the answer; background calls (bulk work, prefetching) get their own, smaller limit so they can never
+ * take capacity away from interactive traffic.
+ */
+public enum TrafficClass {
+    INTERACTIVE,
+    BACKGROUND
+}
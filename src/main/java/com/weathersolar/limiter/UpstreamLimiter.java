@@ -0,0 +1,158 @@
+package com.weathersolar.limiter;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.weathersolar.config.LimiterProperties;
+import com.weathersolar.exception.UpstreamOverloadedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Guards outbound Open-Meteo calls with one {@link AdaptiveLimit} per {@link TrafficClass}. A call that
+ * finds its bulkhead full is rejected immediately with {@link UpstreamOverloadedException} instead of
+ * queueing behind calls that are already waiting on a slow upstream.
+ */
+@Slf4j
+@Component
+public class UpstreamLimiter {
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final Map<TrafficClass, AdaptiveLimit> limits = new EnumMap<>(TrafficClass.class);
+    private final Map<TrafficClass, Counter> rejections = new EnumMap<>(TrafficClass.class);
+    private final ThreadLocal<TrafficClass> admitted = new ThreadLocal<>();
+
+    public UpstreamLimiter(LimiterProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.retryAfterSeconds = Math.max(1, properties.getRetryAfter().toSeconds());
+        limits.put(TrafficClass.INTERACTIVE, new AdaptiveLimit(properties.getInteractive()));
+        limits.put(TrafficClass.BACKGROUND, new AdaptiveLimit(properties.getBackground()));
+
+        limits.forEach((trafficClass, limit) -> {
+            String bulkhead = trafficClass.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("weather.upstream.limit", limit, AdaptiveLimit::getLimit)
+                .tag("bulkhead", bulkhead)
+                .register(meterRegistry);
+            Gauge.builder("weather.upstream.inflight", limit, AdaptiveLimit::getInFlight)
+                .tag("bulkhead", bulkhead)
+                .register(meterRegistry);
+            rejections.put(trafficClass, meterRegistry.counter("weather.upstream.rejected", "bulkhead", bulkhead));
+        });
+    }
+
+    public <T> T call(TrafficClass trafficClass, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        AdaptiveLimit limit = limits.get(trafficClass);
+        if (!limit.tryAcquire()) {
+            rejections.get(trafficClass).increment();
+            throw new UpstreamOverloadedException(trafficClass, limit.getLimit(), retryAfterSeconds);
+        }
+
+        long start = System.nanoTime();
+        TrafficClass outer = admitted.get();
+        admitted.set(trafficClass);
+        Throwable failure = null;
+        try {
+            return call.get();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (outer == null) {
+                admitted.remove();
+            } else {
+                admitted.set(outer);
+            }
+            // Every exit releases the slot, including Errors such as OutOfMemoryError or StackOverflowError
+            if (failure == null) {
+                limit.onSuccess(System.nanoTime() - start);
+            } else {
+                release(trafficClass, limit, failure);
+            }
+        }
+    }
+
+    /** Traffic class of the {@link #call} running on this thread, or null outside one. */
+    public TrafficClass admittedClass() {
+        return admitted.get();
+    }
+
+    /**
+     * Admits a request made on behalf of a call that already holds a slot, such as a hedge to a second
+     * provider, into a further slot of the same bulkhead. Unlike {@link #call} it never rejects with an
+     * error: when the bulkhead is full it returns null and the extra request should be skipped. The
+     * slot is taken now, so the returned Mono must be subscribed right away; it is released when the
+     * request completes, fails or is cancelled. Without a traffic class, or with the limiter disabled,
+     * the request runs unlimited.
+     */
+    public <T> Mono<T> tryAdmit(TrafficClass trafficClass, Supplier<Mono<T>> request) {
+        if (!enabled || trafficClass == null) {
+            return Mono.defer(request);
+        }
+
+        AdaptiveLimit limit = limits.get(trafficClass);
+        if (!limit.tryAcquire()) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        return Mono.defer(request)
+            .doOnSuccess(value -> {
+                if (released.compareAndSet(false, true)) {
+                    limit.onSuccess(System.nanoTime() - start);
+                }
+            })
+            .doOnError(e -> {
+                if (released.compareAndSet(false, true)) {
+                    release(trafficClass, limit, e);
+                }
+            })
+            .doOnCancel(() -> {
+                if (released.compareAndSet(false, true)) {
+                    limit.onIgnored();
+                }
+            });
+    }
+
+    public AdaptiveLimit limit(TrafficClass trafficClass) {
+        return limits.get(trafficClass);
+    }
+
+    private static void release(TrafficClass trafficClass, AdaptiveLimit limit, Throwable e) {
+        if (isOverload(e)) {
+            limit.onDropped();
+            log.debug("{} upstream limit reduced to {} after {}", trafficClass, limit.getLimit(), e.toString());
+        } else {
+            limit.onIgnored();
+        }
+    }
+
+    private static boolean isOverload(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        if (e instanceof WebClientException) {
+            return true;
+        }
+        // Mono.block(Duration) reports an elapsed timeout as IllegalStateException wrapping TimeoutException
+        return e.getCause() instanceof TimeoutException
+            || (e instanceof IllegalStateException && String.valueOf(e.getMessage()).startsWith("Timeout"));
+    }
+}
@@ -0,0 +1,28 @@
+package com.weathersolar.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.weathersolar.Aggregation")
+@Label("Aggregation")
+@Category({"WeatherSolar", "Processing"})
+@StackTrace(false)
+public class AggregationEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Latitude")
+    public double latitude;
+
+    @Label("Longitude")
+    public double longitude;
+
+    @Label("Days")
+    public int days;
+
+    @Label("Samples")
+    public int samples;
+}
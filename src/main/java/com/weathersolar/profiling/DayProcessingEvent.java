@@ -0,0 +1,25 @@
+package com.weathersolar.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.weathersolar.DayProcessing")
+@Label("Day Processing")
+@Category({"WeatherSolar", "Processing"})
+@StackTrace(false)
+public class DayProcessingEvent extends Event {
+    @Label("Latitude")
+    public double latitude;
+
+    @Label("Longitude")
+    public double longitude;
+
+    @Label("Day Index")
+    public int dayIndex;
+
+    @Label("Date")
+    public String date;
+}
@@ -0,0 +1,172 @@
+package com.weathersolar.profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.weathersolar.config.ProfilingProperties;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@code /actuator/jfr}: profiles a live instance without a restart. {@code POST} starts a
+ * time-bounded Flight Recorder recording with the JDK {@code profile} settings plus the
+ * {@code com.weathersolar.*} events; {@code GET /actuator/jfr/{id}} downloads the file once the recording
+ * has stopped, and {@code DELETE} stops it early. One recording runs at a time and only the newest
+ * {@code max-recordings} files are kept. The endpoint is not exposed by default and is meant for the
+ * internal management port only.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+    private static final List<Class<? extends jdk.jfr.Event>> DOMAIN_EVENTS = List.of(UpstreamFetchEvent.class,
+        JsonParseEvent.class, DayProcessingEvent.class, AggregationEvent.class, SerializationEvent.class);
+    // The environment and system properties hold API keys and the cluster secret.
+    private static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialEnvironmentVariable",
+        "jdk.InitialSystemProperty");
+
+    private final ProfilingProperties properties;
+    private final Path dir;
+    private final Map<Long, Entry> recordings = new ConcurrentSkipListMap<>();
+
+    public JfrRecordingEndpoint(ProfilingProperties properties) {
+        this.properties = properties;
+        this.dir = Path.of(properties.getDir());
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<RecordingStatus> start(@Nullable Duration duration) {
+        if (recordings.values().stream().anyMatch(Entry::isRunning)) {
+            return new WebEndpointResponse<>(HttpStatus.CONFLICT.value());
+        }
+        Duration requested = duration == null ? properties.getDefaultDuration() : duration;
+        if (requested.isNegative() || requested.isZero()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (requested.compareTo(properties.getMaxDuration()) > 0) {
+            requested = properties.getMaxDuration();
+        }
+
+        try {
+            Files.createDirectories(dir);
+            pruneOldRecordings(properties.getMaxRecordings() - 1);
+            Recording recording = new Recording(Configuration.getConfiguration(properties.getSettings()));
+            for (Class<? extends jdk.jfr.Event> event : DOMAIN_EVENTS) {
+                recording.enable(event).withThreshold(Duration.ZERO);
+            }
+            SENSITIVE_EVENTS.forEach(recording::disable);
+            Instant startedAt = Instant.now();
+            Path file = dir.resolve("weather-" + startedAt.toEpochMilli() + ".jfr");
+            recording.setName("weather-" + recording.getId());
+            recording.setToDisk(true);
+            recording.setDestination(file);
+            recording.setDuration(requested);
+            recording.start();
+
+            Entry entry = new Entry(recording, file, startedAt, startedAt.plus(requested));
+            recordings.put(recording.getId(), entry);
+            log.info("Started JFR recording {} for {} into {}", recording.getId(), requested, file);
+            return new WebEndpointResponse<>(entry.status(), WebEndpointResponse.STATUS_OK);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot start JFR recording: " + e.getMessage(), e);
+        }
+    }
+
+    @ReadOperation
+    public List<RecordingStatus> recordings() {
+        List<RecordingStatus> statuses = new ArrayList<>();
+        recordings.values().forEach(entry -> statuses.add(entry.status()));
+        return statuses;
+    }
+
+    /** The recording file; 409 while the recording is still running. */
+    @ReadOperation
+    public WebEndpointResponse<Resource> download(@Selector long id) {
+        Entry entry = recordings.get(id);
+        if (entry == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (entry.isRunning()) {
+            return new WebEndpointResponse<>(HttpStatus.CONFLICT.value());
+        }
+        if (!Files.isRegularFile(entry.file())) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(entry.file()), WebEndpointResponse.STATUS_OK);
+    }
+
+    /** Stops a running recording early; its file is written and can then be downloaded. */
+    @DeleteOperation
+    public WebEndpointResponse<RecordingStatus> stop(@Selector long id) {
+        Entry entry = recordings.get(id);
+        if (entry == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (entry.isRunning()) {
+            entry.recording().stop();
+            log.info("Stopped JFR recording {} early", id);
+        }
+        return new WebEndpointResponse<>(entry.status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        recordings.values().forEach(entry -> entry.recording().close());
+    }
+
+    /** Drops the oldest recordings beyond {@code keep}; a file that cannot be deleted is only logged. */
+    private void pruneOldRecordings(int keep) {
+        List<Long> ids = new ArrayList<>(recordings.keySet());
+        for (int i = 0; i < ids.size() - Math.max(0, keep); i++) {
+            Entry expired = recordings.remove(ids.get(i));
+            expired.recording().close();
+            try {
+                Files.deleteIfExists(expired.file());
+            } catch (IOException e) {
+                log.warn("Could not delete old JFR recording {}: {}", expired.file(), e.getMessage());
+            }
+        }
+    }
+
+    private record Entry(Recording recording, Path file, Instant startedAt, Instant stopsAt) {
+
+        boolean isRunning() {
+            RecordingState state = recording.getState();
+            return state == RecordingState.NEW || state == RecordingState.DELAYED || state == RecordingState.RUNNING;
+        }
+
+        RecordingStatus status() {
+            long size = 0;
+            try {
+                size = Files.isRegularFile(file) ? Files.size(file) : 0;
+            } catch (IOException e) {
+                // sized as 0 until the dump is readable
+            }
+            return new RecordingStatus(recording.getId(), recording.getState().name(), startedAt, stopsAt, size);
+        }
+    }
+}
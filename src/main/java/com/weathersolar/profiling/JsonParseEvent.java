@@ -0,0 +1,21 @@
+package com.weathersolar.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.weathersolar.JsonParse")
+@Label("JSON Parse")
+@Category({"WeatherSolar", "Processing"})
+@StackTrace(false)
+public class JsonParseEvent extends Event {
+    @Label("Payload")
+    public String payload;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
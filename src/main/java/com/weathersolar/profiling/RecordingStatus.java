@@ -0,0 +1,7 @@
+package com.weathersolar.profiling;
+
+import java.time.Instant;
+
+/** A JFR recording started through the {@code jfr} actuator endpoint. */
+public record RecordingStatus(long id, String state, Instant startedAt, Instant stopsAt, long sizeBytes) {
+}
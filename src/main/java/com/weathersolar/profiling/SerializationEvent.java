@@ -0,0 +1,24 @@
+package com.weathersolar.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.weathersolar.Serialization")
+@Label("Serialization")
+@Category({"WeatherSolar", "Serialization"})
+@StackTrace(false)
+public class SerializationEvent extends Event {
+    @Label("Format")
+    public String format;
+
+    @Label("Type")
+    public String type;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,38 @@
+package com.weathersolar.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.weathersolar.UpstreamFetch")
+@Label("Upstream Fetch")
+@Description("One call to a forecast provider, from subscription to the last byte of the body")
+@Category({"WeatherSolar", "Upstream"})
+@StackTrace(false)
+public class UpstreamFetchEvent extends Event {
+    @Label("Provider")
+    public String provider;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Latitude")
+    public double latitude;
+
+    @Label("Longitude")
+    public double longitude;
+
+    @Label("Days")
+    public int days;
+
+    @Label("Response Size")
+    @DataAmount
+    public long bytes = -1;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,120 @@
+package com.weathersolar.serialization;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.google.protobuf.CodedOutputStream;
+import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.dto.WeeklySummaryResponse;
+
+/**
+ * Writes the messages from {@code src/main/proto/forecast.proto} straight from the DTOs, without
+ * generated message classes. Sizes are computed up front so every message lands in one exact array.
+ */
+final class ForecastProtobufEncoder {
+
+    private ForecastProtobufEncoder() {
+    }
+
+    static byte[] encode(WeatherForecastResponse forecast) throws IOException {
+        List<DailyWeather> days = forecast.getDailyForecasts() == null ? List.of() : forecast.getDailyForecasts();
+        int[] daySizes = new int[days.size()];
+        int size = 0;
+        for (int i = 0; i < days.size(); i++) {
+            daySizes[i] = dailyWeatherSize(days.get(i));
+            size += CodedOutputStream.computeTagSize(1)
+                + CodedOutputStream.computeUInt32SizeNoTag(daySizes[i]) + daySizes[i];
+        }
+        size += doubleSize(2, forecast.getAveragePressure())
+            + doubleSize(3, forecast.getAverageSunExposure())
+            + doubleSize(4, forecast.getMinTemperature())
+            + doubleSize(5, forecast.getMaxTemperature())
+            + stringSize(6, forecast.getWeatherSummary());
+
+        byte[] bytes = new byte[size];
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        for (int i = 0; i < days.size(); i++) {
+            out.writeTag(1, 2);
+            out.writeUInt32NoTag(daySizes[i]);
+            writeDailyWeather(out, days.get(i));
+        }
+        writeDouble(out, 2, forecast.getAveragePressure());
+        writeDouble(out, 3, forecast.getAverageSunExposure());
+        writeDouble(out, 4, forecast.getMinTemperature());
+        writeDouble(out, 5, forecast.getMaxTemperature());
+        writeString(out, 6, forecast.getWeatherSummary());
+        out.checkNoSpaceLeft();
+        return bytes;
+    }
+
+    static byte[] encode(WeeklySummaryResponse summary) throws IOException {
+        int size = doubleSize(1, summary.getAveragePressure())
+            + doubleSize(2, summary.getAverageSunExposure())
+            + doubleSize(3, summary.getMinTemperature())
+            + doubleSize(4, summary.getMaxTemperature())
+            + stringSize(5, summary.getWeatherDescription())
+            + stringSize(6, summary.getWeatherSummary())
+            + doubleSize(7, summary.getPressureTrend());
+
+        byte[] bytes = new byte[size];
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        writeDouble(out, 1, summary.getAveragePressure());
+        writeDouble(out, 2, summary.getAverageSunExposure());
+        writeDouble(out, 3, summary.getMinTemperature());
+        writeDouble(out, 4, summary.getMaxTemperature());
+        writeString(out, 5, summary.getWeatherDescription());
+        writeString(out, 6, summary.getWeatherSummary());
+        writeDouble(out, 7, summary.getPressureTrend());
+        out.checkNoSpaceLeft();
+        return bytes;
+    }
+
+    private static int dailyWeatherSize(DailyWeather day) {
+        int size = 0;
+        if (day.getDate() != null && day.getDate().toEpochDay() != 0) {
+            size += CodedOutputStream.computeInt32Size(1, (int) day.getDate().toEpochDay());
+        }
+        if (day.getWeatherCode() != 0) {
+            size += CodedOutputStream.computeInt32Size(2, day.getWeatherCode());
+        }
+        return size
+            + doubleSize(3, day.getMinTemperature())
+            + doubleSize(4, day.getMaxTemperature())
+            + doubleSize(5, day.getSolarEnergy())
+            + doubleSize(6, day.getDaylightHours());
+    }
+
+    private static void writeDailyWeather(CodedOutputStream out, DailyWeather day) throws IOException {
+        if (day.getDate() != null && day.getDate().toEpochDay() != 0) {
+            out.writeInt32(1, (int) day.getDate().toEpochDay());
+        }
+        if (day.getWeatherCode() != 0) {
+            out.writeInt32(2, day.getWeatherCode());
+        }
+        writeDouble(out, 3, day.getMinTemperature());
+        writeDouble(out, 4, day.getMaxTemperature());
+        writeDouble(out, 5, day.getSolarEnergy());
+        writeDouble(out, 6, day.getDaylightHours());
+    }
+
+    private static int doubleSize(int field, double value) {
+        return Double.doubleToRawLongBits(value) == 0 ? 0 : CodedOutputStream.computeDoubleSize(field, value);
+    }
+
+    private static int stringSize(int field, String value) {
+        return value == null || value.isEmpty() ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+
+    private static void writeDouble(CodedOutputStream out, int field, double value) throws IOException {
+        if (Double.doubleToRawLongBits(value) != 0) {
+            out.writeDouble(field, value);
+        }
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            out.writeString(field, value);
+        }
+    }
+}
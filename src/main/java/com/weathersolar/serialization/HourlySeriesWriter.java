@@ -0,0 +1,71 @@
+package com.weathersolar.serialization;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.weathersolar.Model.HourlySeries;
+
+/**
+ * Streams an hourly series row by row, either as one JSON array or as newline-delimited JSON.
+ * The output is flushed once per forecast day so clients receive it in chunks.
+ */
+public final class HourlySeriesWriter {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final DateTimeFormatter LOCAL_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    private static final int ROWS_PER_FLUSH = 24;
+
+    private HourlySeriesWriter() {
+    }
+
+    public static void writeJsonArray(HourlySeries series, OutputStream out) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (int row = 0; row < series.size(); row++) {
+                writeRow(generator, series, row);
+                if ((row + 1) % ROWS_PER_FLUSH == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    public static void writeNdjson(HourlySeries series, OutputStream out) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+            for (int row = 0; row < series.size(); row++) {
+                writeRow(generator, series, row);
+                generator.writeRaw('\n');
+                if ((row + 1) % ROWS_PER_FLUSH == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    private static void writeRow(JsonGenerator generator, HourlySeries series, int row) throws IOException {
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds(series.getUtcOffsetSeconds());
+        List<String> variables = series.getVariables();
+
+        generator.writeStartObject();
+        generator.writeStringField("time",
+            LOCAL_TIME.format(LocalDateTime.ofEpochSecond(series.getTime()[row], 0, offset)));
+        for (int column = 0; column < variables.size(); column++) {
+            double value = series.getValues()[column][row];
+            generator.writeFieldName(variables.get(column));
+            if (Double.isNaN(value)) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+        generator.writeEndObject();
+    }
+}
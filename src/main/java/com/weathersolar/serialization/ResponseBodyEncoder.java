@@ -0,0 +1,108 @@
+package com.weathersolar.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.weathersolar.cache.CachedForecast;
+import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.dto.WeeklySummaryResponse;
+import com.weathersolar.exception.WeatherDataProcessingException;
+import com.weathersolar.profiling.SerializationEvent;
+
+@Component
+public class ResponseBodyEncoder {
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+
+    public ResponseBodyEncoder(ObjectMapper objectMapper) {
+        this.jsonMapper = objectMapper;
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+    }
+
+    public byte[] forecastBody(CachedForecast cached, ResponseFormat format, boolean gzip) {
+        byte[] body = cached.body(format.name(), () -> encode(cached.getForecast(), format));
+        return gzip ? cached.body(format.name() + "+gzip", () -> gzip(body)) : body;
+    }
+
+    public byte[] encode(Object value, ResponseFormat format) {
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        try {
+            byte[] body = switch (format) {
+                case JSON -> jsonMapper.writeValueAsBytes(value);
+                case CBOR -> cborMapper.writeValueAsBytes(value);
+                case SMILE -> smileMapper.writeValueAsBytes(value);
+                case PROTOBUF -> encodeProtobuf(value);
+            };
+            commit(event, format.name(), value.getClass().getSimpleName(), body.length);
+            return body;
+        } catch (IOException e) {
+            throw new WeatherDataProcessingException("Failed to serialize response as " + format, e);
+        }
+    }
+
+    public byte[] gzip(byte[] body) {
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new WeatherDataProcessingException("Failed to compress response", e);
+        }
+        commit(event, "GZIP", "byte[]", out.size());
+        return out.toByteArray();
+    }
+
+    private static void commit(SerializationEvent event, String format, String type, long bytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.format = format;
+            event.type = type;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    private byte[] encodeProtobuf(Object value) throws IOException {
+        if (value instanceof WeatherForecastResponse forecast) {
+            return ForecastProtobufEncoder.encode(forecast);
+        }
+        if (value instanceof WeeklySummaryResponse summary) {
+            return ForecastProtobufEncoder.encode(summary);
+        }
+        throw new IllegalArgumentException("No protobuf schema for " + value.getClass().getSimpleName());
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.weathersolar.serialization;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+public enum ResponseFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile")),
+    PROTOBUF(MediaType.parseMediaType("application/x-protobuf"));
+
+    private final MediaType mediaType;
+
+    ResponseFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Picks the format for an Accept header, honouring quality values. JSON wins for missing
+     * headers and wildcards; {@code null} means none of the formats is acceptable.
+     */
+    public static ResponseFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+
+        List<MediaType> requested;
+        try {
+            requested = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+
+        return requested.stream()
+            .filter(mediaType -> mediaType.getQualityValue() > 0)
+            .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+            .map(ResponseFormat::firstIncludedBy)
+            .filter(format -> format != null)
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static ResponseFormat firstIncludedBy(MediaType requested) {
+        for (ResponseFormat format : values()) {
+            if (requested.includes(format.mediaType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
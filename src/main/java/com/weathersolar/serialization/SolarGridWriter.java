@@ -0,0 +1,74 @@
+package com.weathersolar.serialization;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.weathersolar.dto.SolarGridResponse;
+import com.weathersolar.solargrid.GridTile;
+import com.weathersolar.solargrid.SolarGrid;
+
+/**
+ * Writes a solar grid either as a compact binary raster of the requested box or as whole tiles.
+ * <p>
+ * The binary layout is big-endian: the magic {@code SGR1}, {@code int} rows, {@code int} columns,
+ * {@code double} latitude and longitude of the south-west cell centre, {@code double} resolution in
+ * degrees, {@code long} epoch day, then rows × columns {@code float} yields in kWh, row-major from the
+ * south-west corner, NaN where no forecast exists.
+ */
+public final class SolarGridWriter {
+    public static final String MEDIA_TYPE = "application/octet-stream";
+    static final int MAGIC = 0x53475231;
+
+    private SolarGridWriter() {
+    }
+
+    public static void writeBinary(SolarGrid grid, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(grid.rows());
+        data.writeInt(grid.cols());
+        data.writeDouble(grid.south());
+        data.writeDouble(grid.west());
+        data.writeDouble(grid.resolution());
+        data.writeLong(grid.date().toEpochDay());
+        for (int row = 0; row < grid.rows(); row++) {
+            for (int col = 0; col < grid.cols(); col++) {
+                data.writeFloat(grid.yieldAt(row, col));
+            }
+            if ((row + 1) % 64 == 0) {
+                data.flush();
+            }
+        }
+        data.flush();
+    }
+
+    public static SolarGridResponse toTiles(SolarGrid grid) {
+        int tileSize = grid.tileSize();
+        List<SolarGridResponse.Tile> tiles = new ArrayList<>(grid.tiles().size());
+        for (GridTile tile : grid.tiles()) {
+            float[] yields = tile.yields();
+            Float[] values = new Float[yields.length];
+            for (int cell = 0; cell < yields.length; cell++) {
+                values[cell] = Float.isNaN(yields[cell]) ? null : (float) (yields[cell] * grid.installedPowerKw());
+            }
+            tiles.add(SolarGridResponse.Tile.builder()
+                .tileRow(tile.key().tileRow())
+                .tileCol(tile.key().tileCol())
+                .south(-90 + ((long) tile.key().tileRow() * tileSize + 0.5) * grid.resolution())
+                .west(-180 + ((long) tile.key().tileCol() * tileSize + 0.5) * grid.resolution())
+                .values(values)
+                .build());
+        }
+        return SolarGridResponse.builder()
+            .date(grid.date())
+            .resolution(grid.resolution())
+            .tileSize(tileSize)
+            .installedPowerKw(grid.installedPowerKw())
+            .unit("kWh")
+            .tiles(tiles)
+            .build();
+    }
+}
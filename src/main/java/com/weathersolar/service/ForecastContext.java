@@ -0,0 +1,29 @@
+package com.weathersolar.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.weathersolar.cache.ForecastKey;
+import com.weathersolar.limiter.TrafficClass;
+
+/**
+ * Everything one forecast computation works on: the request and, once fetched, its upstream data.
+ * {@link WeatherService} is a shared singleton, so this travels down the call chain instead of being
+ * parked in fields, and each request only ever sees its own location's data.
+ */
+record ForecastContext(
+    ForecastKey key,
+    double latitude,
+    double longitude,
+    int days,
+    TrafficClass trafficClass,
+    JsonNode weatherData,
+    JsonNode pressureData
+) {
+    static ForecastContext of(ForecastKey key, double latitude, double longitude, int days,
+            TrafficClass trafficClass) {
+        return new ForecastContext(key, latitude, longitude, days, trafficClass, null, null);
+    }
+
+    ForecastContext withUpstreamData(JsonNode weatherData, JsonNode pressureData) {
+        return new ForecastContext(key, latitude, longitude, days, trafficClass, weatherData, pressureData);
+    }
+}
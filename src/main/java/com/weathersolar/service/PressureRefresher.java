@@ -0,0 +1,196 @@
+package com.weathersolar.service;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.weathersolar.aggregate.AggregateEngine;
+import com.weathersolar.cache.ForecastKey;
+import com.weathersolar.client.WeatherProvider;
+import com.weathersolar.config.CacheProperties;
+import com.weathersolar.config.RefreshProperties;
+import com.weathersolar.exception.ExternalServiceException;
+import com.weathersolar.profiling.JsonParseEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Refreshes the hourly pressure series of a location. Within one model run only the hours after
+ * the last merged timestamp are requested (Open-Meteo start_hour/end_hour) and merged into the
+ * aggregate engine; a new model run, or a series that is not there yet, triggers a full refetch.
+ */
+@Slf4j
+@Component
+public class PressureRefresher {
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    private final WeatherProvider weatherProvider;
+    private final AggregateEngine aggregateEngine;
+    private final RefreshProperties refreshProperties;
+    private final CacheProperties cacheProperties;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Map<ForecastKey, RefreshState> states = new ConcurrentHashMap<>();
+
+    private final Counter fullRefreshes;
+    private final Counter deltaRefreshes;
+    private final Counter skippedRefreshes;
+    private final Counter fullBytes;
+    private final Counter deltaBytes;
+    private final Counter savedBytes;
+
+    @Autowired
+    public PressureRefresher(WeatherProvider weatherProvider, AggregateEngine aggregateEngine,
+            RefreshProperties refreshProperties, CacheProperties cacheProperties,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(weatherProvider, aggregateEngine, refreshProperties, cacheProperties, objectMapper, meterRegistry,
+            Clock.systemUTC());
+    }
+
+    PressureRefresher(WeatherProvider weatherProvider, AggregateEngine aggregateEngine,
+            RefreshProperties refreshProperties, CacheProperties cacheProperties,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry, Clock clock) {
+        this.weatherProvider = weatherProvider;
+        this.aggregateEngine = aggregateEngine;
+        this.refreshProperties = refreshProperties;
+        this.cacheProperties = cacheProperties;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.fullRefreshes = meterRegistry.counter("weather.refresh.requests", "mode", "full");
+        this.deltaRefreshes = meterRegistry.counter("weather.refresh.requests", "mode", "delta");
+        this.skippedRefreshes = meterRegistry.counter("weather.refresh.requests", "mode", "skipped");
+        this.fullBytes = meterRegistry.counter("weather.refresh.bytes", "mode", "full");
+        this.deltaBytes = meterRegistry.counter("weather.refresh.bytes", "mode", "delta");
+        this.savedBytes = meterRegistry.counter("weather.refresh.bytes.saved");
+    }
+
+    public JsonNode refresh(ForecastKey key, double latitude, double longitude, int days) {
+        return refresh(key, latitude, longitude, days, Supplier::get);
+    }
+
+    /**
+     * Like {@link #refresh(ForecastKey, double, double, int)}, with each provider call that is not served
+     * locally run through {@code upstream}, typically the upstream limiter. Only this method knows which
+     * hour range it asks for, so it decides per call.
+     */
+    public JsonNode refresh(ForecastKey key, double latitude, double longitude, int days,
+            Function<Supplier<byte[]>, byte[]> upstream) {
+        long now = clock.instant().getEpochSecond();
+        long modelRun = modelRun(now);
+        RefreshState state = states.get(key);
+        long lastTime = aggregateEngine.lastPressureTime(key);
+
+        if (!refreshProperties.isDeltaEnabled() || state == null || state.modelRun() != modelRun
+                || lastTime == Long.MIN_VALUE) {
+            return fullRefresh(key, latitude, longitude, days, modelRun, upstream);
+        }
+
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds(state.utcOffsetSeconds());
+        long horizonEnd = LocalDateTime.ofEpochSecond(now, 0, offset).toLocalDate()
+            .plusDays(days)
+            .atStartOfDay()
+            .toEpochSecond(offset) - SECONDS_PER_HOUR;
+        long firstMissing = lastTime + SECONDS_PER_HOUR;
+        double fullRefreshBytes = state.bytesPerHour() * days * 24;
+
+        if (firstMissing > horizonEnd) {
+            skippedRefreshes.increment();
+            savedBytes.increment(fullRefreshBytes);
+            return emptyPayload(state.utcOffsetSeconds());
+        }
+
+        String startHour = formatHour(firstMissing, offset);
+        String endHour = formatHour(horizonEnd, offset);
+        Supplier<byte[]> call = () -> block(weatherProvider.getPressureData(latitude, longitude, startHour, endHour));
+        byte[] body = weatherProvider.isPressureLocal(latitude, longitude, startHour, endHour)
+            ? call.get() : upstream.apply(call);
+        deltaRefreshes.increment();
+        deltaBytes.increment(body.length);
+        savedBytes.increment(Math.max(0, fullRefreshBytes - body.length));
+        log.debug("Delta pressure refresh for {}: {} bytes instead of ~{}", key, body.length, (long) fullRefreshBytes);
+        return parse(body);
+    }
+
+    private JsonNode fullRefresh(ForecastKey key, double latitude, double longitude, int days, long modelRun,
+            Function<Supplier<byte[]>, byte[]> upstream) {
+        Supplier<byte[]> call = () -> block(weatherProvider.getPressureData(latitude, longitude, days));
+        byte[] body = weatherProvider.isPressureLocal(latitude, longitude, days) ? call.get() : upstream.apply(call);
+        JsonNode payload = parse(body);
+        int hours = payload.path("hourly").path("time").size();
+
+        if (states.size() >= cacheProperties.getMaxEntries()) {
+            states.keySet().removeIf(stale -> aggregateEngine.lastPressureTime(stale) == Long.MIN_VALUE);
+        }
+        states.put(key, new RefreshState(modelRun, payload.path("utc_offset_seconds").asInt(0),
+            hours == 0 ? 0 : (double) body.length / hours));
+        aggregateEngine.clearPressure(key);
+
+        fullRefreshes.increment();
+        fullBytes.increment(body.length);
+        return payload;
+    }
+
+    private long modelRun(long epochSecond) {
+        long delay = refreshProperties.getModelRunAvailabilityDelay().toSeconds();
+        long interval = Math.max(1, refreshProperties.getModelRunInterval().toSeconds());
+        return Math.floorDiv(epochSecond - delay, interval);
+    }
+
+    private byte[] block(Mono<byte[]> request) {
+        byte[] body = request.block(Duration.ofSeconds(10));
+        if (body == null) {
+            throw new ExternalServiceException("Invalid pressure data received from API", 500);
+        }
+        return body;
+    }
+
+    private JsonNode parse(byte[] body) {
+        JsonParseEvent event = new JsonParseEvent();
+        event.begin();
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new ExternalServiceException("Invalid pressure data received from API", e, 500);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.payload = "pressure";
+                event.bytes = body.length;
+                event.commit();
+            }
+        }
+    }
+
+    private JsonNode emptyPayload(int utcOffsetSeconds) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("utc_offset_seconds", utcOffsetSeconds);
+        ObjectNode hourly = payload.putObject("hourly");
+        hourly.putArray("time");
+        hourly.putArray("pressure_msl");
+        return payload;
+    }
+
+    private static String formatHour(long epochSecond, ZoneOffset offset) {
+        return HOUR_FORMAT.format(LocalDateTime.ofEpochSecond(epochSecond, 0, offset));
+    }
+
+    private record RefreshState(long modelRun, int utcOffsetSeconds, double bytesPerHour) {
+    }
+}
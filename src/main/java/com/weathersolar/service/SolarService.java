@@ -0,0 +1,68 @@
+package com.weathersolar.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.weathersolar.Model.SolarDay;
+import com.weathersolar.dto.SolarForecastResponse;
+import com.weathersolar.utils.SolarEnergyCalculator;
+import com.weathersolar.utils.SolarEphemeris;
+
+/**
+ * Answers solar-only queries from the local ephemeris: sun times, day length and the resulting
+ * energy estimate for the configured installation, without any upstream call.
+ */
+@Service
+public class SolarService {
+    private final SolarEnergyCalculator solarEnergyCalculator;
+    private final Clock clock;
+
+    @Autowired
+    public SolarService(SolarEnergyCalculator solarEnergyCalculator) {
+        this(solarEnergyCalculator, Clock.systemUTC());
+    }
+
+    SolarService(SolarEnergyCalculator solarEnergyCalculator, Clock clock) {
+        this.solarEnergyCalculator = solarEnergyCalculator;
+        this.clock = clock;
+    }
+
+    /**
+     * Sun times for {@code days} days from {@code startDate}, or from the location's current date
+     * (by mean solar time) when none is given.
+     */
+    public SolarForecastResponse getSolarForecast(double latitude, double longitude, LocalDate startDate, int days) {
+        LocalDate first = startDate != null ? startDate : localDate(longitude);
+        List<SolarDay> result = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            LocalDate date = first.plusDays(i);
+            SolarEphemeris.SunTimes sun = SolarEphemeris.compute(latitude, longitude, date);
+            result.add(SolarDay.builder()
+                .date(date)
+                .sunrise(sun.hasSunrise() ? Instant.ofEpochSecond(sun.sunrise()) : null)
+                .sunset(sun.hasSunrise() ? Instant.ofEpochSecond(sun.sunset()) : null)
+                .solarNoon(Instant.ofEpochSecond(sun.solarNoon()))
+                .daylightHours(sun.daylightHours())
+                .solarEnergy(solarEnergyCalculator.calculateDailySolarEnergy(sun.daylightHours()))
+                .build());
+        }
+        return SolarForecastResponse.builder()
+            .latitude(latitude)
+            .longitude(longitude)
+            .days(result)
+            .build();
+    }
+
+    private LocalDate localDate(double longitude) {
+        // 240 s of clock time per degree of longitude
+        Instant localMean = clock.instant().plusSeconds(Math.round(longitude * 240));
+        return LocalDate.ofInstant(localMean, ZoneOffset.UTC);
+    }
+}
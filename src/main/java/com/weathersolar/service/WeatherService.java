@@ -2,10 +2,14 @@ package com.weathersolar.service;
 
 import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
-import java.util.stream.StreamSupport;
 
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
@@ -13,13 +17,26 @@ import org.springframework.web.reactive.function.client.WebClientException;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.cache.CachedForecast;
+import com.weathersolar.Model.HourlySeries;
+import com.weathersolar.aggregate.AggregateEngine;
+import com.weathersolar.aggregate.AggregateSnapshot;
+import com.weathersolar.cache.ForecastCache;
+import com.weathersolar.cache.ForecastKey;
 import com.weathersolar.client.OpenMeteoClient;
+import com.weathersolar.client.WeatherProvider;
+import com.weathersolar.cluster.PeerForwarder;
 import com.weathersolar.dto.WeatherForecastResponse;
 import com.weathersolar.dto.WeeklySummaryResponse;
 import com.weathersolar.exception.ExternalServiceException;
 import com.weathersolar.exception.LocationValidationException;
+import com.weathersolar.exception.UpstreamOverloadedException;
 import com.weathersolar.exception.WeatherDataProcessingException;
+import com.weathersolar.limiter.TrafficClass;
+import com.weathersolar.limiter.UpstreamLimiter;
+import com.weathersolar.profiling.DayProcessingEvent;
 import com.weathersolar.utils.SolarEnergyCalculator;
+import com.weathersolar.utils.SolarEphemeris;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,21 +45,139 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @RequiredArgsConstructor
 public class WeatherService {
-    private final OpenMeteoClient meteoClient;
+    public static final List<String> DEFAULT_HOURLY_VARIABLES =
+        List.of("temperature_2m", "pressure_msl", "cloud_cover", "shortwave_radiation");
+    private static final Set<String> SUPPORTED_HOURLY_VARIABLES = Set.of(
+        "temperature_2m", "relative_humidity_2m", "pressure_msl", "cloud_cover", "precipitation",
+        "wind_speed_10m", "shortwave_radiation", "direct_radiation", "diffuse_radiation", "sunshine_duration");
+
+    private final WeatherProvider weatherProvider;
     private final SolarEnergyCalculator solarEnergyCalculator;
-    private JsonNode pressureData;
+    private final ForecastCache forecastCache;
+    private final AggregateEngine aggregateEngine;
+    private final PressureRefresher pressureRefresher;
+    private final UpstreamLimiter upstreamLimiter;
+    private final PeerForwarder peerForwarder;
+    private final Map<ForecastKey, CompletableFuture<CachedForecast>> inFlightFetches = new ConcurrentHashMap<>();
 
     public WeatherForecastResponse getForecast(double latitude, double longitude) {
+        return getForecast(latitude, longitude, OpenMeteoClient.DEFAULT_FORECAST_DAYS);
+    }
+
+    public WeatherForecastResponse getForecast(double latitude, double longitude, int days) {
+        return getCachedForecast(latitude, longitude, days).getForecast();
+    }
+
+    public CachedForecast getCachedForecast(double latitude, double longitude, int days) {
+        return getCachedForecast(latitude, longitude, days, TrafficClass.INTERACTIVE);
+    }
+
+    public CachedForecast getCachedForecast(double latitude, double longitude, int days, TrafficClass trafficClass) {
+        return getCachedForecast(latitude, longitude, days, trafficClass, true);
+    }
+
+    /**
+     * The forecast for a cell this node was asked to serve by another cluster member: never forwarded
+     * again, whoever this node thinks owns the cell, and fetched on the bulkhead of the original caller.
+     */
+    public WeatherForecastResponse getOwnedForecast(double latitude, double longitude, int days,
+            TrafficClass trafficClass) {
+        return getCachedForecast(latitude, longitude, days, trafficClass, false).getForecast();
+    }
+
+    private CachedForecast getCachedForecast(double latitude, double longitude, int days, TrafficClass trafficClass,
+            boolean forward) {
         validateLocation(latitude, longitude);
-        
+        validateDays(days);
+
+        ForecastKey key = forecastCache.keyFor(latitude, longitude, days);
+        CachedForecast cached = forecastCache.get(key);
+        if (cached != null) {
+            log.debug("Forecast cache hit for {}", key);
+            return cached;
+        }
+
+        // One fetch per key at a time: a second full pressure refresh would clear the aggregates the
+        // first one is about to read, so concurrent misses wait for the fetch already in flight.
+        CompletableFuture<CachedForecast> fetch = new CompletableFuture<>();
+        CompletableFuture<CachedForecast> inFlight = inFlightFetches.putIfAbsent(key, fetch);
+        if (inFlight != null) {
+            return awaitFetch(inFlight);
+        }
+        try {
+            cached = forecastCache.get(key);
+            if (cached == null) {
+                // Within a cluster the cell's owner fetches it, so its cache and this single-flight map
+                // dedupe the cell for every instance; null means fetch here.
+                WeatherForecastResponse forecast = forward ? peerForwarder.forward(key, trafficClass) : null;
+                if (forecast == null) {
+                    forecast = fetchForecast(ForecastContext.of(key, latitude, longitude, days, trafficClass));
+                }
+                cached = new CachedForecast(forecast, System.currentTimeMillis());
+                forecastCache.put(key, cached);
+            }
+            fetch.complete(cached);
+            return cached;
+        } catch (RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightFetches.remove(key, fetch);
+        }
+    }
+
+    private CachedForecast awaitFetch(CompletableFuture<CachedForecast> inFlight) {
         try {
-            log.info("Fetching forecast for lat: {}, lon: {}", latitude, longitude);
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public HourlySeries getHourlyForecast(double latitude, double longitude, int days, List<String> variables) {
+        validateLocation(latitude, longitude);
+        validateDays(days);
+        validateHourlyVariables(variables);
+
+        try {
+            HourlySeries series = upstreamLimiter.call(TrafficClass.INTERACTIVE,
+                () -> weatherProvider.getHourlyForecast(latitude, longitude, days, variables)
+                    .block(Duration.ofSeconds(10)));
+            if (series == null) {
+                throw new ExternalServiceException("Invalid hourly data received from API", 500);
+            }
+            return series;
+        } catch (WebClientResponseException e) {
+            log.error("API response error for lat: {} lon: {} - Status: {}", latitude, longitude, e.getStatusCode());
+            throw new ExternalServiceException(
+                "Weather API returned error: " + e.getStatusText(),
+                e,
+                e.getStatusCode().value()
+            );
+        } catch (WebClientException e) {
+            log.error("Network error fetching hourly forecast for lat: {} lon: {}", latitude, longitude, e);
+            throw new ExternalServiceException("Network error while fetching weather data", e, 503);
+        } catch (ExternalServiceException | UpstreamOverloadedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error fetching hourly forecast for lat: {} lon: {}", latitude, longitude, e);
+            throw new WeatherDataProcessingException("Failed to fetch hourly forecast: " + e.getMessage(), e);
+        }
+    }
+
+    private WeatherForecastResponse fetchForecast(ForecastContext request) {
+        double latitude = request.latitude();
+        double longitude = request.longitude();
+        try {
+            log.info("Fetching {} day forecast for lat: {}, lon: {}", request.days(), latitude, longitude);
             
-            JsonNode weatherData = fetchWeatherData(latitude, longitude);
-            this.pressureData = fetchPressureData(latitude, longitude);
+            ForecastContext context = request.withUpstreamData(fetchWeatherData(request), fetchPressureData(request));
             
-            List<DailyWeather> dailyForecasts = processDailyWeather(weatherData);
-            return createWeatherForecastResponse(dailyForecasts);
+            List<DailyWeather> dailyForecasts = processDailyWeather(context);
+            return createWeatherForecastResponse(context, dailyForecasts);
             
         } catch (WebClientResponseException e) {
             log.error("API response error for lat: {} lon: {} - Status: {}", latitude, longitude, e.getStatusCode());
@@ -58,7 +193,7 @@ public class WeatherService {
                 e, 
                 503
             );
-        } catch (WeatherDataProcessingException | LocationValidationException e) {
+        } catch (WeatherDataProcessingException | LocationValidationException | UpstreamOverloadedException e) {
             throw e;
         } catch (Exception e) {
             log.error("Unexpected error fetching forecast for lat: {} lon: {}", latitude, longitude, e);
@@ -70,21 +205,42 @@ public class WeatherService {
     }
     
     private void validateLocation(double latitude, double longitude) {
-        if (latitude < -90 || latitude > 90) {
+        // Negated so that NaN is rejected as well
+        if (!(latitude >= -90 && latitude <= 90)) {
             throw new LocationValidationException(
                 "Invalid latitude: " + latitude + ". Must be between -90 and 90"
             );
         }
-        if (longitude < -180 || longitude > 180) {
+        if (!(longitude >= -180 && longitude <= 180)) {
             throw new LocationValidationException(
                 "Invalid longitude: " + longitude + ". Must be between -180 and 180"
             );
         }
     }
     
-    private JsonNode fetchWeatherData(double latitude, double longitude) {
-        JsonNode weatherData = meteoClient.getWeatherForecast(latitude, longitude)
-            .block(Duration.ofSeconds(10));
+    private void validateDays(int days) {
+        if (days < 1 || days > OpenMeteoClient.MAX_FORECAST_DAYS) {
+            throw new IllegalArgumentException(
+                "Forecast days must be between 1 and " + OpenMeteoClient.MAX_FORECAST_DAYS + ", got: " + days
+            );
+        }
+    }
+
+    private void validateHourlyVariables(List<String> variables) {
+        if (variables.isEmpty()) {
+            throw new IllegalArgumentException("At least one hourly variable is required");
+        }
+        for (String variable : variables) {
+            if (!SUPPORTED_HOURLY_VARIABLES.contains(variable)) {
+                throw new IllegalArgumentException("Unsupported hourly variable: " + variable);
+            }
+        }
+    }
+    
+    private JsonNode fetchWeatherData(ForecastContext context) {
+        JsonNode weatherData = callUpstream(context, () -> weatherProvider
+            .getWeatherForecast(context.latitude(), context.longitude(), context.days())
+            .block(Duration.ofSeconds(10)));
             
         if (weatherData == null || !weatherData.has("daily")) {
             log.error("Invalid weather data received from API");
@@ -97,9 +253,9 @@ public class WeatherService {
         return weatherData;
     }
     
-    private JsonNode fetchPressureData(double latitude, double longitude) {
-        JsonNode pressureData = meteoClient.getPressureData(latitude, longitude)
-            .block(Duration.ofSeconds(10));
+    private JsonNode fetchPressureData(ForecastContext context) {
+        JsonNode pressureData = pressureRefresher.refresh(context.key(), context.latitude(), context.longitude(),
+            context.days(), call -> upstreamLimiter.call(context.trafficClass(), call));
             
         if (pressureData == null || !pressureData.has("hourly")) {
             log.error("Invalid pressure data received from API");
@@ -112,16 +268,23 @@ public class WeatherService {
         return pressureData;
     }
 
-    private List<DailyWeather> processDailyWeather(JsonNode weatherData) {
+    private <T> T callUpstream(ForecastContext context, Supplier<T> call) {
+        if (weatherProvider.isLocal(context.latitude(), context.longitude(), context.days())) {
+            return call.get();
+        }
+        return upstreamLimiter.call(context.trafficClass(), call);
+    }
+
+    private List<DailyWeather> processDailyWeather(ForecastContext context) {
         try {
-            JsonNode daily = weatherData.get("daily");
+            JsonNode daily = context.weatherData().get("daily");
 
             if (!hasRequiredFields(daily)) {
                 throw new WeatherDataProcessingException("Missing required weather data fields");
             }
 
-            return IntStream.range(0, 7)
-                .mapToObj(i -> processSingleDay(daily, i))
+            return IntStream.range(0, daily.get("time").size())
+                .mapToObj(i -> processSingleDay(daily, i, context.latitude(), context.longitude()))
                 .toList();
                 
         } catch (Exception e) {
@@ -134,29 +297,26 @@ public class WeatherService {
         return daily.has("time") && 
                daily.has("weathercode") && 
                daily.has("temperature_2m_max") && 
-               daily.has("temperature_2m_min") &&
-               daily.has("sunrise") && 
-               daily.has("sunset") &&
-               daily.has("daylight_duration");
+               daily.has("temperature_2m_min");
     }
     
-    private DailyWeather processSingleDay(JsonNode daily, int dayIndex) {
+    private DailyWeather processSingleDay(JsonNode daily, int dayIndex, double latitude, double longitude) {
+        DayProcessingEvent event = new DayProcessingEvent();
+        event.begin();
         try {
             LocalDate date = LocalDate.parse(daily.get("time").get(dayIndex).asText());
             int weatherCode = daily.get("weathercode").get(dayIndex).asInt();
             double maxTemp = daily.get("temperature_2m_max").get(dayIndex).asDouble();
             double minTemp = daily.get("temperature_2m_min").get(dayIndex).asDouble();
-            double daylightHours = daily.get("daylight_duration").get(dayIndex).asDouble() / 3600;
-
-            LocalTime sunrise = LocalTime.parse(daily.get("sunrise").get(dayIndex).asText().split("T")[1]);
-            LocalTime sunset = LocalTime.parse(daily.get("sunset").get(dayIndex).asText().split("T")[1]);
 
-            double sunExposureHours = calculateSunExposureHours(sunrise, sunset);
-            double solarEnergy = solarEnergyCalculator.calculateDailySolarEnergy(sunExposureHours);
+            // Sunrise, sunset and day length are astronomy, not weather: computed here rather than fetched.
+            SolarEphemeris.SunTimes sun = SolarEphemeris.compute(latitude, longitude, date);
+            double daylightHours = sun.daylightHours();
+            double solarEnergy = solarEnergyCalculator.calculateDailySolarEnergy(daylightHours);
 
-            log.info("Dzien {}: sunrise={}, sunset={}, sunExposureHours={}, solarEnergy={}", dayIndex, sunrise, sunset, sunExposureHours, solarEnergy);
+            log.info("Dzien {}: daylightHours={}, solarEnergy={}", dayIndex, daylightHours, solarEnergy);
 
-            return DailyWeather.builder()
+            DailyWeather day = DailyWeather.builder()
                 .date(date)
                 .weatherCode(weatherCode)
                 .minTemperature(minTemp)
@@ -164,6 +324,16 @@ public class WeatherService {
                 .solarEnergy(solarEnergy)
                 .daylightHours(daylightHours)
                 .build();
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.latitude = latitude;
+                event.longitude = longitude;
+                event.dayIndex = dayIndex;
+                event.date = date.toString();
+                event.commit();
+            }
+            return day;
                 
         } catch (Exception e) {
             log.error("Error processing weather data for day {}: {}", dayIndex, e.getMessage());
@@ -174,21 +344,17 @@ public class WeatherService {
         }
     }
 
-    private double calculateSunExposureHours(LocalTime sunrise, LocalTime sunset) {
+    private WeatherForecastResponse createWeatherForecastResponse(ForecastContext context,
+            List<DailyWeather> dailyForecasts) {
         try {
-            return Duration.between(sunrise, sunset).toMinutes() / 60.0;
-        } catch (Exception e) {
-            log.error("Error calculating sun exposure hours: {}", e.getMessage());
-            throw new WeatherDataProcessingException("Error calculating sun exposure", e);
-        }
-    }
+            mergePressure(context);
+            aggregateEngine.mergeDaily(context.key(), dailyForecasts);
+            AggregateSnapshot stats = aggregateEngine.snapshot(context.key());
 
-    private WeatherForecastResponse createWeatherForecastResponse(List<DailyWeather> dailyForecasts) {
-        try {
-            double avgPressure = calculateAveragePressure();
-            double avgSunExposure = calculateAverageSunExposure(dailyForecasts);
-            double minTemp = findMinTemperature(dailyForecasts);
-            double maxTemp = findMaxTemperature(dailyForecasts);
+            double avgPressure = calculateAveragePressure(stats);
+            double avgSunExposure = calculateAverageSunExposure(stats);
+            double minTemp = findMinTemperature(stats);
+            double maxTemp = findMaxTemperature(stats);
             String weatherSummary = generateWeatherSummary(dailyForecasts);
 
             return WeatherForecastResponse.builder()
@@ -206,69 +372,53 @@ public class WeatherService {
         }
     }
 
-    private double calculateAveragePressure() {
+    private void mergePressure(ForecastContext context) {
         try {
-            JsonNode hourlyPressure = pressureData.get("hourly").get("pressure_msl");
-            if (hourlyPressure == null) {
+            JsonNode hourly = context.pressureData().get("hourly");
+            JsonNode hourlyTime = hourly.get("time");
+            JsonNode hourlyPressure = hourly.get("pressure_msl");
+            if (hourlyTime == null || hourlyPressure == null || hourlyTime.size() != hourlyPressure.size()) {
                 throw new WeatherDataProcessingException("Missing pressure data");
             }
 
-            return StreamSupport.stream(hourlyPressure.spliterator(), false)
-                .mapToDouble(JsonNode::asDouble)
-                .average()
-                .orElseThrow(() -> new WeatherDataProcessingException("Error calculating average pressure"));
-                
+            int size = hourlyPressure.size();
+            long[] times = new long[size];
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                times[i] = hourlyTime.get(i).asLong();
+                values[i] = hourlyPressure.get(i).isNull() ? Double.NaN : hourlyPressure.get(i).asDouble();
+            }
+            aggregateEngine.mergePressure(context.key(), times, values);
+
         } catch (WeatherDataProcessingException e) {
             throw e;
         } catch (Exception e) {
-            log.error("Error calculating average pressure: {}", e.getMessage());
-            throw new WeatherDataProcessingException("Failed to calculate average pressure", e);
+            log.error("Error merging pressure data: {}", e.getMessage());
+            throw new WeatherDataProcessingException("Failed to merge pressure data", e);
         }
     }
 
-    private double calculateAverageSunExposure(List<DailyWeather> dailyForecasts) {
-        try {
-            return dailyForecasts.stream()
-                .mapToDouble(DailyWeather::getSolarEnergy)
-                .average()
-                .orElseThrow(() -> new WeatherDataProcessingException("Error calculating average sun exposure"));
-                
-        } catch (WeatherDataProcessingException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Error calculating average sun exposure: {}", e.getMessage());
-            throw new WeatherDataProcessingException("Failed to calculate average sun exposure", e);
-        }
+    private double calculateAveragePressure(AggregateSnapshot stats) {
+        return requireValue(stats.averagePressure(), "Error calculating average pressure");
     }
 
-    private double findMinTemperature(List<DailyWeather> dailyForecasts) {
-        try {
-            return dailyForecasts.stream()
-                .mapToDouble(DailyWeather::getMinTemperature)
-                .min()
-                .orElseThrow(() -> new WeatherDataProcessingException("Error finding minimum temperature"));
-                
-        } catch (WeatherDataProcessingException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Error finding minimum temperature: {}", e.getMessage());
-            throw new WeatherDataProcessingException("Failed to find minimum temperature", e);
-        }
+    private double calculateAverageSunExposure(AggregateSnapshot stats) {
+        return requireValue(stats.averageSolarEnergy(), "Error calculating average sun exposure");
     }
 
-    private double findMaxTemperature(List<DailyWeather> dailyForecasts) {
-        try {
-            return dailyForecasts.stream()
-                .mapToDouble(DailyWeather::getMaxTemperature)
-                .max()
-                .orElseThrow(() -> new WeatherDataProcessingException("Error finding maximum temperature"));
-                
-        } catch (WeatherDataProcessingException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Error finding maximum temperature: {}", e.getMessage());
-            throw new WeatherDataProcessingException("Failed to find maximum temperature", e);
+    private double findMinTemperature(AggregateSnapshot stats) {
+        return requireValue(stats.minTemperature(), "Error finding minimum temperature");
+    }
+
+    private double findMaxTemperature(AggregateSnapshot stats) {
+        return requireValue(stats.maxTemperature(), "Error finding maximum temperature");
+    }
+
+    private double requireValue(double value, String errorMessage) {
+        if (Double.isNaN(value)) {
+            throw new WeatherDataProcessingException(errorMessage);
         }
+        return value;
     }
 
     private String generateWeatherSummary(List<DailyWeather> dailyForecasts) {
@@ -286,18 +436,54 @@ public class WeatherService {
     }
 
     public WeeklySummaryResponse getWeeklySummary(double latitude, double longitude) {
+        return getWeeklySummary(latitude, longitude, TrafficClass.INTERACTIVE, true);
+    }
+
+    /** The weekly summary for a cell another cluster member forwarded here; never forwarded again. */
+    public WeeklySummaryResponse getOwnedWeeklySummary(double latitude, double longitude, TrafficClass trafficClass) {
+        return getWeeklySummary(latitude, longitude, trafficClass, false);
+    }
+
+    private WeeklySummaryResponse getWeeklySummary(double latitude, double longitude, TrafficClass trafficClass,
+            boolean forward) {
         try {
-            WeatherForecastResponse forecast = getForecast(latitude, longitude);
+            validateLocation(latitude, longitude);
+            int days = OpenMeteoClient.DEFAULT_FORECAST_DAYS;
+            ForecastKey key = forecastCache.keyFor(latitude, longitude, days);
+            // The pressure trend comes from the hourly aggregates, which only the node that fetched the cell
+            // holds; a forecast cached from the owner has none of them.
+            if (forward && aggregateEngine.snapshot(key) == null) {
+                WeeklySummaryResponse owned = peerForwarder.forwardSummary(key, trafficClass);
+                if (owned != null) {
+                    return owned;
+                }
+            }
+
+            WeatherForecastResponse forecast = getCachedForecast(latitude, longitude, days, trafficClass, false)
+                .getForecast();
+            AggregateSnapshot stats = aggregateEngine.snapshot(key);
+            if (stats == null) {
+                // Cached from an owner that can no longer be reached, or the aggregates have expired. Refetch
+                // through the single-flight path so concurrent summaries for the cell share one upstream call.
+                forecastCache.invalidate(key);
+                forecast = getCachedForecast(latitude, longitude, days, trafficClass, false).getForecast();
+                stats = aggregateEngine.snapshot(key);
+                if (stats == null) {
+                    throw new WeatherDataProcessingException("No aggregates available for weekly summary");
+                }
+            }
             
             return WeeklySummaryResponse.builder()
-                .averagePressure(forecast.getAveragePressure())
-                .averageSunExposure(forecast.getAverageSunExposure())
-                .minTemperature(forecast.getMinTemperature())
-                .maxTemperature(forecast.getMaxTemperature())
+                .averagePressure(stats.averagePressure())
+                .pressureTrend(stats.pressureTrendPerHour())
+                .averageSunExposure(stats.averageSolarEnergy())
+                .minTemperature(stats.minTemperature())
+                .maxTemperature(stats.maxTemperature())
                 .weatherSummary(forecast.getWeatherSummary())
                 .build();
                 
-        } catch (LocationValidationException | WeatherDataProcessingException | ExternalServiceException e) {
+        } catch (LocationValidationException | WeatherDataProcessingException | ExternalServiceException
+                | UpstreamOverloadedException e) {
             throw e;
         } catch (Exception e) {
             log.error("Error getting weekly summary for lat: {} lon: {}", latitude, longitude, e);
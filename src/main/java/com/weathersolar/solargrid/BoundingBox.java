@@ -0,0 +1,30 @@
+package com.weathersolar.solargrid;
+
+/**
+ * A {@code minLon,minLat,maxLon,maxLat} box in degrees. Boxes crossing the antimeridian are not
+ * supported; request the two halves separately.
+ */
+public record BoundingBox(double minLongitude, double minLatitude, double maxLongitude, double maxLatitude) {
+
+    public BoundingBox {
+        if (!(minLatitude >= -90 && maxLatitude <= 90 && minLatitude < maxLatitude)) {
+            throw new IllegalArgumentException("Bounding box latitudes must satisfy -90 <= min < max <= 90");
+        }
+        if (!(minLongitude >= -180 && maxLongitude <= 180 && minLongitude < maxLongitude)) {
+            throw new IllegalArgumentException("Bounding box longitudes must satisfy -180 <= min < max <= 180");
+        }
+    }
+
+    public static BoundingBox parse(String bbox) {
+        String[] parts = bbox == null ? new String[0] : bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox must be minLon,minLat,maxLon,maxLat");
+        }
+        try {
+            return new BoundingBox(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bbox must be minLon,minLat,maxLon,maxLat");
+        }
+    }
+}
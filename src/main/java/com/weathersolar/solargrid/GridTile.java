@@ -0,0 +1,12 @@
+package com.weathersolar.solargrid;
+
+/**
+ * Day yields of one tile in kWh per installed kWp, row-major from the south-west cell; NaN where
+ * there is no forecast.
+ */
+public record GridTile(TileKey key, float[] yields, long computedAtMillis) {
+
+    public boolean isExpired(long now, long ttlMillis) {
+        return now - computedAtMillis > ttlMillis;
+    }
+}
@@ -0,0 +1,31 @@
+package com.weathersolar.solargrid;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The cells of a bounding box on the lattice of one resolution, backed by whole tiles in row-major
+ * order from the south-west one. Rows run south to north and columns west to east.
+ */
+public record SolarGrid(LocalDate date, double resolution, int tileSize, double installedPowerKw,
+        int firstRow, int firstCol, int rows, int cols, int firstTileRow, int firstTileCol, int tileCols,
+        List<GridTile> tiles) {
+
+    /** Latitude of the centres of the first row. */
+    public double south() {
+        return -90 + (firstRow + 0.5) * resolution;
+    }
+
+    /** Longitude of the centres of the first column. */
+    public double west() {
+        return -180 + (firstCol + 0.5) * resolution;
+    }
+
+    /** Yield in kWh for the requested capacity, {@code row} and {@code col} counted from the box corner. */
+    public float yieldAt(int row, int col) {
+        int latticeRow = firstRow + row;
+        int latticeCol = firstCol + col;
+        GridTile tile = tiles.get((latticeRow / tileSize - firstTileRow) * tileCols + latticeCol / tileSize - firstTileCol);
+        return (float) (tile.yields()[(latticeRow % tileSize) * tileSize + latticeCol % tileSize] * installedPowerKw);
+    }
+}
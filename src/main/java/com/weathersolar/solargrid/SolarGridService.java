@@ -0,0 +1,299 @@
+package com.weathersolar.solargrid;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.weathersolar.client.OpenMeteoClient;
+import com.weathersolar.client.WeatherProvider;
+import com.weathersolar.config.SolarGridProperties;
+import com.weathersolar.exception.ExternalServiceException;
+import com.weathersolar.exception.UpstreamOverloadedException;
+import com.weathersolar.limiter.TrafficClass;
+import com.weathersolar.limiter.UpstreamLimiter;
+import com.weathersolar.utils.SolarEnergyCalculator;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Expected PV yield over a bounding box. The box is cut into fixed tiles of the global lattice; each
+ * tile missing from the cache costs one multi-location upstream call for its forecast sunshine, and
+ * the yields of each fetched tile are computed on a fork-join pool while further batches are still in
+ * flight. Computed tiles are cached per kWp, so boxes that overlap earlier ones only fetch the tiles
+ * that are new.
+ */
+@Slf4j
+@Service
+public class SolarGridService {
+    static final List<String> SUNSHINE = List.of("sunshine_duration");
+    private static final double LATTICE_EPSILON = 1e-9;
+
+    private final WeatherProvider weatherProvider;
+    private final SolarEnergyCalculator solarEnergyCalculator;
+    private final UpstreamLimiter upstreamLimiter;
+    private final SolarGridProperties properties;
+    private final Clock clock;
+    private final TileCache cache;
+    private final ForkJoinPool pool;
+    private final Map<TileKey, CompletableFuture<GridTile>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SolarGridService(WeatherProvider weatherProvider, SolarEnergyCalculator solarEnergyCalculator,
+            UpstreamLimiter upstreamLimiter, SolarGridProperties properties) {
+        this(weatherProvider, solarEnergyCalculator, upstreamLimiter, properties, Clock.systemUTC());
+    }
+
+    SolarGridService(WeatherProvider weatherProvider, SolarEnergyCalculator solarEnergyCalculator,
+            UpstreamLimiter upstreamLimiter, SolarGridProperties properties, Clock clock) {
+        this.weatherProvider = weatherProvider;
+        this.solarEnergyCalculator = solarEnergyCalculator;
+        this.upstreamLimiter = upstreamLimiter;
+        this.properties = properties;
+        this.clock = clock;
+        this.cache = new TileCache(properties);
+        this.pool = new ForkJoinPool(properties.getParallelism() > 0
+            ? properties.getParallelism() : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Yields for {@code date} (tomorrow in UTC when {@code null}) at {@code resolution} degrees per
+     * cell, for an installation of {@code installedPowerKw}.
+     */
+    public SolarGrid getGrid(BoundingBox bbox, double resolution, LocalDate date, double installedPowerKw) {
+        if (!(resolution >= properties.getMinResolution() && resolution <= properties.getMaxResolution())) {
+            throw new IllegalArgumentException("Resolution must be between " + properties.getMinResolution()
+                + " and " + properties.getMaxResolution() + " degrees, got: " + resolution);
+        }
+        if (!(installedPowerKw > 0)) {
+            throw new IllegalArgumentException("Installed power must be positive, got: " + installedPowerKw);
+        }
+        LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+        LocalDate day = date != null ? date : today.plusDays(1);
+        int dayIndex = (int) (day.toEpochDay() - today.toEpochDay());
+        if (dayIndex < 0 || dayIndex >= OpenMeteoClient.MAX_FORECAST_DAYS) {
+            throw new IllegalArgumentException("Date must be within the next " + OpenMeteoClient.MAX_FORECAST_DAYS
+                + " days, got: " + day);
+        }
+
+        long resolutionMicros = Math.round(resolution * 1e6);
+        double step = resolutionMicros / 1e6;
+        int tileSize = properties.getTileSize();
+        int firstRow = firstCell(bbox.minLatitude() + 90, step);
+        int lastRow = Math.max(firstRow, lastCell(bbox.maxLatitude() + 90, step));
+        int firstCol = firstCell(bbox.minLongitude() + 180, step);
+        int lastCol = Math.max(firstCol, lastCell(bbox.maxLongitude() + 180, step));
+        long cells = (long) (lastRow - firstRow + 1) * (lastCol - firstCol + 1);
+        if (cells > properties.getMaxCells()) {
+            throw new IllegalArgumentException("Grid of " + cells + " cells exceeds the limit of "
+                + properties.getMaxCells() + "; use a smaller box or a coarser resolution");
+        }
+
+        int firstTileRow = firstRow / tileSize;
+        int firstTileCol = firstCol / tileSize;
+        int tileCols = lastCol / tileSize - firstTileCol + 1;
+        List<TileKey> keys = new ArrayList<>();
+        for (int tileRow = firstTileRow; tileRow <= lastRow / tileSize; tileRow++) {
+            for (int tileCol = firstTileCol; tileCol <= lastCol / tileSize; tileCol++) {
+                keys.add(new TileKey(resolutionMicros, day.toEpochDay(), tileRow, tileCol));
+            }
+        }
+
+        Map<TileKey, GridTile> tiles = tiles(keys, day, dayIndex);
+        return new SolarGrid(day, step, tileSize, installedPowerKw, firstRow, firstCol, lastRow - firstRow + 1,
+            lastCol - firstCol + 1, firstTileRow, firstTileCol, tileCols, keys.stream().map(tiles::get).toList());
+    }
+
+    int cachedTiles() {
+        return cache.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Cached tiles as they are; the rest computed here unless another request is already computing
+     * them, in which case that result is awaited, the same single flight the forecast cache uses.
+     */
+    private Map<TileKey, GridTile> tiles(List<TileKey> keys, LocalDate day, int dayIndex) {
+        Map<TileKey, GridTile> tiles = new LinkedHashMap<>();
+        Map<TileKey, CompletableFuture<GridTile>> owned = new LinkedHashMap<>();
+        Map<TileKey, CompletableFuture<GridTile>> awaited = new LinkedHashMap<>();
+        for (TileKey key : keys) {
+            GridTile cached = cache.get(key);
+            if (cached != null) {
+                tiles.put(key, cached);
+                continue;
+            }
+            CompletableFuture<GridTile> claim = new CompletableFuture<>();
+            CompletableFuture<GridTile> running = inFlight.putIfAbsent(key, claim);
+            if (running != null) {
+                awaited.put(key, running);
+            } else {
+                owned.put(key, claim);
+            }
+        }
+
+        try {
+            if (!owned.isEmpty()) {
+                compute(owned, day, dayIndex);
+            }
+        } catch (RuntimeException e) {
+            // Tiles computed before the failure are cached and their claims already complete
+            owned.values().forEach(claim -> claim.completeExceptionally(e));
+            throw e;
+        } finally {
+            owned.forEach(inFlight::remove);
+        }
+
+        owned.forEach((key, claim) -> tiles.put(key, claim.join()));
+        awaited.forEach((key, running) -> tiles.put(key, await(running)));
+        return tiles;
+    }
+
+    /**
+     * Fetches the claimed tiles with bounded concurrency and hands each batch to the pool as soon as it
+     * arrives; a computed tile is cached and its claim completed right away, so a failing batch only
+     * loses its own tile and the ones not fetched yet.
+     */
+    private void compute(Map<TileKey, CompletableFuture<GridTile>> owned, LocalDate day, int dayIndex) {
+        int tileSize = properties.getTileSize();
+        long start = System.nanoTime();
+        List<CompletableFuture<GridTile>> computing = Collections.synchronizedList(new ArrayList<>());
+        RuntimeException failure = null;
+        try {
+            Flux.fromIterable(owned.keySet())
+                .flatMap(key -> Mono.fromCallable(() -> fetchSunshine(key, tileSize, dayIndex))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .doOnNext(hours -> computing.add(CompletableFuture
+                        .supplyAsync(() -> computeTile(key, hours, tileSize, day), pool)
+                        .whenComplete((tile, error) -> {
+                            if (tile != null) {
+                                cache.put(tile);
+                                owned.get(key).complete(tile);
+                            }
+                        }))),
+                    Math.max(1, properties.getFetchConcurrency()))
+                .then()
+                .block();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        List<CompletableFuture<GridTile>> started;
+        synchronized (computing) {
+            started = new ArrayList<>(computing);
+        }
+        started.forEach(SolarGridService::await);
+        log.debug("Computed {} of {} solar grid tiles in {} ms", started.size(), owned.size(),
+            (System.nanoTime() - start) / 1_000_000);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private GridTile computeTile(TileKey key, float[] sunshineHours, int tileSize, LocalDate day) {
+        float[] yields = new float[tileSize * tileSize];
+        new YieldTask(new TileKey[] {key}, new float[][] {sunshineHours}, new float[][] {yields}, tileSize, day,
+            solarEnergyCalculator, 0, yields.length).invoke();
+        return new GridTile(key, yields, System.currentTimeMillis());
+    }
+
+    /** Sunshine hours of every cell of the tile from one batch call; NaN for cells off the globe. */
+    private float[] fetchSunshine(TileKey key, int tileSize, int dayIndex) {
+        float[] hours = new float[tileSize * tileSize];
+        Arrays.fill(hours, Float.NaN);
+        int[] cells = new int[hours.length];
+        double[] latitudes = new double[hours.length];
+        double[] longitudes = new double[hours.length];
+        int count = 0;
+        for (int cell = 0; cell < hours.length; cell++) {
+            double latitude = cellLatitude(key, tileSize, cell / tileSize);
+            double longitude = cellLongitude(key, tileSize, cell % tileSize);
+            if (latitude <= 90 && longitude <= 180) {
+                cells[count] = cell;
+                latitudes[count] = latitude;
+                longitudes[count] = longitude;
+                count++;
+            }
+        }
+        if (count == 0) {
+            return hours;
+        }
+
+        double[] batchLatitudes = Arrays.copyOf(latitudes, count);
+        double[] batchLongitudes = Arrays.copyOf(longitudes, count);
+        List<JsonNode> locations;
+        try {
+            locations = upstreamLimiter.call(TrafficClass.BACKGROUND, () -> weatherProvider
+                .getDailyBatch(batchLatitudes, batchLongitudes, dayIndex + 1, SUNSHINE)
+                .block(properties.getFetchTimeout()));
+        } catch (UpstreamOverloadedException | ExternalServiceException e) {
+            throw e;
+        } catch (WebClientException e) {
+            throw new ExternalServiceException("Network error while fetching solar grid data", e, 503);
+        } catch (RuntimeException e) {
+            log.error("Solar grid batch for tile {} failed: {}", key, e.getMessage());
+            throw new ExternalServiceException("Failed to fetch solar grid data", e, 503);
+        }
+        if (locations == null || locations.size() != count) {
+            throw new ExternalServiceException("Invalid solar grid data received from API", 500);
+        }
+
+        for (int i = 0; i < count; i++) {
+            JsonNode seconds = locations.get(i).path("daily").path("sunshine_duration").path(dayIndex);
+            if (seconds.isNumber()) {
+                hours[cells[i]] = (float) (seconds.asDouble() / 3600);
+            }
+        }
+        return hours;
+    }
+
+    private static GridTile await(CompletableFuture<GridTile> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Edges that fall on the lattice stay on it despite the binary rounding of 0.1 and the like.
+    private static int firstCell(double offset, double step) {
+        return (int) Math.floor(offset / step + LATTICE_EPSILON);
+    }
+
+    private static int lastCell(double offset, double step) {
+        return (int) Math.ceil(offset / step - LATTICE_EPSILON) - 1;
+    }
+
+    static double cellLatitude(TileKey key, int tileSize, int row) {
+        return -90 + ((long) key.tileRow() * tileSize + row + 0.5) * key.resolution();
+    }
+
+    static double cellLongitude(TileKey key, int tileSize, int col) {
+        return -180 + ((long) key.tileCol() * tileSize + col + 0.5) * key.resolution();
+    }
+}
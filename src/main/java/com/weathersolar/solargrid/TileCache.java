@@ -0,0 +1,45 @@
+package com.weathersolar.solargrid;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.weathersolar.config.SolarGridProperties;
+
+/**
+ * Computed tiles, so panning or zooming back only computes the cells that are new. Least recently used
+ * tiles go first once {@code max-tiles} is reached, one per insert, so a full cache costs no scans.
+ */
+class TileCache {
+    private final SolarGridProperties properties;
+    private final Map<TileKey, GridTile> tiles;
+
+    TileCache(SolarGridProperties properties) {
+        this.properties = properties;
+        this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TileKey, GridTile> eldest) {
+                return size() > properties.getMaxTiles();
+            }
+        };
+    }
+
+    synchronized GridTile get(TileKey key) {
+        GridTile tile = tiles.get(key);
+        if (tile == null) {
+            return null;
+        }
+        if (tile.isExpired(System.currentTimeMillis(), properties.getTileTtl().toMillis())) {
+            tiles.remove(key);
+            return null;
+        }
+        return tile;
+    }
+
+    synchronized void put(GridTile tile) {
+        tiles.put(tile.key(), tile);
+    }
+
+    synchronized int size() {
+        return tiles.size();
+    }
+}
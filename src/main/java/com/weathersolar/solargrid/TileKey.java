@@ -0,0 +1,13 @@
+package com.weathersolar.solargrid;
+
+/**
+ * A square of {@code tileSize}² cells on the global lattice of one resolution, for one UTC day. Cell
+ * {@code (row, col)} of the lattice is centred on {@code -90 + (row + 0.5) * resolution},
+ * {@code -180 + (col + 0.5) * resolution}, so boxes that overlap share tiles whatever their corners.
+ */
+public record TileKey(long resolutionMicros, long epochDay, int tileRow, int tileCol) {
+
+    public double resolution() {
+        return resolutionMicros / 1e6;
+    }
+}
@@ -0,0 +1,67 @@
+package com.weathersolar.solargrid;
+
+import java.time.LocalDate;
+import java.util.concurrent.RecursiveAction;
+
+import com.weathersolar.utils.SolarEnergyCalculator;
+import com.weathersolar.utils.SolarEphemeris;
+
+/**
+ * Turns forecast sunshine hours into yields for a range of cells across several tiles, splitting in
+ * halves until a range is small enough to run on one fork-join worker. Sunshine is capped at the
+ * astronomical day length of each cell, which the model occasionally overshoots at dawn and dusk.
+ */
+class YieldTask extends RecursiveAction {
+    static final int THRESHOLD = 512;
+
+    private final TileKey[] keys;
+    private final float[][] sunshineHours;
+    private final float[][] yields;
+    private final int tileSize;
+    private final LocalDate date;
+    private final SolarEnergyCalculator calculator;
+    private final int from;
+    private final int to;
+
+    YieldTask(TileKey[] keys, float[][] sunshineHours, float[][] yields, int tileSize, LocalDate date,
+            SolarEnergyCalculator calculator, int from, int to) {
+        this.keys = keys;
+        this.sunshineHours = sunshineHours;
+        this.yields = yields;
+        this.tileSize = tileSize;
+        this.date = date;
+        this.calculator = calculator;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            computeDirectly();
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new YieldTask(keys, sunshineHours, yields, tileSize, date, calculator, from, mid),
+            new YieldTask(keys, sunshineHours, yields, tileSize, date, calculator, mid, to));
+    }
+
+    private void computeDirectly() {
+        int cellsPerTile = tileSize * tileSize;
+        for (int index = from; index < to; index++) {
+            int tile = index / cellsPerTile;
+            int cell = index % cellsPerTile;
+            float hours = sunshineHours[tile][cell];
+            if (Float.isNaN(hours)) {
+                yields[tile][cell] = Float.NaN;
+                continue;
+            }
+            TileKey key = keys[tile];
+            double latitude = SolarGridService.cellLatitude(key, tileSize, cell / tileSize);
+            double longitude = SolarGridService.cellLongitude(key, tileSize, cell % tileSize);
+            double daylight = SolarEphemeris.compute(latitude, longitude, date).daylightHours();
+            double sunHours = Math.max(0, Math.min(hours, daylight));
+            yields[tile][cell] = (float) calculator.calculateDailySolarEnergy(sunHours, 1.0);
+        }
+    }
+}
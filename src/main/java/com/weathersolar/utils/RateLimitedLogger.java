@@ -0,0 +1,57 @@
+package com.weathersolar.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * Logs at most {@code permits} messages per interval for one call site and counts the rest, so a
+ * flood of identical failures costs two atomic operations per request instead of a log line each.
+ * The suppressed count is reported with the next message that gets through.
+ */
+public class RateLimitedLogger {
+    private final Logger logger;
+    private final long intervalNanos;
+    private final int permits;
+    private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong used = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLogger(Logger logger, long intervalNanos, int permits) {
+        this.logger = logger;
+        this.intervalNanos = intervalNanos;
+        this.permits = permits;
+    }
+
+    public void warn(String format, Object argument) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        if (!tryAcquire()) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        long skipped = suppressed.getAndSet(0);
+        if (skipped > 0) {
+            logger.warn(format + " ({} similar messages suppressed)", argument, skipped);
+        } else {
+            logger.warn(format, argument);
+        }
+    }
+
+    public long suppressed() {
+        return suppressed.get();
+    }
+
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long current = window.get();
+        if (current == Long.MIN_VALUE || now - current >= intervalNanos) {
+            if (window.compareAndSet(current, now)) {
+                used.set(1);
+                return true;
+            }
+        }
+        return used.incrementAndGet() <= permits;
+    }
+}
@@ -13,7 +13,13 @@ public class SolarEnergyCalculator {
 
     public double calculateDailySolarEnergy(double sunExposureHours) {
         validateSunExposureHours(sunExposureHours);
-        return solarProperties.getPower() * sunExposureHours * solarProperties.getPanelEfficiency() * solarProperties.getSystemLosses();
+        return dailySolarEnergy(solarProperties.getPower(), sunExposureHours);
+    }
+
+    public double calculateDailySolarEnergy(double sunExposureHours, double installedPowerKw) {
+        validateSunExposureHours(sunExposureHours);
+        validateInstalledPower(installedPowerKw);
+        return dailySolarEnergy(installedPowerKw, sunExposureHours);
     }
 
     public double calculateMonthlySolarEnergy(double averageDailySunHours, int daysInMonth) {
@@ -34,6 +40,10 @@ public class SolarEnergyCalculator {
         return solarProperties.getPanelEfficiency() * solarProperties.getSystemLosses() * cloudReduction;
     }
 
+    private double dailySolarEnergy(double powerKw, double sunExposureHours) {
+        return powerKw * sunExposureHours * solarProperties.getPanelEfficiency() * solarProperties.getSystemLosses();
+    }
+
     private void validateSunExposureHours(double sunExposureHours) {
         if (sunExposureHours < 0 || sunExposureHours > 24) {
             throw new IllegalArgumentException(
@@ -42,6 +52,14 @@ public class SolarEnergyCalculator {
         }
     }
 
+    private void validateInstalledPower(double installedPowerKw) {
+        if (!(installedPowerKw > 0)) {
+            throw new IllegalArgumentException(
+                "Installed power must be positive, got: " + installedPowerKw
+            );
+        }
+    }
+
     private void validateDaysInMonth(int daysInMonth) {
         if (daysInMonth < 1 || daysInMonth > 31) {
             throw new IllegalArgumentException(
@@ -0,0 +1,94 @@
+package com.weathersolar.utils;
+
+import java.time.LocalDate;
+
+/**
+ * Sunrise, sunset and day length from the NOAA solar position equations (Meeus, "Astronomical
+ * Algorithms"), evaluated at the location's approximate solar noon. Accurate to about a minute
+ * between ±72° latitude, which is well inside what the upstream API reports, and allocation-free
+ * apart from the result, so callers can compute it per request instead of fetching it.
+ */
+public final class SolarEphemeris {
+    /** Refraction plus the solar disc radius: the sun counts as up when its centre is 0.833° below the horizon. */
+    private static final double COS_ZENITH = Math.cos(Math.toRadians(90.833));
+    private static final double UNIX_EPOCH_JULIAN_DAY = 2440587.5;
+    private static final double J2000 = 2451545.0;
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private SolarEphemeris() {
+    }
+
+    /**
+     * Sun times for the local calendar day {@code date} at the given coordinates. Instants are UTC epoch
+     * seconds; during polar day or night there is no sunrise or sunset and the day length is 24 or 0 hours.
+     */
+    public static SunTimes compute(double latitude, double longitude, LocalDate date) {
+        long epochDay = date.toEpochDay();
+        double julianDay = UNIX_EPOCH_JULIAN_DAY + epochDay + 0.5 - longitude / 360.0;
+        double t = (julianDay - J2000) / 36525.0;
+
+        double meanLongitude = Math.toRadians(normalizeDegrees(280.46646 + t * (36000.76983 + t * 0.0003032)));
+        double meanAnomaly = Math.toRadians(357.52911 + t * (35999.05029 - 0.0001537 * t));
+        double eccentricity = 0.016708634 - t * (0.000042037 + 0.0000001267 * t);
+        double centre = Math.sin(meanAnomaly) * (1.914602 - t * (0.004817 + 0.000014 * t))
+            + Math.sin(2 * meanAnomaly) * (0.019993 - 0.000101 * t)
+            + Math.sin(3 * meanAnomaly) * 0.000289;
+        double omega = Math.toRadians(125.04 - 1934.136 * t);
+        double apparentLongitude = meanLongitude + Math.toRadians(centre - 0.00569 - 0.00478 * Math.sin(omega));
+        double meanObliquity = 23 + (26 + (21.448 - t * (46.815 + t * (0.00059 - t * 0.001813))) / 60) / 60;
+        double obliquity = Math.toRadians(meanObliquity + 0.00256 * Math.cos(omega));
+        double declination = Math.asin(Math.sin(obliquity) * Math.sin(apparentLongitude));
+
+        double y = Math.tan(obliquity / 2);
+        y *= y;
+        double equationOfTimeMinutes = 4 * Math.toDegrees(
+            y * Math.sin(2 * meanLongitude)
+                - 2 * eccentricity * Math.sin(meanAnomaly)
+                + 4 * eccentricity * y * Math.sin(meanAnomaly) * Math.cos(2 * meanLongitude)
+                - 0.5 * y * y * Math.sin(4 * meanLongitude)
+                - 1.25 * eccentricity * eccentricity * Math.sin(2 * meanAnomaly));
+
+        double solarNoonSeconds = (720 - 4 * longitude - equationOfTimeMinutes) * 60;
+        long dayStart = epochDay * SECONDS_PER_DAY;
+        long solarNoon = dayStart + Math.round(solarNoonSeconds);
+
+        double lat = Math.toRadians(latitude);
+        double cosHourAngle = COS_ZENITH / (Math.cos(lat) * Math.cos(declination)) - Math.tan(lat) * Math.tan(declination);
+        if (cosHourAngle >= 1) {
+            return SunTimes.polar(solarNoon, false);
+        }
+        if (cosHourAngle <= -1) {
+            return SunTimes.polar(solarNoon, true);
+        }
+        double hourAngleSeconds = Math.toDegrees(Math.acos(cosHourAngle)) * 4 * 60;
+        return new SunTimes(
+            dayStart + Math.round(solarNoonSeconds - hourAngleSeconds),
+            dayStart + Math.round(solarNoonSeconds + hourAngleSeconds),
+            solarNoon,
+            2 * hourAngleSeconds);
+    }
+
+    private static double normalizeDegrees(double degrees) {
+        double normalized = degrees % 360;
+        return normalized < 0 ? normalized + 360 : normalized;
+    }
+
+    /**
+     * Sunrise and sunset as UTC epoch seconds, or {@link #NONE} when the sun does not cross the horizon.
+     */
+    public record SunTimes(long sunrise, long sunset, long solarNoon, double daylightSeconds) {
+        public static final long NONE = Long.MIN_VALUE;
+
+        static SunTimes polar(long solarNoon, boolean sunUp) {
+            return new SunTimes(NONE, NONE, solarNoon, sunUp ? SECONDS_PER_DAY : 0);
+        }
+
+        public boolean hasSunrise() {
+            return sunrise != NONE;
+        }
+
+        public double daylightHours() {
+            return daylightSeconds / 3600.0;
+        }
+    }
+}
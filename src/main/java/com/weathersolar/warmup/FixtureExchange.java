@@ -0,0 +1,63 @@
+package com.weathersolar.warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-process stand-in for Open-Meteo that answers every forecast call with a recorded payload. It
+ * replaces only the connector, so the warm-up still drives the WebClient request building, codecs and
+ * the streaming parsers without opening a socket.
+ */
+class FixtureExchange implements ExchangeFunction {
+    private static final int CHUNK_SIZE = 1024;
+
+    private final byte[] daily = fixture("daily.json");
+    private final byte[] pressure = fixture("pressure.json");
+    private final byte[] hourly = fixture("hourly.json");
+
+    @Override
+    public Mono<ClientResponse> exchange(ClientRequest request) {
+        String query = URLDecoder.decode(request.url().getRawQuery(), StandardCharsets.UTF_8);
+        byte[] body = query.contains("daily=") ? daily
+            : query.contains("hourly=pressure_msl&") ? pressure
+            : hourly;
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(chunks(body))
+            .build());
+    }
+
+    /** Split like a network read would be, so the incremental parsers see more than one buffer. */
+    private static Flux<DataBuffer> chunks(byte[] body) {
+        return Flux.range(0, (body.length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+            .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(ByteBuffer.wrap(body, chunk * CHUNK_SIZE,
+                Math.min(CHUNK_SIZE, body.length - chunk * CHUNK_SIZE))));
+    }
+
+    private static byte[] fixture(String name) {
+        try (InputStream in = FixtureExchange.class.getResourceAsStream("/warmup/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing warm-up fixture " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
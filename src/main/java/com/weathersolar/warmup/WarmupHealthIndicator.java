@@ -0,0 +1,31 @@
+package com.weathersolar.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reported as {@code warmup} and included in the readiness group, so the probe stays
+ * OUT_OF_SERVICE until {@link WarmupRunner} is done. A failed warm-up still reports UP: a cold
+ * instance is better than one that never takes traffic.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+    private final WarmupRunner warmupRunner;
+
+    @Override
+    public Health health() {
+        WarmupRunner.Progress progress = warmupRunner.progress();
+        Health.Builder builder = progress.phase().isFinished() ? Health.up() : Health.outOfService();
+        return builder
+            .withDetail("phase", progress.phase())
+            .withDetail("rounds", progress.rounds())
+            .withDetail("requests", progress.requests())
+            .withDetail("requestsPerSecond", Math.round(progress.requestsPerSecond()))
+            .withDetail("elapsedMillis", progress.elapsedMillis())
+            .build();
+    }
+}
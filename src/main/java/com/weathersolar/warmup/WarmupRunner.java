@@ -0,0 +1,252 @@
+package com.weathersolar.warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.support.DefaultHandlerExceptionResolver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weathersolar.aggregate.AggregateEngine;
+import com.weathersolar.cache.ForecastCache;
+import com.weathersolar.client.OpenMeteoClient;
+import com.weathersolar.cluster.PeerForwarder;
+import com.weathersolar.config.CacheProperties;
+import com.weathersolar.config.ClusterProperties;
+import com.weathersolar.config.LimiterProperties;
+import com.weathersolar.config.RateLimitProperties;
+import com.weathersolar.config.RefreshProperties;
+import com.weathersolar.config.WarmupProperties;
+import com.weathersolar.controller.CoordinateGuardInterceptor;
+import com.weathersolar.controller.WeatherController;
+import com.weathersolar.exception.GlobalExceptionHandler;
+import com.weathersolar.limiter.ClientRateLimitInterceptor;
+import com.weathersolar.limiter.ClientRateLimiter;
+import com.weathersolar.limiter.UpstreamLimiter;
+import com.weathersolar.serialization.ResponseBodyEncoder;
+import com.weathersolar.service.PressureRefresher;
+import com.weathersolar.service.SolarService;
+import com.weathersolar.service.WeatherService;
+import com.weathersolar.utils.SolarEnergyCalculator;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays recorded Open-Meteo payloads as HTTP requests through the dispatcher, interceptors, controller,
+ * service and message conversion after start-up, until request throughput stops improving between
+ * rounds, so the JIT has compiled the hot paths before {@link WarmupHealthIndicator} lets the readiness
+ * probe report UP.
+ *
+ * <p>Requests go over loopback HTTP to a {@link WarmupServer} whose dispatcher serves a private copy of the
+ * service graph, with its WebClient answered by {@link FixtureExchange}: live caches, aggregates, limiters and
+ * metrics are never touched, but the classes, and with them the JIT profiles, are the ones live traffic will use.
+ */
+@Slf4j
+@Component
+public class WarmupRunner {
+    private static final String THREAD_NAME = "jit-warmup";
+    private static final String JSON = "application/json";
+    private static final String PROTOBUF = "application/x-protobuf";
+
+    public enum Phase {
+        PENDING, RUNNING, COMPLETED, FAILED, DISABLED;
+
+        public boolean isFinished() {
+            return this != PENDING && this != RUNNING;
+        }
+    }
+
+    public record Progress(Phase phase, int rounds, long requests, double requestsPerSecond, long elapsedMillis) {
+    }
+
+    private final WarmupProperties properties;
+    private final SolarEnergyCalculator solarEnergyCalculator;
+    private final SolarService solarService;
+    private final ResponseBodyEncoder responseBodyEncoder;
+    private final ObjectMapper objectMapper;
+    private final WebClient.Builder webClientBuilder;
+    private final HttpMessageConverters messageConverters;
+    private final CoordinateGuardInterceptor coordinateGuardInterceptor;
+    private volatile Progress progress;
+
+    public WarmupRunner(WarmupProperties properties, SolarEnergyCalculator solarEnergyCalculator,
+            SolarService solarService, ResponseBodyEncoder responseBodyEncoder, ObjectMapper objectMapper,
+            WebClient.Builder webClientBuilder, HttpMessageConverters messageConverters,
+            CoordinateGuardInterceptor coordinateGuardInterceptor) {
+        this.properties = properties;
+        this.solarEnergyCalculator = solarEnergyCalculator;
+        this.solarService = solarService;
+        this.responseBodyEncoder = responseBodyEncoder;
+        this.objectMapper = objectMapper;
+        this.webClientBuilder = webClientBuilder;
+        this.messageConverters = messageConverters;
+        this.coordinateGuardInterceptor = coordinateGuardInterceptor;
+        this.progress = new Progress(properties.isEnabled() ? Phase.PENDING : Phase.DISABLED, 0, 0, 0, 0);
+    }
+
+    public Progress progress() {
+        return progress;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (progress.phase() != Phase.PENDING) {
+            return;
+        }
+        Thread thread = new Thread(this::run, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void run() {
+        long start = System.nanoTime();
+        progress = new Progress(Phase.RUNNING, 0, 0, 0, 0);
+        WarmupThreadFilter logFilter = quietLogging();
+        try (WarmupServer server = new WarmupServer(dispatcher(), THREAD_NAME)) {
+            long deadline = start + properties.getMaxDuration().toNanos();
+            int rounds = 0;
+            int stable = 0;
+            long sessions = 0;
+            long requests = 0;
+            double previous = 0;
+            double throughput = 0;
+
+            while (System.nanoTime() < deadline) {
+                long roundStart = System.nanoTime();
+                long roundRequests = 0;
+                for (int i = 0; i < properties.getRoundSize(); i++) {
+                    roundRequests += replay(server, sessions++);
+                }
+                requests += roundRequests;
+                rounds++;
+                throughput = roundRequests * 1e9 / Math.max(1, System.nanoTime() - roundStart);
+                stable = previous > 0 && Math.abs(throughput - previous) <= properties.getTolerance() * previous
+                    ? stable + 1 : 0;
+                previous = throughput;
+                progress = new Progress(Phase.RUNNING, rounds, requests, throughput, elapsedMillis(start));
+                if (rounds >= properties.getMinRounds() && stable >= properties.getStableRounds()) {
+                    break;
+                }
+            }
+
+            progress = new Progress(Phase.COMPLETED, rounds, requests, throughput, elapsedMillis(start));
+            log.info("JIT warm-up finished: {} requests in {} rounds, {} ms, {} req/s{}", requests, rounds,
+                elapsedMillis(start), Math.round(throughput),
+                stable >= properties.getStableRounds() ? "" : " (time limit reached before throughput settled)");
+        } catch (Exception e) {
+            Progress last = progress;
+            progress = new Progress(Phase.FAILED, last.rounds(), last.requests(), last.requestsPerSecond(),
+                elapsedMillis(start));
+            log.warn("JIT warm-up failed after {} requests, reporting ready anyway: {}", last.requests(), e.toString());
+        } finally {
+            if (logFilter != null) {
+                logFilter.stop();
+            }
+        }
+    }
+
+    /**
+     * One client session against a fresh cell: a forecast miss, the cached forecast in another format,
+     * the weekly summary, the solar forecast and, every few sessions, the hourly series.
+     */
+    private int replay(WarmupServer server, long sequence) throws Exception {
+        // golden-ratio stride: consecutive sessions land on distinct cache cells all over the globe
+        String latitude = String.valueOf(Math.round((sequence * 0.618033988749895 % 1.0 * 150 - 75) * 100) / 100.0);
+        String longitude = String.valueOf(Math.round((sequence * 0.7548776662466927 % 1.0 * 340 - 170) * 100) / 100.0);
+
+        String query = "?latitude=" + latitude + "&longitude=" + longitude;
+
+        server.get("/api/weather/forecast" + query, JSON);
+        server.get("/api/weather/forecast" + query, PROTOBUF, "gzip");
+        server.get("/api/weather/summary" + query, JSON);
+        server.get("/api/weather/solar" + query, JSON);
+        if (sequence % 8 != 0) {
+            return 4;
+        }
+        server.get("/api/weather/forecast/hourly" + query, JSON);
+        return 5;
+    }
+
+    /**
+     * The MVC infrastructure is registered by hand rather than through {@code @EnableWebMvc}, so the private
+     * context needs no configuration-class processing and cannot be mistaken for the application's own.
+     */
+    private DispatcherServlet dispatcher() {
+        // A private rate limiter wide enough never to reject, so the admission path is compiled without
+        // spending the budget of any live client
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.setCapacity(1_000_000);
+        rateLimitProperties.setRefillPerSecond(1e9);
+        rateLimitProperties.setTableSize(16);
+        List<HttpMessageConverter<?>> converters = messageConverters.getConverters();
+
+        GenericWebApplicationContext context = new GenericWebApplicationContext();
+        context.registerBean(WeatherController.class, this::controller);
+        context.registerBean(GlobalExceptionHandler.class, GlobalExceptionHandler::new);
+        context.registerBean(RequestMappingHandlerMapping.class, () -> {
+            RequestMappingHandlerMapping mapping = new RequestMappingHandlerMapping();
+            mapping.setInterceptors(new ClientRateLimitInterceptor(new ClientRateLimiter(rateLimitProperties),
+                rateLimitProperties, new ClusterProperties()), coordinateGuardInterceptor);
+            return mapping;
+        });
+        context.registerBean(RequestMappingHandlerAdapter.class, () -> {
+            RequestMappingHandlerAdapter adapter = new RequestMappingHandlerAdapter();
+            adapter.setMessageConverters(converters);
+            adapter.setTaskExecutor(new SimpleAsyncTaskExecutor(THREAD_NAME + "-async-"));
+            return adapter;
+        });
+        context.registerBean(ExceptionHandlerExceptionResolver.class, () -> {
+            ExceptionHandlerExceptionResolver resolver = new ExceptionHandlerExceptionResolver();
+            resolver.setMessageConverters(converters);
+            return resolver;
+        });
+        context.registerBean(DefaultHandlerExceptionResolver.class, DefaultHandlerExceptionResolver::new);
+        return new DispatcherServlet(context);
+    }
+
+    private WeatherController controller() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxEntries(2048);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OpenMeteoClient client = new OpenMeteoClient("warmup",
+            webClientBuilder.clone().exchangeFunction(new FixtureExchange()), "http://warmup.invalid");
+        AggregateEngine aggregateEngine = new AggregateEngine(cacheProperties);
+        PressureRefresher pressureRefresher = new PressureRefresher(client, aggregateEngine, new RefreshProperties(),
+            cacheProperties, objectMapper, meterRegistry);
+        WeatherService weatherService = new WeatherService(client, solarEnergyCalculator,
+            new ForecastCache(cacheProperties), aggregateEngine, pressureRefresher,
+            new UpstreamLimiter(new LimiterProperties(), meterRegistry), PeerForwarder.LOCAL);
+        return new WeatherController(weatherService, responseBodyEncoder, solarService);
+    }
+
+    /**
+     * The services log every upstream fetch at INFO; thousands of replays would flood the log. Events
+     * below WARN are dropped on the warm-up's own threads only, so live requests keep their configured levels.
+     */
+    private static WarmupThreadFilter quietLogging() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return null;
+        }
+        WarmupThreadFilter filter = new WarmupThreadFilter(context, THREAD_NAME);
+        filter.start();
+        return filter;
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,112 @@
+package com.weathersolar.warmup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterRegistration;
+import jakarta.servlet.ServletRegistration;
+
+/**
+ * A loopback-only Tomcat on an ephemeral port in front of the warm-up's private {@link DispatcherServlet}.
+ * Requests are real HTTP, so the connector, request parsing, dispatcher and response writing compiled here
+ * are the ones live traffic uses. Its threads are named after the warm-up thread so
+ * {@link WarmupThreadFilter} keeps them quiet too.
+ */
+final class WarmupServer implements AutoCloseable {
+    private final ExecutorService workers;
+    private final WebServer webServer;
+    private final HttpClient client;
+    private final String baseUrl;
+
+    WarmupServer(DispatcherServlet dispatcher, String threadPrefix) {
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, threadPrefix + "-http-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory();
+        factory.setAddress(InetAddress.getLoopbackAddress());
+        factory.setPort(0);
+        factory.setRegisterDefaultServlet(false);
+        factory.addProtocolHandlerCustomizers(protocol -> protocol.setExecutor(workers));
+        this.webServer = factory.getWebServer(servletContext -> {
+            ServletRegistration.Dynamic registration = servletContext.addServlet("warmup", dispatcher);
+            registration.addMapping("/");
+            registration.setAsyncSupported(true);
+            registration.setLoadOnStartup(1);
+            FilterRegistration.Dynamic loader = servletContext.addFilter("warmup-class-loader", applicationClassLoader());
+            loader.addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST, DispatcherType.ASYNC), false, "/*");
+            loader.setAsyncSupported(true);
+        });
+        try {
+            webServer.start();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.baseUrl = "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + webServer.getPort();
+    }
+
+    /**
+     * Tomcat runs requests with this server's webapp class loader as the context class loader, and shared pools
+     * first started by a warm-up request (Reactor's schedulers) would inherit it and keep it alive after
+     * {@link #close()}. Requests run with the application's loader instead.
+     */
+    private static Filter applicationClassLoader() {
+        ClassLoader application = WarmupServer.class.getClassLoader();
+        return (request, response, chain) -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(application);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+        };
+    }
+
+    void get(String pathAndQuery, String accept) throws IOException, InterruptedException {
+        send(HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery)).header(HttpHeaders.ACCEPT, accept));
+    }
+
+    void get(String pathAndQuery, String accept, String acceptEncoding) throws IOException, InterruptedException {
+        send(HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery)).header(HttpHeaders.ACCEPT, accept)
+            .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding));
+    }
+
+    private void send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpRequest built = request.GET().build();
+        HttpResponse<byte[]> response = client.send(built, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200 || response.body().length == 0) {
+            throw new IllegalStateException("Warm-up request " + built.uri().getPath() + " failed with "
+                + response.statusCode());
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            webServer.destroy();
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+}
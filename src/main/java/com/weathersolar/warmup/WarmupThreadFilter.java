@@ -0,0 +1,45 @@
+package com.weathersolar.warmup;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Drops events below WARN logged by the warm-up thread and the server threads named after it while installed,
+ * except the runner's own progress report. Logger levels are left alone, so the warm-up stays quiet without changing what live requests log in the meantime.
+ */
+class WarmupThreadFilter extends TurboFilter {
+    private final LoggerContext context;
+    private final String threadName;
+
+    WarmupThreadFilter(LoggerContext context, String threadName) {
+        this.context = context;
+        this.threadName = threadName;
+        setContext(context);
+        setName("warmup-" + threadName);
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        context.addTurboFilter(this);
+    }
+
+    @Override
+    public void stop() {
+        context.getTurboFilterList().remove(this);
+        super.stop();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        return !level.isGreaterOrEqual(Level.WARN) && Thread.currentThread().getName().startsWith(threadName)
+            && !WarmupRunner.class.getName().equals(logger.getName())
+            ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+}
@@ -3,7 +3,7 @@ package com.weathersolar;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "weather.warmup.enabled=false")
 class PogodaApplicationTests {
 
 	@Test
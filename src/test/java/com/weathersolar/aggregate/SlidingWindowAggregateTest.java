@@ -0,0 +1,82 @@
+package com.weathersolar.aggregate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowAggregateTest {
+    private static final long HOUR = 3600;
+
+    @Test
+    void shouldMatchFullRecomputationWhileSliding() {
+        SlidingWindowAggregate window = new SlidingWindowAggregate(24 * HOUR, 24);
+        List<double[]> points = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int hour = 0; hour < 500; hour++) {
+            double value = 1000 + random.nextGaussian() * 10;
+            window.append(hour * HOUR, value);
+            points.add(new double[] {hour, value});
+
+            List<double[]> visible = points.subList(Math.max(0, points.size() - 24), points.size());
+            assertEquals(visible.stream().mapToDouble(p -> p[1]).average().orElseThrow(), window.mean(), 1e-6);
+            assertEquals(visible.stream().mapToDouble(p -> p[1]).min().orElseThrow(), window.min());
+            assertEquals(visible.stream().mapToDouble(p -> p[1]).max().orElseThrow(), window.max());
+            assertEquals(slope(visible), window.slopePerHour(), 1e-6);
+        }
+    }
+
+    @Test
+    void shouldOnlyAppendNewPointsOnMerge() {
+        SlidingWindowAggregate window = new SlidingWindowAggregate(4 * HOUR, 4);
+        window.merge(new long[] {0, HOUR, 2 * HOUR}, new double[] {1010, 1012, 1014});
+        window.merge(new long[] {HOUR, 2 * HOUR, 3 * HOUR, 4 * HOUR}, new double[] {1012, 1014, 1016, 1018});
+
+        assertEquals(4, window.size());
+        assertEquals(1015, window.mean(), 1e-9);
+        assertEquals(1012, window.min());
+        assertEquals(2.0, window.slopePerHour(), 1e-9);
+    }
+
+    @Test
+    void shouldRebuildWhenMergedValueChanges() {
+        SlidingWindowAggregate window = new SlidingWindowAggregate(4 * HOUR, 4);
+        window.merge(new long[] {0, HOUR, 2 * HOUR}, new double[] {1010, 1005, 1014});
+        window.merge(new long[] {HOUR}, new double[] {1020});
+
+        assertEquals(1010, window.min());
+        assertEquals(1020, window.max());
+        assertEquals(1014.666, window.mean(), 1e-3);
+    }
+
+    @Test
+    void shouldDropPointsOutsideTimeSpan() {
+        SlidingWindowAggregate window = new SlidingWindowAggregate(2 * HOUR, 10);
+        window.append(0, 1);
+        window.append(HOUR, 2);
+        window.append(5 * HOUR, 3);
+
+        assertEquals(1, window.size());
+        assertTrue(window.slopePerHour() == 0);
+    }
+
+    private static double slope(List<double[]> points) {
+        int n = points.size();
+        if (n < 2) {
+            return 0;
+        }
+        double meanX = points.stream().mapToDouble(p -> p[0]).average().orElseThrow();
+        double meanY = points.stream().mapToDouble(p -> p[1]).average().orElseThrow();
+        double covariance = 0;
+        double variance = 0;
+        for (double[] p : points) {
+            covariance += (p[0] - meanX) * (p[1] - meanY);
+            variance += (p[0] - meanX) * (p[0] - meanX);
+        }
+        return covariance / variance;
+    }
+}
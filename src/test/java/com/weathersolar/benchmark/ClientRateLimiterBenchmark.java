@@ -0,0 +1,70 @@
+package com.weathersolar.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.weathersolar.config.RateLimitProperties;
+import com.weathersolar.limiter.ClientRateLimiter;
+
+/**
+ * Per-request overhead of the client rate limiter with many distinct clients hammering it from
+ * several threads. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ClientRateLimiterBenchmark {
+    private static final int CLIENTS = 20_000;
+    private static final int THREADS = 4;
+    private static final int WARMUP_ITERATIONS = 2_000_000;
+    private static final int MEASURED_ITERATIONS = 5_000_000;
+
+    @Test
+    void acquireOverhead() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setCapacity(1_000);
+        properties.setRefillPerSecond(1_000);
+        ClientRateLimiter limiter = new ClientRateLimiter(properties);
+        String[] clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "ip:10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+        }
+
+        run(limiter, clients, WARMUP_ITERATIONS);
+        long nanosPerRequest = run(limiter, clients, MEASURED_ITERATIONS);
+
+        System.out.printf("%d threads, %d clients: %d ns/request, %d buckets%n",
+            THREADS, CLIENTS, nanosPerRequest, limiter.size());
+        assertTrue(nanosPerRequest < 1_000, "limiter overhead " + nanosPerRequest + " ns/request");
+    }
+
+    private static long run(ClientRateLimiter limiter, String[] clients, int iterations) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t * 7919;
+                results.add(executor.submit(() -> {
+                    long sink = 0;
+                    long start = System.nanoTime();
+                    for (int i = 0; i < iterations; i++) {
+                        sink += limiter.tryAcquire(clients[(i + offset) % clients.length]);
+                    }
+                    return (System.nanoTime() - start) / iterations + (sink == Long.MIN_VALUE ? 1 : 0);
+                }));
+            }
+            long worst = 0;
+            for (Future<Long> result : results) {
+                worst = Math.max(worst, result.get());
+            }
+            return worst;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
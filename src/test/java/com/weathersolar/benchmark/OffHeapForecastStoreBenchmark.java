@@ -0,0 +1,128 @@
+package com.weathersolar.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.cache.CachedForecast;
+import com.weathersolar.cache.ForecastCache;
+import com.weathersolar.cache.ForecastKey;
+import com.weathersolar.config.CacheProperties;
+import com.weathersolar.dto.WeatherForecastResponse;
+
+/**
+ * Heap growth of the forecast cache when filled with a million 7-day forecasts, on-heap versus
+ * off-heap, plus the cost of a hit including the lazy decode. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class OffHeapForecastStoreBenchmark {
+    private static final int ENTRIES = 1_000_000;
+    private static final int LOOKUPS = 2_000_000;
+
+    @Test
+    void heapStaysFlatOffHeap() {
+        long onHeap = heapGrowth(false);
+        long offHeap = heapGrowth(true);
+
+        System.out.printf("%,d entries: on-heap cache +%,d MB heap, off-heap cache +%,d MB heap%n",
+            ENTRIES, onHeap >> 20, offHeap >> 20);
+        assertTrue(offHeap < 32L << 20, "off-heap cache grew the heap by " + (offHeap >> 20) + " MB");
+    }
+
+    @Test
+    void hitCost() {
+        CacheProperties properties = offHeapProperties();
+        ForecastCache cache = new ForecastCache(properties);
+        fill(cache, ENTRIES / 4);
+
+        double sink = 0;
+        int misses = 0;
+        for (int round = 0; round < 2; round++) {
+            misses = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                int location = (int) ((i * 7919L) % (ENTRIES / 4));
+                CachedForecast cached = cache.get(key(cache, location));
+                if (cached == null) {
+                    misses++;
+                } else {
+                    sink += cached.getForecast().getMaxTemperature();
+                }
+            }
+            long nanosPerLookup = (System.nanoTime() - start) / LOOKUPS;
+            if (round == 1) {
+                System.out.printf("off-heap lookup with decode: %d ns, %d misses (checksum %.0f)%n",
+                    nanosPerLookup, misses, sink);
+            }
+        }
+        // a full 8-way set evicts even below capacity, but only rarely at a quarter of it
+        assertTrue(misses < LOOKUPS / 1_000, misses + " misses");
+    }
+
+    private static long heapGrowth(boolean offHeap) {
+        CacheProperties properties = offHeap ? offHeapProperties() : new CacheProperties();
+        properties.setMaxEntries(ENTRIES);
+        long before = usedHeapAfterGc();
+        ForecastCache cache = new ForecastCache(properties);
+        fill(cache, ENTRIES);
+        long after = usedHeapAfterGc();
+        assertTrue(cache.size() > ENTRIES * 0.9, "cache kept " + cache.size() + " entries");
+        return after - before;
+    }
+
+    private static CacheProperties offHeapProperties() {
+        CacheProperties properties = new CacheProperties();
+        properties.setOffHeap(true);
+        properties.setOffHeapEntries(ENTRIES);
+        properties.setOffHeapStripes(128);
+        return properties;
+    }
+
+    private static void fill(ForecastCache cache, int entries) {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < entries; i++) {
+            cache.put(key(cache, i), new CachedForecast(forecast(i), now));
+        }
+    }
+
+    private static ForecastKey key(ForecastCache cache, int location) {
+        return cache.keyFor(35.0 + (location / 2_000) * 0.05, -10.0 + (location % 2_000) * 0.02, 7);
+    }
+
+    private static WeatherForecastResponse forecast(int location) {
+        List<DailyWeather> days = new ArrayList<>(7);
+        for (int d = 0; d < 7; d++) {
+            days.add(DailyWeather.builder()
+                .date(LocalDate.of(2024, 6, 1).plusDays(d))
+                .weatherCode(d)
+                .minTemperature(10.5)
+                .maxTemperature(20.0 + location % 10)
+                .solarEnergy(8.5)
+                .daylightHours(16.0)
+                .build());
+        }
+        return WeatherForecastResponse.builder()
+            .dailyForecasts(days)
+            .averagePressure(1013.0)
+            .averageSunExposure(8.5)
+            .minTemperature(10.5)
+            .maxTemperature(20.0 + location % 10)
+            .weatherSummary("Przeważnie bez opadów")
+            .build();
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
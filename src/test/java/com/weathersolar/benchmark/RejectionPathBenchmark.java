@@ -0,0 +1,131 @@
+package com.weathersolar.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weathersolar.controller.CoordinateGuardInterceptor;
+import com.weathersolar.controller.WeatherController;
+import com.weathersolar.exception.GlobalExceptionHandler;
+import com.weathersolar.exception.CoordinateRangeException;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.helpers.NOPAppender;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+/**
+ * Throughput of rejecting an out-of-range latitude, from request parameters to response bytes.
+ * The legacy path replays what a bad coordinate used to cost: method validation of the controller
+ * parameters, a ConstraintViolationException with a stack trace, a warn line per request and a freshly
+ * serialized ErrorResponse. Both paths run {@value #STACK_DEPTH} frames deep, roughly where a servlet
+ * container calls into the handler, and log through the same no-op appender so console I/O does not
+ * dominate. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class RejectionPathBenchmark {
+    private static final int STACK_DEPTH = 120;
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    @Test
+    void compareRejectionPaths() throws Exception {
+        Logger handlerLogger = (Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class);
+        NOPAppender<ILoggingEvent> nop = new NOPAppender<>();
+        nop.setContext(handlerLogger.getLoggerContext());
+        nop.start();
+        handlerLogger.addAppender(nop);
+        handlerLogger.setAdditive(false);
+        try {
+            long legacy = measure(legacyPath());
+            long fast = measure(fastPath());
+            double speedup = (double) legacy / fast;
+
+            System.out.printf("%-8s %12s%n", "path", "ns/reject");
+            System.out.printf("%-8s %12d%n", "legacy", legacy);
+            System.out.printf("%-8s %12d%n", "fast", fast);
+            System.out.printf("speed-up: %.1fx%n", speedup);
+            assertTrue(speedup >= 10, "fast path only " + speedup + "x faster");
+        } finally {
+            handlerLogger.detachAppender(nop);
+            handlerLogger.setAdditive(true);
+        }
+    }
+
+    private static LongSupplier legacyPath() throws NoSuchMethodException {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        Method method = WeatherController.class.getMethod("getWeatherForecast",
+            double.class, double.class, int.class, String.class, String.class);
+        WeatherController controller = new WeatherController(null, null, null);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        org.slf4j.Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+        return () -> {
+            double latitude = Double.parseDouble("91");
+            double longitude = Double.parseDouble("0");
+            Set<ConstraintViolation<WeatherController>> violations = validator.forExecutables()
+                .validateParameters(controller, method, new Object[] {latitude, longitude, 7, null, null});
+            ConstraintViolationException e = new ConstraintViolationException(violations);
+            log.warn("Validation error: {}", e.getMessage());
+            try {
+                return objectMapper.writeValueAsBytes(new GlobalExceptionHandler.ErrorResponse(
+                    "VALIDATION_ERROR", "Invalid request parameters: " + e.getMessage())).length;
+            } catch (Exception serializationFailure) {
+                throw new IllegalStateException(serializationFailure);
+            }
+        };
+    }
+
+    private static LongSupplier fastPath() throws NoSuchMethodException {
+        CoordinateGuardInterceptor guard = new CoordinateGuardInterceptor();
+        HandlerMethod handlerMethod = new HandlerMethod(new WeatherController(null, null, null),
+            WeatherController.class.getMethod("getWeatherForecast",
+                double.class, double.class, int.class, String.class, String.class));
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/weather/forecast");
+        request.setParameter("latitude", "91");
+        request.setParameter("longitude", "0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        return () -> {
+            try {
+                guard.preHandle(request, response, handlerMethod);
+                return 0;
+            } catch (CoordinateRangeException e) {
+                return handler.handleCoordinateRange(e).getBody().length;
+            }
+        };
+    }
+
+    private static long measure(LongSupplier path) {
+        atDepth(STACK_DEPTH, () -> repeat(path, WARMUP_ITERATIONS));
+        long start = System.nanoTime();
+        long sink = atDepth(STACK_DEPTH, () -> repeat(path, MEASURED_ITERATIONS));
+        return (System.nanoTime() - start) / MEASURED_ITERATIONS + (sink == 0 ? 1 : 0);
+    }
+
+    private static long repeat(LongSupplier path, int iterations) {
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += path.getAsLong();
+        }
+        return sink;
+    }
+
+    private static long atDepth(int depth, LongSupplier work) {
+        return depth == 0 ? work.getAsLong() : atDepth(depth - 1, work) + 0;
+    }
+}
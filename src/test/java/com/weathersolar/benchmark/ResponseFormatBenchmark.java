@@ -0,0 +1,68 @@
+package com.weathersolar.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.serialization.ResponseBodyEncoder;
+import com.weathersolar.serialization.ResponseFormat;
+
+/**
+ * Payload size and encode time per response format. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ResponseFormatBenchmark {
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    @Test
+    void compareFormats() {
+        ResponseBodyEncoder encoder = new ResponseBodyEncoder(Jackson2ObjectMapperBuilder.json().build());
+        WeatherForecastResponse forecast = sampleForecast(16);
+
+        System.out.printf("%-10s %10s %10s %12s%n", "format", "bytes", "gzip", "ns/encode");
+        for (ResponseFormat format : ResponseFormat.values()) {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                encoder.encode(forecast, format);
+            }
+            long sink = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                sink += encoder.encode(forecast, format).length;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            byte[] body = encoder.encode(forecast, format);
+            System.out.printf("%-10s %10d %10d %12d%n", format, body.length, encoder.gzip(body).length,
+                elapsed / MEASURED_ITERATIONS + (sink == 0 ? 1 : 0));
+        }
+    }
+
+    private static WeatherForecastResponse sampleForecast(int days) {
+        LocalDate start = LocalDate.of(2024, 6, 1);
+        List<DailyWeather> daily = IntStream.range(0, days)
+            .mapToObj(i -> DailyWeather.builder()
+                .date(start.plusDays(i))
+                .weatherCode(i % 4 == 0 ? 61 : 2)
+                .minTemperature(11.3 + i * 0.1)
+                .maxTemperature(22.7 + i * 0.2)
+                .solarEnergy(5.83 + i * 0.01)
+                .daylightHours(16.42)
+                .build())
+            .toList();
+        return WeatherForecastResponse.builder()
+            .dailyForecasts(daily)
+            .averagePressure(1012.84)
+            .averageSunExposure(5.9)
+            .minTemperature(11.3)
+            .maxTemperature(25.7)
+            .weatherSummary("Przeważnie bez opadów")
+            .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.weathersolar.benchmark;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.weathersolar.utils.SolarEphemeris;
+
+/**
+ * Cost of one local sunrise/sunset computation, the work that replaced the upstream sun fields.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SolarEphemerisBenchmark {
+    private static final int WARMUP_ITERATIONS = 2_000_000;
+    private static final int MEASURED_ITERATIONS = 10_000_000;
+
+    @Test
+    void computeCost() {
+        run(WARMUP_ITERATIONS);
+        long start = System.nanoTime();
+        double sink = run(MEASURED_ITERATIONS);
+        long nanosPerCall = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        System.out.printf("SolarEphemeris.compute: %d ns/call (checksum %.1f)%n", nanosPerCall, sink);
+        assertTrue(nanosPerCall < 2_000, "ephemeris cost " + nanosPerCall + " ns/call");
+    }
+
+    private static double run(int iterations) {
+        long firstDay = LocalDate.of(2024, 1, 1).toEpochDay();
+        double sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            double latitude = -60 + (i % 1200) * 0.1;
+            double longitude = -180 + (i % 3600) * 0.1;
+            sink += SolarEphemeris.compute(latitude, longitude, LocalDate.ofEpochDay(firstDay + i % 366))
+                .daylightSeconds();
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,106 @@
+package com.weathersolar.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.weathersolar.config.CacheProperties;
+import com.weathersolar.dto.WeatherForecastResponse;
+
+class ForecastCacheTest {
+    private CacheProperties properties;
+    private ForecastCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheProperties();
+        properties.setMaxEntries(2);
+        cache = new ForecastCache(properties);
+    }
+
+    @Test
+    void shouldShareEntryForNearbyCoordinates() {
+        CachedForecast forecast = new CachedForecast(new WeatherForecastResponse(), System.currentTimeMillis());
+        cache.put(cache.keyFor(52.2297, 21.0122, 7), forecast);
+
+        assertSame(forecast, cache.get(cache.keyFor(52.2301, 21.0118, 7)));
+        assertNull(cache.get(cache.keyFor(52.25, 21.0122, 7)));
+        assertNull(cache.get(cache.keyFor(52.2297, 21.0122, 16)));
+    }
+
+    @Test
+    void shouldDropExpiredEntries() {
+        properties.setTtl(Duration.ofMinutes(1));
+        ForecastKey key = cache.keyFor(52.0, 21.0, 7);
+        cache.put(key, new CachedForecast(new WeatherForecastResponse(), System.currentTimeMillis() - 61_000));
+
+        assertNull(cache.get(key));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldEvictOldestEntryWhenFull() {
+        long now = System.currentTimeMillis();
+        ForecastKey oldest = cache.keyFor(50.0, 20.0, 7);
+        cache.put(oldest, new CachedForecast(new WeatherForecastResponse(), now - 2000));
+        cache.put(cache.keyFor(51.0, 20.0, 7), new CachedForecast(new WeatherForecastResponse(), now - 1000));
+        cache.put(cache.keyFor(52.0, 20.0, 7), new CachedForecast(new WeatherForecastResponse(), now));
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get(oldest));
+    }
+
+    @Test
+    void shouldDropEncodedBodiesWithEntry() {
+        ForecastKey key = cache.keyFor(52.0, 21.0, 7);
+        CachedForecast first = new CachedForecast(new WeatherForecastResponse(), System.currentTimeMillis());
+        first.body("json", () -> new byte[] {1});
+        cache.put(key, first);
+        cache.put(key, new CachedForecast(new WeatherForecastResponse(), System.currentTimeMillis()));
+
+        assertEquals(2, cache.get(key).body("json", () -> new byte[] {2})[0]);
+    }
+
+    @Test
+    void shouldServeDecodedCopiesFromOffHeapStore() {
+        properties.setOffHeap(true);
+        properties.setOffHeapEntries(1_000);
+        ForecastCache offHeap = new ForecastCache(properties);
+        ForecastKey key = offHeap.keyFor(52.2297, 21.0122, 7);
+        offHeap.put(key, new CachedForecast(WeatherForecastResponse.builder().averagePressure(1013.5).build(),
+            System.currentTimeMillis()));
+
+        CachedForecast cached = offHeap.get(offHeap.keyFor(52.2301, 21.0118, 7));
+        assertEquals(1013.5, cached.getForecast().getAveragePressure());
+        assertEquals(1, offHeap.size());
+        offHeap.invalidate(key);
+        assertNull(offHeap.get(key));
+    }
+
+    @Test
+    void shouldEncodeOffHeapEntryOncePerVersion() {
+        properties.setOffHeap(true);
+        properties.setOffHeapEntries(1_000);
+        ForecastCache offHeap = new ForecastCache(properties);
+        ForecastKey key = offHeap.keyFor(52.2297, 21.0122, 7);
+        long fetchedAt = System.currentTimeMillis();
+        offHeap.put(key, new CachedForecast(WeatherForecastResponse.builder().averagePressure(1013.5).build(),
+            fetchedAt));
+        AtomicInteger encodings = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            offHeap.get(key).body("json", () -> new byte[] {(byte) encodings.incrementAndGet()});
+        }
+        assertEquals(1, encodings.get());
+
+        offHeap.put(key, new CachedForecast(WeatherForecastResponse.builder().averagePressure(1001.0).build(),
+            fetchedAt + 1));
+        assertEquals(2, offHeap.get(key).body("json", () -> new byte[] {(byte) encodings.incrementAndGet()})[0]);
+        assertEquals(1001.0, offHeap.get(key).getForecast().getAveragePressure());
+    }
+}
@@ -0,0 +1,167 @@
+package com.weathersolar.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.dto.WeatherForecastResponse;
+
+class OffHeapForecastStoreTest {
+    private static final long TTL = 60_000;
+
+    @Test
+    void shouldRoundTripForecastThroughFixedWidthRecord() {
+        OffHeapForecastStore store = new OffHeapForecastStore(1_000, 4);
+        ForecastKey key = key(52.23, 21.01, 7);
+        long now = System.currentTimeMillis();
+        store.put(key, new CachedForecast(forecast(7, 21.5), now));
+
+        CachedForecast cached = store.get(key, now, TTL);
+
+        assertNotNull(cached);
+        assertEquals(now, cached.getFetchedAtMillis());
+        WeatherForecastResponse forecast = cached.getForecast();
+        assertEquals(1013.25, forecast.getAveragePressure(), 1e-3);
+        assertEquals(-3.5, forecast.getMinTemperature());
+        assertEquals(21.5, forecast.getMaxTemperature());
+        assertEquals("Przeważnie bez opadów", forecast.getWeatherSummary());
+        assertEquals(7, forecast.getDailyForecasts().size());
+        DailyWeather day = forecast.getDailyForecasts().get(6);
+        assertEquals(LocalDate.of(2024, 6, 7), day.getDate());
+        assertEquals(61, day.getWeatherCode());
+        assertEquals(-2.3, day.getMinTemperature());
+        assertEquals(21.5, day.getMaxTemperature());
+        assertEquals(9.876, day.getSolarEnergy(), 1e-5);
+        assertEquals(16.5, day.getDaylightHours(), 1e-5);
+        assertSame(forecast, cached.getForecast());
+    }
+
+    @Test
+    void shouldKeepHorizonsApartAndReplaceInPlace() {
+        OffHeapForecastStore store = new OffHeapForecastStore(1_000, 4);
+        long now = System.currentTimeMillis();
+        store.put(key(50.0, 20.0, 7), new CachedForecast(forecast(7, 10.0), now));
+        store.put(key(50.0, 20.0, 2), new CachedForecast(forecast(2, 12.0), now));
+        store.put(key(50.0, 20.0, 7), new CachedForecast(forecast(7, 14.0), now));
+
+        assertEquals(2, store.size());
+        assertEquals(14.0, store.get(key(50.0, 20.0, 7), now, TTL).getForecast().getMaxTemperature());
+        assertEquals(12.0, store.get(key(50.0, 20.0, 2), now, TTL).getForecast().getMaxTemperature());
+
+        store.remove(key(50.0, 20.0, 2));
+        assertNull(store.get(key(50.0, 20.0, 2), now, TTL));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void shouldReplaceOldestEntryOfAFullSet() {
+        // one stripe with a single 8-way set: every key competes for the same slots
+        OffHeapForecastStore store = new OffHeapForecastStore(1, 1);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 9; i++) {
+            store.put(key(40.0 + i, 10.0, 7), new CachedForecast(forecast(7, i), now - 9_000 + i * 1_000));
+        }
+
+        assertEquals(8, store.size());
+        assertEquals(1, store.evictions());
+        assertNull(store.get(key(40.0, 10.0, 7), now, TTL));
+        assertNotNull(store.get(key(48.0, 10.0, 7), now, TTL));
+    }
+
+    @Test
+    void shouldExpireEntriesOnRead() {
+        OffHeapForecastStore store = new OffHeapForecastStore(100, 1);
+        long now = System.currentTimeMillis();
+        store.put(key(52.0, 21.0, 7), new CachedForecast(forecast(7, 20.0), now - TTL));
+
+        assertNull(store.get(key(52.0, 21.0, 7), now, TTL));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void shouldRejectForecastsTheLayoutCannotHold() {
+        OffHeapForecastStore store = new OffHeapForecastStore(100, 1);
+        WeatherForecastResponse gap = forecast(2, 20.0);
+        gap.getDailyForecasts().get(1).setDate(LocalDate.of(2024, 7, 1));
+
+        assertFalse(store.put(key(52.0, 21.0, 2), new CachedForecast(gap, System.currentTimeMillis())));
+        assertTrue(store.put(key(52.0, 21.0, 7), new CachedForecast(new WeatherForecastResponse(),
+            System.currentTimeMillis())));
+        assertNull(store.get(key(52.0, 21.0, 7), System.currentTimeMillis(), TTL).getForecast().getDailyForecasts());
+    }
+
+    @Test
+    void concurrentReadersNeverSeeAnotherLocationsRecord() throws Exception {
+        OffHeapForecastStore store = new OffHeapForecastStore(512, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 50_000; i++) {
+                        int location = random.nextInt(2_000);
+                        ForecastKey key = key(location / 100.0, 10.0, 7);
+                        long now = System.currentTimeMillis();
+                        if (random.nextInt(4) == 0) {
+                            store.put(key, new CachedForecast(forecast(7, location / 10.0), now));
+                        } else {
+                            CachedForecast cached = store.get(key, now, TTL);
+                            if (cached != null) {
+                                WeatherForecastResponse forecast = cached.getForecast();
+                                assertEquals(location / 10.0, forecast.getMaxTemperature(), 1e-9);
+                                assertEquals(location / 10.0, forecast.getDailyForecasts().get(6).getMaxTemperature(), 1e-9);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ForecastKey key(double latitude, double longitude, int days) {
+        return new ForecastKey(LocationKey.of(latitude, longitude, 2), days);
+    }
+
+    private static WeatherForecastResponse forecast(int days, double maxTemperature) {
+        List<DailyWeather> daily = new ArrayList<>();
+        for (int i = 0; i < days; i++) {
+            daily.add(DailyWeather.builder()
+                .date(LocalDate.of(2024, 6, 1).plusDays(i))
+                .weatherCode(i == 6 ? 61 : 1)
+                .minTemperature(-2.3)
+                .maxTemperature(maxTemperature)
+                .solarEnergy(9.876)
+                .daylightHours(16.5)
+                .build());
+        }
+        return WeatherForecastResponse.builder()
+            .dailyForecasts(daily)
+            .averagePressure(1013.25)
+            .averageSunExposure(9.876)
+            .minTemperature(-3.5)
+            .maxTemperature(maxTemperature)
+            .weatherSummary("Przeważnie bez opadów")
+            .build();
+    }
+}
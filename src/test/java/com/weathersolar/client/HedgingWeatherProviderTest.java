@@ -0,0 +1,225 @@
+package com.weathersolar.client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.weathersolar.Model.HourlySeries;
+import com.weathersolar.config.LimiterProperties;
+import com.weathersolar.config.ProviderProperties;
+import com.weathersolar.limiter.TrafficClass;
+import com.weathersolar.limiter.UpstreamLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class HedgingWeatherProviderTest {
+    private static final String DAILY = "{\"daily\":{\"time\":[\"2024-06-01\"]}}";
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private ProviderProperties properties;
+    private LimiterProperties limiterProperties;
+    private final AtomicInteger primaryDelayMillis = new AtomicInteger();
+    private final AtomicInteger mirrorCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/primary/forecast", exchange -> {
+            sleep(primaryDelayMillis.get());
+            respond(exchange, DAILY.replace("2024-06-01", "2024-06-02"));
+        });
+        server.createContext("/mirror/forecast", exchange -> {
+            mirrorCalls.incrementAndGet();
+            respond(exchange, DAILY);
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ProviderProperties();
+        properties.setHedgeInitialDelay(Duration.ofMillis(100));
+        limiterProperties = new LimiterProperties();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldTakeMirrorAnswerWhenPrimaryIsSlow() {
+        primaryDelayMillis.set(2000);
+        HedgingWeatherProvider provider = new HedgingWeatherProvider(client("primary"), client("mirror"),
+            limiter(), properties, meterRegistry);
+
+        long start = System.nanoTime();
+        JsonNode forecast = provider.getWeatherForecast(52.0, 21.0, 1).block(Duration.ofSeconds(5));
+
+        assertEquals("2024-06-01", forecast.path("daily").path("time").get(0).asText());
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(1500).toNanos());
+        assertEquals(1.0, meterRegistry.counter("weather.provider.hedged", "operation", "daily").count());
+        assertEquals(1.0, meterRegistry.counter("weather.provider.hedge.wins", "provider", "mirror").count());
+    }
+
+    @Test
+    void shouldNotHedgeWhenPrimaryAnswersInTime() {
+        // Generous delay: the first WebClient call in a fresh JVM pays for Netty start-up
+        properties.setHedgeInitialDelay(Duration.ofSeconds(3));
+        HedgingWeatherProvider provider = new HedgingWeatherProvider(client("primary"), client("mirror"),
+            limiter(), properties, meterRegistry);
+
+        JsonNode forecast = provider.getWeatherForecast(52.0, 21.0, 1).block(Duration.ofSeconds(5));
+
+        assertEquals("2024-06-02", forecast.path("daily").path("time").get(0).asText());
+        assertEquals(0, mirrorCalls.get());
+        assertEquals(1.0, meterRegistry.counter("weather.provider.calls", "operation", "daily").count());
+        assertEquals(0.0, meterRegistry.counter("weather.provider.hedged", "operation", "daily").count());
+    }
+
+    @Test
+    void shouldFallBackToSecondaryWhenPrimaryFails() {
+        WeatherProvider failing = new StubProvider("primary", Mono.error(new IllegalStateException("down")));
+        WeatherProvider mirror = new StubProvider("mirror", Mono.just(new byte[] {1}));
+        HedgingWeatherProvider provider = new HedgingWeatherProvider(failing, mirror, limiter(), properties,
+            meterRegistry);
+
+        byte[] body = provider.getPressureData(52.0, 21.0, 1).block(Duration.ofSeconds(5));
+
+        assertEquals(1, body.length);
+    }
+
+    @Test
+    void shouldRethrowLastProviderErrorWhenBothFail() {
+        WeatherProvider failing = new StubProvider("primary", Mono.error(new IllegalStateException("primary down")));
+        WeatherProvider mirror = new StubProvider("mirror", Mono.error(new IllegalStateException("mirror down")));
+        HedgingWeatherProvider provider = new HedgingWeatherProvider(failing, mirror, limiter(), properties,
+            meterRegistry);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+            () -> provider.getPressureData(52.0, 21.0, 1).block(Duration.ofSeconds(5)));
+
+        assertEquals("mirror down", error.getMessage());
+    }
+
+    @Test
+    void shouldHedgeInAFreeSlotOfTheCallersBulkhead() {
+        limiterProperties.setInteractive(new LimiterProperties.Bulkhead(2, 2, 2));
+        UpstreamLimiter limiter = limiter();
+        WeatherProvider slow = new StubProvider("primary", Mono.just(new byte[] {2}).delayElement(Duration.ofSeconds(2)));
+        HedgingWeatherProvider provider = new HedgingWeatherProvider(slow, countingMirror(), limiter, properties,
+            meterRegistry);
+
+        byte[] body = limiter.call(TrafficClass.INTERACTIVE,
+            () -> provider.getPressureData(52.0, 21.0, 1).block(Duration.ofSeconds(5)));
+
+        assertEquals(1, body[0]);
+        assertEquals(1, mirrorCalls.get());
+        assertEquals(0, limiter.limit(TrafficClass.INTERACTIVE).getInFlight());
+    }
+
+    @Test
+    void shouldSkipHedgeWhenCallersBulkheadIsFull() {
+        limiterProperties.setInteractive(new LimiterProperties.Bulkhead(1, 1, 1));
+        UpstreamLimiter limiter = limiter();
+        WeatherProvider slow = new StubProvider("primary", Mono.just(new byte[] {2}).delayElement(Duration.ofMillis(300)));
+        HedgingWeatherProvider provider = new HedgingWeatherProvider(slow, countingMirror(), limiter, properties,
+            meterRegistry);
+
+        byte[] body = limiter.call(TrafficClass.INTERACTIVE,
+            () -> provider.getPressureData(52.0, 21.0, 1).block(Duration.ofSeconds(5)));
+
+        assertEquals(2, body[0]);
+        assertEquals(0, mirrorCalls.get());
+        assertEquals(1.0, meterRegistry.counter("weather.provider.hedge.skipped", "operation", "pressure").count());
+        assertEquals(0, limiter.limit(TrafficClass.INTERACTIVE).getInFlight());
+    }
+
+    @Test
+    void shouldDeriveHedgeDelayFromPrimaryLatencyPercentile() {
+        properties.setHedgeMinDelay(Duration.ofMillis(1));
+        WeatherProvider primary = new StubProvider("primary", Mono.just(new byte[0]).delayElement(Duration.ofMillis(5)));
+        HedgingWeatherProvider provider = new HedgingWeatherProvider(primary, new StubProvider("mirror", Mono.never()),
+            limiter(), properties, meterRegistry);
+        assertEquals(Duration.ofMillis(100), provider.hedgeDelay());
+
+        for (int i = 0; i < 32; i++) {
+            provider.getPressureData(52.0, 21.0, 1).block(Duration.ofSeconds(5));
+        }
+
+        Duration delay = provider.hedgeDelay();
+        assertTrue(delay.toMillis() >= 5 && delay.toMillis() < 100, delay.toString());
+    }
+
+    private UpstreamLimiter limiter() {
+        return new UpstreamLimiter(limiterProperties, meterRegistry);
+    }
+
+    private WeatherProvider countingMirror() {
+        return new StubProvider("mirror", Mono.fromCallable(() -> {
+            mirrorCalls.incrementAndGet();
+            return new byte[] {1};
+        }));
+    }
+
+    private OpenMeteoClient client(String name) {
+        return new OpenMeteoClient(name, WebClient.builder(),
+            "http://127.0.0.1:" + server.getAddress().getPort() + "/" + name);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record StubProvider(String name, Mono<byte[]> pressure) implements WeatherProvider {
+        @Override
+        public Mono<JsonNode> getWeatherForecast(double latitude, double longitude, int days) {
+            return Mono.never();
+        }
+
+        @Override
+        public Mono<byte[]> getPressureData(double latitude, double longitude, int days) {
+            return pressure;
+        }
+
+        @Override
+        public Mono<byte[]> getPressureData(double latitude, double longitude, String startHour, String endHour) {
+            return pressure;
+        }
+
+        @Override
+        public Mono<HourlySeries> getHourlyForecast(double latitude, double longitude, int days, List<String> variables) {
+            return Mono.never();
+        }
+    }
+}
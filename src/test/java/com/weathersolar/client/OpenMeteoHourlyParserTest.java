@@ -0,0 +1,50 @@
+package com.weathersolar.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.weathersolar.Model.HourlySeries;
+
+class OpenMeteoHourlyParserTest {
+    private static final String RESPONSE = """
+        {"latitude":52.0,"longitude":21.0,"utc_offset_seconds":7200,
+         "hourly_units":{"time":"unixtime","temperature_2m":"°C","pressure_msl":"hPa"},
+         "hourly":{"time":[1718920800,1718924400,1718928000],
+                   "temperature_2m":[14.2,13.9,null],
+                   "relative_humidity_2m":[80,81,82],
+                   "pressure_msl":[1013.1,1013.4,1013.0]}}
+        """;
+
+    @Test
+    void shouldParseColumnsFedInSmallChunks() throws IOException {
+        OpenMeteoHourlyParser parser = new OpenMeteoHourlyParser(List.of("temperature_2m", "pressure_msl"), 2);
+        byte[] bytes = RESPONSE.getBytes(StandardCharsets.UTF_8);
+        for (int start = 0; start < bytes.length; start += 7) {
+            parser.feed(ByteBuffer.wrap(bytes, start, Math.min(7, bytes.length - start)));
+        }
+
+        HourlySeries series = parser.finish();
+
+        assertEquals(7200, series.getUtcOffsetSeconds());
+        assertArrayEquals(new long[] {1718920800L, 1718924400L, 1718928000L}, series.getTime());
+        assertEquals(14.2, series.getValues()[0][0]);
+        assertTrue(Double.isNaN(series.getValues()[0][2]));
+        assertArrayEquals(new double[] {1013.1, 1013.4, 1013.0}, series.getValues()[1]);
+    }
+
+    @Test
+    void shouldRejectMissingColumn() throws IOException {
+        OpenMeteoHourlyParser parser = new OpenMeteoHourlyParser(List.of("cloud_cover"), 3);
+        parser.feed(ByteBuffer.wrap(RESPONSE.getBytes(StandardCharsets.UTF_8)));
+
+        assertThrows(IOException.class, parser::finish);
+    }
+}
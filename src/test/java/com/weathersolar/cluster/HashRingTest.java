@@ -0,0 +1,84 @@
+package com.weathersolar.cluster;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.weathersolar.cache.LocationKey;
+
+class HashRingTest {
+    private static final int VIRTUAL_NODES = 128;
+
+    @Test
+    void shouldSpreadCellsEvenlyAcrossMembers() {
+        HashRing ring = new HashRing(members(4), VIRTUAL_NODES);
+        Map<String, Integer> owned = new HashMap<>();
+        for (LocationKey cell : cells()) {
+            owned.merge(ring.owner(cell).id(), 1, Integer::sum);
+        }
+
+        int fair = cells().size() / 4;
+        assertEquals(4, owned.size());
+        owned.values().forEach(count -> assertTrue(Math.abs(count - fair) < fair * 0.25, "owned " + count));
+    }
+
+    @Test
+    void shouldOnlyMoveCellsToJoiningMember() {
+        HashRing before = new HashRing(members(4), VIRTUAL_NODES);
+        HashRing after = new HashRing(members(5), VIRTUAL_NODES);
+
+        int moved = 0;
+        for (LocationKey cell : cells()) {
+            String oldOwner = before.owner(cell).id();
+            String newOwner = after.owner(cell).id();
+            if (!oldOwner.equals(newOwner)) {
+                assertEquals("node-4", newOwner);
+                moved++;
+            }
+        }
+        int expected = cells().size() / 5;
+        assertTrue(Math.abs(moved - expected) < expected * 0.25, "moved " + moved);
+    }
+
+    @Test
+    void shouldOnlyMoveCellsOfLeavingOrDownMember() {
+        HashRing ring = new HashRing(members(4), VIRTUAL_NODES);
+        HashRing shrunk = new HashRing(members(4).subList(0, 3), VIRTUAL_NODES);
+
+        for (LocationKey cell : cells()) {
+            String owner = ring.owner(cell).id();
+            String skippingDown = ring.owner(cell, member -> !member.id().equals("node-3")).id();
+            if (owner.equals("node-3")) {
+                assertNotEquals("node-3", skippingDown);
+            } else {
+                assertEquals(owner, skippingDown);
+            }
+            // a member being down routes its cells exactly where they go once it has left
+            assertEquals(shrunk.owner(cell).id(), skippingDown);
+        }
+    }
+
+    private static List<ClusterMember> members(int count) {
+        List<ClusterMember> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add(new ClusterMember("node-" + i, "http://node-" + i + ":8080"));
+        }
+        return members;
+    }
+
+    private static List<LocationKey> cells() {
+        List<LocationKey> cells = new ArrayList<>();
+        for (int lat = -60; lat < 70; lat++) {
+            for (int lon = -180; lon < 180; lon += 2) {
+                cells.add(LocationKey.of(lat + 0.25, lon + 0.5, 2));
+            }
+        }
+        return cells;
+    }
+}
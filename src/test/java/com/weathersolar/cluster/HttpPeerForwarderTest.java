@@ -0,0 +1,182 @@
+package com.weathersolar.cluster;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.sun.net.httpserver.HttpServer;
+import com.weathersolar.cache.ForecastKey;
+import com.weathersolar.cache.LocationKey;
+import com.weathersolar.config.ClusterProperties;
+import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.exception.ExternalServiceException;
+import com.weathersolar.exception.UpstreamOverloadedException;
+import com.weathersolar.limiter.TrafficClass;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HttpPeerForwarderTest {
+    private static final String FORECAST = "{\"dailyForecasts\":[],\"averagePressure\":1012.5,"
+        + "\"averageSunExposure\":0.0,\"minTemperature\":-1.0,\"maxTemperature\":4.0,\"weatherSummary\":\"Cloudy\"}";
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private ClusterProperties properties;
+    private final AtomicReference<String> lastQuery = new AtomicReference<>();
+    private final AtomicReference<String> lastSecret = new AtomicReference<>();
+    private final AtomicReference<String> lastTrafficClass = new AtomicReference<>();
+    private final AtomicInteger status = new AtomicInteger(200);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(HttpPeerForwarder.FORECAST_PATH, exchange -> {
+            lastQuery.set(exchange.getRequestURI().getQuery());
+            lastSecret.set(exchange.getRequestHeaders().getFirst(PeerForwarder.SECRET_HEADER));
+            lastTrafficClass.set(exchange.getRequestHeaders().getFirst(PeerForwarder.TRAFFIC_CLASS_HEADER));
+            if (status.get() != 200) {
+                exchange.getResponseHeaders().set("Retry-After", "7");
+                exchange.sendResponseHeaders(status.get(), -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = FORECAST.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ClusterProperties();
+        properties.setEnabled(true);
+        properties.setSelfId("self");
+        properties.setSharedSecret("s3cret");
+        properties.setForwardTimeout(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldFetchRemotelyOwnedCellFromOwner() {
+        properties.setMembers(List.of(new ClusterProperties.Member("peer",
+            "http://127.0.0.1:" + server.getAddress().getPort())));
+        ClusterMembership membership = new ClusterMembership(properties);
+        ForecastKey key = keyOwnedBy(membership, "peer");
+
+        WeatherForecastResponse response = forwarder(membership).forward(key, TrafficClass.BACKGROUND);
+
+        assertEquals(1012.5, response.getAveragePressure());
+        assertEquals("Cloudy", response.getWeatherSummary());
+        assertEquals("latitude=" + key.location().latitude() + "&longitude=" + key.location().longitude()
+            + "&days=3", lastQuery.get());
+        assertEquals("s3cret", lastSecret.get());
+        assertEquals("BACKGROUND", lastTrafficClass.get());
+        assertEquals(1.0, meterRegistry.counter("weather.cluster.forwarded", "outcome", "success").count());
+    }
+
+    @Test
+    void shouldNotForwardOwnCells() {
+        properties.setMembers(List.of(new ClusterProperties.Member("peer",
+            "http://127.0.0.1:" + server.getAddress().getPort())));
+        ClusterMembership membership = new ClusterMembership(properties);
+
+        assertNull(forwarder(membership).forward(keyOwnedBy(membership, "self"), TrafficClass.INTERACTIVE));
+        assertNull(lastQuery.get());
+    }
+
+    @Test
+    void shouldFallBackAndMarkDownUnreachableOwner() {
+        server.stop(0);
+        properties.setMembers(List.of(new ClusterProperties.Member("peer", "http://127.0.0.1:1")));
+        ClusterMembership membership = new ClusterMembership(properties);
+        ForecastKey key = keyOwnedBy(membership, "peer");
+
+        assertNull(forwarder(membership).forward(key, TrafficClass.INTERACTIVE));
+        assertEquals("self", membership.ownerOf(key.location()).id());
+        assertEquals(1.0, meterRegistry.counter("weather.cluster.forwarded", "outcome", "failure").count());
+    }
+
+    @Test
+    void shouldPassOnOwnerErrorsInsteadOfFetchingLocally() {
+        properties.setMembers(List.of(new ClusterProperties.Member("peer",
+            "http://127.0.0.1:" + server.getAddress().getPort())));
+        ClusterMembership membership = new ClusterMembership(properties);
+        ForecastKey key = keyOwnedBy(membership, "peer");
+        HttpPeerForwarder forwarder = forwarder(membership);
+
+        status.set(503);
+        UpstreamOverloadedException overloaded = assertThrows(UpstreamOverloadedException.class,
+            () -> forwarder.forward(key, TrafficClass.BACKGROUND));
+        assertEquals(7, overloaded.getRetryAfterSeconds());
+        assertEquals(TrafficClass.BACKGROUND, overloaded.getTrafficClass());
+
+        status.set(403);
+        assertEquals(502, assertThrows(ExternalServiceException.class,
+            () -> forwarder.forward(key, TrafficClass.INTERACTIVE)).getStatusCode());
+        // The owner answered, so it stays on the ring
+        assertEquals("peer", membership.ownerOf(key.location()).id());
+    }
+
+    @Test
+    void shouldRefuseToStartWithoutSharedSecret() {
+        properties.setSharedSecret(" ");
+
+        assertThrows(IllegalStateException.class, () -> new ClusterMembership(properties));
+    }
+
+    @Test
+    void shouldPickUpMembersJoiningAndLeavingThroughDiscoveryFile() throws IOException {
+        Path discovery = tempDir.resolve("members");
+        Files.writeString(discovery, "# cluster\nself=http://127.0.0.1:8080\npeer-a=http://a:8080/\n");
+        properties.setDiscoveryFile(discovery.toString());
+        ClusterMembership membership = new ClusterMembership(properties);
+        assertEquals(2, membership.ring().members().size());
+
+        Files.writeString(discovery, "self=http://127.0.0.1:8080\npeer-a=http://a:8080\npeer-b=http://b:8080\n");
+        membership.refresh();
+        assertEquals(3, membership.ring().members().size());
+
+        Files.writeString(discovery, "self=http://127.0.0.1:8080\npeer-b=http://b:8080\n");
+        membership.refresh();
+        assertEquals(List.of("self", "peer-b"),
+            membership.ring().members().stream().map(ClusterMember::id).toList());
+    }
+
+    private HttpPeerForwarder forwarder(ClusterMembership membership) {
+        return new HttpPeerForwarder(membership, WebClient.builder(), properties, meterRegistry);
+    }
+
+    private static ForecastKey keyOwnedBy(ClusterMembership membership, String id) {
+        for (int i = 0; ; i++) {
+            LocationKey cell = LocationKey.of(50.0 + i * 0.01, 20.0, 2);
+            if (membership.ownerOf(cell).id().equals(id)) {
+                return new ForecastKey(cell, 3);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.weathersolar.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.dto.WeatherForecastResponse;
+
+class NativeRuntimeHintsTest {
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void shouldRegisterDtoBindingHints() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onMethod(WeatherForecastResponse.class.getMethod("getDailyForecasts")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onMethod(DailyWeather.class.getMethod("setDate", java.time.LocalDate.class)).test(hints));
+    }
+
+    @Test
+    void shouldRegisterPropertiesAndJsonNodeHints() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onType(SolarProperties.class).withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onType(ObjectNode.class).withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void shouldRegisterWarmupFixtures() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("warmup/daily.json").test(hints));
+    }
+}
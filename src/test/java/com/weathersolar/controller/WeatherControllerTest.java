@@ -1,33 +1,319 @@
 package com.weathersolar.controller;
 
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.weathersolar.Model.HourlySeries;
+import com.weathersolar.cache.CachedForecast;
+import com.weathersolar.cluster.PeerForwarder;
+import com.weathersolar.config.ClusterProperties;
+import com.weathersolar.config.RateLimitProperties;
+import com.weathersolar.config.SolarProperties;
+import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.exception.GlobalExceptionHandler;
+import com.weathersolar.exception.UpstreamOverloadedException;
+import com.weathersolar.limiter.ClientRateLimitInterceptor;
+import com.weathersolar.limiter.ClientRateLimiter;
+import com.weathersolar.limiter.TrafficClass;
+import com.weathersolar.serialization.ResponseBodyEncoder;
+import com.weathersolar.service.SolarService;
 import com.weathersolar.service.WeatherService;
+import com.weathersolar.utils.SolarEnergyCalculator;
 
 class WeatherControllerTest {
 
     private MockMvc mockMvc;
     private WeatherService weatherService;
+    private CachedForecast cachedForecast;
 
     @BeforeEach
     @SuppressWarnings("unused")
     void setUp() {
         weatherService = mock(WeatherService.class);
-        WeatherController controller = new WeatherController(weatherService);
-        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        ResponseBodyEncoder encoder = new ResponseBodyEncoder(Jackson2ObjectMapperBuilder.json().build());
+        SolarProperties solarProperties = new SolarProperties();
+        solarProperties.setPower(2.5);
+        solarProperties.setPanelEfficiency(0.2);
+        solarProperties.setSystemLosses(0.85);
+        WeatherController controller = new WeatherController(weatherService, encoder,
+            new SolarService(new SolarEnergyCalculator(solarProperties)));
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.setCapacity(5);
+        rateLimitProperties.setRefillPerSecond(0.1);
+        rateLimitProperties.setApiKeys(List.of("scraper"));
+        rateLimitProperties.setTrustForwardedFor(true);
+        ClusterProperties clusterProperties = new ClusterProperties();
+        clusterProperties.setEnabled(true);
+        clusterProperties.setSharedSecret("peer-secret");
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+            .setMessageConverters(new ByteArrayHttpMessageConverter(), new StringHttpMessageConverter(),
+                new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build()))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .addInterceptors(new ClientRateLimitInterceptor(new ClientRateLimiter(rateLimitProperties), rateLimitProperties,
+                clusterProperties),
+                new CoordinateGuardInterceptor())
+            .build();
+
+        WeatherForecastResponse forecast = WeatherForecastResponse.builder()
+            .dailyForecasts(List.of())
+            .averagePressure(1013.5)
+            .weatherSummary("Przeważnie bez opadów")
+            .build();
+        cachedForecast = new CachedForecast(forecast, System.currentTimeMillis());
+        when(weatherService.getCachedForecast(52.0, 21.0, 7)).thenReturn(cachedForecast);
     }
 
     @Test
     void shouldReturnForecast() throws Exception {
+        mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "52.0")
+                .param("longitude", "21.0"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.averagePressure").value(1013.5));
+    }
+
+    @Test
+    void shouldServeSolarQueriesWithoutTheWeatherService() throws Exception {
+        mockMvc.perform(get("/api/weather/solar")
+                .param("latitude", "52.23")
+                .param("longitude", "21.01")
+                .param("date", "2024-06-21")
+                .param("days", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.days.length()").value(2))
+            .andExpect(jsonPath("$.days[0].date").value("2024-06-21"))
+            .andExpect(jsonPath("$.days[0].sunrise").value(startsWith("2024-06-21T02:1")))
+            .andExpect(jsonPath("$.days[0].daylightHours").value(closeTo(16.78, 0.02)));
+        mockMvc.perform(get("/api/weather/solar")
+                .param("latitude", "78.22")
+                .param("longitude", "15.65")
+                .param("date", "2024-12-21")
+                .param("days", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.days[0].sunrise").doesNotExist())
+            .andExpect(jsonPath("$.days[0].daylightHours").value(0.0));
+
+        verifyNoInteractions(weatherService);
+    }
+
+    @Test
+    void shouldRejectWithRetryAfterWhenUpstreamIsSaturated() throws Exception {
+        when(weatherService.getCachedForecast(50.0, 20.0, 7))
+            .thenThrow(new UpstreamOverloadedException(TrafficClass.INTERACTIVE, 20, 1));
+
+        mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "50.0")
+                .param("longitude", "20.0"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "1"))
+            .andExpect(jsonPath("$.errorCode").value("UPSTREAM_OVERLOADED"));
+    }
+
+    @Test
+    void shouldRateLimitPerClient() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/weather/forecast")
+                    .param("latitude", "52.0")
+                    .param("longitude", "21.0")
+                    .header("X-API-Key", "scraper"))
+                .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "52.0")
+                .param("longitude", "21.0")
+                .header("X-API-Key", "scraper"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "10"))
+            .andExpect(jsonPath("$.errorCode").value("RATE_LIMITED"));
         mockMvc.perform(get("/api/weather/forecast")
                 .param("latitude", "52.0")
                 .param("longitude", "21.0"))
             .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldLimitUnknownApiKeysByRemoteAddress() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/weather/forecast")
+                    .param("latitude", "52.0")
+                    .param("longitude", "21.0")
+                    .header("X-API-Key", "random-" + i))
+                .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "52.0")
+                .param("longitude", "21.0")
+                .header("X-API-Key", "random-5"))
+            .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "52.0")
+                .param("longitude", "21.0")
+                .header("X-API-Key", "scraper"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldKeyForwardedClientsByTheHopTheProxyAppended() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/weather/forecast")
+                    .param("latitude", "52.0")
+                    .param("longitude", "21.0")
+                    .header("X-Forwarded-For", "10.0.0." + i + ", 203.0.113.7"))
+                .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "52.0")
+                .param("longitude", "21.0")
+                .header("X-Forwarded-For", "10.0.0.99, 203.0.113.7"))
+            .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "52.0")
+                .param("longitude", "21.0")
+                .header("X-Forwarded-For", "203.0.113.7, 198.51.100.4"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldLetAuthenticatedPeersBypassTheClientLimit() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            mockMvc.perform(get("/api/weather/forecast")
+                    .param("latitude", "52.0")
+                    .param("longitude", "21.0")
+                    .header(PeerForwarder.SECRET_HEADER, "peer-secret"))
+                .andExpect(status().isOk());
+        }
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/weather/forecast")
+                    .param("latitude", "52.0")
+                    .param("longitude", "21.0")
+                    .header(PeerForwarder.SECRET_HEADER, "wrong"))
+                .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "52.0")
+                .param("longitude", "21.0")
+                .header(PeerForwarder.SECRET_HEADER, "wrong"))
+            .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void shouldRejectOutOfRangeCoordinatesBeforeTheHandler() throws Exception {
+        mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "91")
+                .param("longitude", "21.0"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+            .andExpect(jsonPath("$.message")
+                .value("Invalid request parameters: getWeatherForecast.latitude: must be less than or equal to 90"))
+            .andExpect(jsonPath("$.timestamp").isNumber());
+        mockMvc.perform(get("/api/weather/summary")
+                .param("latitude", "52.0")
+                .param("longitude", "NaN"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+            .andExpect(jsonPath("$.message").value("Invalid request parameters: "
+                + "getWeeklySummary.longitude: must be greater than or equal to -180, "
+                + "getWeeklySummary.longitude: must be less than or equal to 180"));
+
+        verifyNoInteractions(weatherService);
+    }
+
+    @Test
+    void shouldReuseEncodedBodyAndGzipWhenAccepted() throws Exception {
+        MvcResult plain = mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "52.0")
+                .param("longitude", "21.0"))
+            .andReturn();
+        MvcResult compressed = mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "52.0")
+                .param("longitude", "21.0")
+                .header("Accept-Encoding", "gzip, deflate"))
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andReturn();
+
+        byte[] json = plain.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(compressed.getResponse().getContentAsByteArray()))) {
+            assertArrayEquals(json, in.readAllBytes());
+        }
+        assertArrayEquals(json, cachedForecast.body("JSON", () -> new byte[0]));
+    }
+
+    @Test
+    void shouldNegotiateBinaryFormats() throws Exception {
+        mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "52.0")
+                .param("longitude", "21.0")
+                .header("Accept", "application/cbor, application/json;q=0.5"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/cbor"));
+
+        mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "52.0")
+                .param("longitude", "21.0")
+                .header("Accept", "application/x-protobuf"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-protobuf"));
+    }
+
+    @Test
+    void shouldRejectUnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/api/weather/forecast")
+                .param("latitude", "52.0")
+                .param("longitude", "21.0")
+                .header("Accept", "application/xml"))
+            .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void shouldStreamHourlyRowsAsNdjson() throws Exception {
+        HourlySeries series = new HourlySeries(7200, new long[] {1718920800L, 1718924400L},
+            List.of("temperature_2m"), new double[][] {{14.2, Double.NaN}});
+        when(weatherService.getHourlyForecast(52.0, 21.0, 16, List.of("temperature_2m"))).thenReturn(series);
+
+        MvcResult result = mockMvc.perform(get("/api/weather/forecast/hourly")
+                .param("latitude", "52.0")
+                .param("longitude", "21.0")
+                .param("days", "16")
+                .param("variables", "temperature_2m")
+                .header("Accept", "application/x-ndjson"))
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(content().string("""
+                {"time":"2024-06-21T00:00","temperature_2m":14.2}
+                {"time":"2024-06-21T01:00","temperature_2m":null}
+                """));
+    }
+}
@@ -1,9 +1,16 @@
 package com.weathersolar.controller;
 
 import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.export.ExportJobService;
+import com.weathersolar.limiter.UpstreamLimiter;
+import com.weathersolar.serialization.ResponseBodyEncoder;
+import com.weathersolar.service.PressureRefresher;
 import com.weathersolar.service.WeatherService;
 import com.weathersolar.utils.SolarEnergyCalculator;
+import com.weathersolar.warmup.WarmupRunner;
 import com.weathersolar.client.OpenMeteoClient;
+import com.weathersolar.client.WeatherProvider;
+import com.weathersolar.cluster.PeerForwarder;
 import com.weathersolar.config.SolarProperties;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +21,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(WeatherController.class)
@@ -24,11 +32,25 @@ class WeatherControllerValidationTest {
     @MockBean
     private WeatherService weatherService;
     @MockBean
+    private ResponseBodyEncoder responseBodyEncoder;
+    @MockBean
+    private PressureRefresher pressureRefresher;
+    @MockBean
+    private UpstreamLimiter upstreamLimiter;
+    @MockBean
     private SolarEnergyCalculator solarEnergyCalculator;
     @MockBean
     private OpenMeteoClient openMeteoClient;
+    @MockBean(name = "weatherProvider")
+    private WeatherProvider weatherProvider;
     @MockBean
     private SolarProperties solarProperties;
+    @MockBean
+    private ExportJobService exportJobService;
+    @MockBean
+    private PeerForwarder peerForwarder;
+    @MockBean
+    private WarmupRunner warmupRunner;
 
     @Test
     @DisplayName("Should return 400 for invalid latitude/longitude")
@@ -43,7 +65,10 @@ class WeatherControllerValidationTest {
         mockMvc.perform(get("/api/weather/forecast")
                 .param("latitude", "91")
                 .param("longitude", "0"))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.message").value(
+                        "Invalid request parameters: getWeatherForecast.latitude: must be less than or equal to 90"));
 
         // longitude < -180
         mockMvc.perform(get("/api/weather/forecast")
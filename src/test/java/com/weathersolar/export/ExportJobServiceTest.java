@@ -0,0 +1,218 @@
+package com.weathersolar.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.cache.CachedForecast;
+import com.weathersolar.cache.ForecastCache;
+import com.weathersolar.config.CacheProperties;
+import com.weathersolar.config.ExportProperties;
+import com.weathersolar.config.SolarProperties;
+import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.limiter.TrafficClass;
+import com.weathersolar.service.WeatherService;
+import com.weathersolar.utils.SolarEnergyCalculator;
+
+class ExportJobServiceTest {
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private WeatherService weatherService;
+    private ExportJobService service;
+
+    @BeforeEach
+    void setUp() {
+        weatherService = mock(WeatherService.class);
+        CachedForecast forecast = new CachedForecast(WeatherForecastResponse.builder()
+            .dailyForecasts(List.of(day(LocalDate.of(2026, 6, 1)), day(LocalDate.of(2026, 6, 2))))
+            .build(), System.currentTimeMillis());
+        when(weatherService.getCachedForecast(anyDouble(), anyDouble(), eq(ExportJobService.FORECAST_DAYS),
+            eq(TrafficClass.BACKGROUND))).thenReturn(forecast);
+        service = newService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void fetchesEachGridCellOnceAndWritesCsv() throws Exception {
+        ExportJobStatus submitted = service.submit(new ExportRequest(List.of(
+            new ExportSite("a", 52.2297, 21.0122, null),
+            new ExportSite("b", 52.2301, 21.0119, 10.0),
+            new ExportSite("c", 50.0647, 19.9450, null),
+            new ExportSite("d, \"quoted\"", 54.3520, 18.6466, null)), null));
+
+        ExportJobStatus done = awaitFinished(submitted.id());
+
+        assertEquals(ExportStatus.COMPLETED, done.status());
+        assertEquals(3, done.uniqueCells());
+        assertEquals(4, done.completedSites());
+        verify(weatherService, times(3)).getCachedForecast(anyDouble(), anyDouble(),
+            eq(ExportJobService.FORECAST_DAYS), eq(TrafficClass.BACKGROUND));
+
+        List<String> lines = Files.readAllLines(service.result(submitted.id()).orElseThrow());
+        assertEquals(ExportWriter.CSV_HEADER, lines.get(0));
+        assertEquals(5, lines.size());
+        String siteB = lines.stream().filter(l -> l.startsWith("b,")).findFirst().orElseThrow();
+        assertTrue(siteB.contains(",2026-06-02," + (10.0 * 12.0 * 0.2 * 0.85) + ","), siteB);
+        assertTrue(lines.stream().anyMatch(l -> l.startsWith("\"d, \"\"quoted\"\"\",")));
+    }
+
+    @Test
+    void writesNdjson() throws Exception {
+        ExportJobStatus submitted = service.submit(new ExportRequest(List.of(
+            new ExportSite("a", 52.2297, 21.0122, 5.0)), ExportFormat.NDJSON));
+
+        awaitFinished(submitted.id());
+
+        List<String> lines = Files.readAllLines(service.result(submitted.id()).orElseThrow());
+        assertEquals(1, lines.size());
+        JsonNode row = objectMapper.readTree(lines.get(0));
+        assertEquals("a", row.get("site_id").asText());
+        assertEquals("2026-06-02", row.get("date").asText());
+        assertEquals(5.0 * 12.0 * 0.2 * 0.85, row.get("solar_energy_kwh").asDouble(), 1e-9);
+    }
+
+    @Test
+    void resumesInterruptedJobFromEndOfResultFile() throws Exception {
+        Path dir = Files.createDirectories(tempDir.resolve("job-1"));
+        Files.write(dir.resolve("sites.ndjson"), List.of(
+            objectMapper.writeValueAsString(new ExportSite("s1", 52.23, 21.01, null)),
+            objectMapper.writeValueAsString(new ExportSite("s2", 50.06, 19.94, null)),
+            objectMapper.writeValueAsString(new ExportSite("s3", 54.35, 18.65, null))));
+        Files.writeString(dir.resolve("result.csv"), ExportWriter.CSV_HEADER + "\n"
+            + "s1,52.23,21.01,2026-06-02,5.1,20.0,10.0,1,\n"
+            + "s2,50.0", StandardCharsets.UTF_8);
+        objectMapper.writeValue(dir.resolve("job.json").toFile(), new ExportJobStatus("job-1", ExportStatus.RUNNING,
+            ExportFormat.CSV, 3, 3, 1, 0, 1L, 0L, null));
+
+        service.resumeInterrupted();
+        ExportJobStatus done = awaitFinished("job-1");
+
+        assertEquals(ExportStatus.COMPLETED, done.status());
+        assertEquals(3, done.completedSites());
+        assertEquals(2, done.uniqueCells());
+        verify(weatherService, times(2)).getCachedForecast(anyDouble(), anyDouble(),
+            eq(ExportJobService.FORECAST_DAYS), eq(TrafficClass.BACKGROUND));
+        List<String> lines = Files.readAllLines(dir.resolve("result.csv"));
+        assertEquals(4, lines.size());
+        assertEquals(1, lines.stream().filter(l -> l.startsWith("s2,")).count());
+
+        ExportJobStatus persisted = objectMapper.readValue(dir.resolve("job.json").toFile(), ExportJobStatus.class);
+        assertEquals(ExportStatus.COMPLETED, persisted.status());
+    }
+
+    @Test
+    void retriesErroredSitesWhenResumingFailedJob() throws Exception {
+        Path dir = Files.createDirectories(tempDir.resolve("job-2"));
+        Files.write(dir.resolve("sites.ndjson"), List.of(
+            objectMapper.writeValueAsString(new ExportSite("s1", 52.23, 21.01, null)),
+            objectMapper.writeValueAsString(new ExportSite("s,2", 50.06, 19.94, null))));
+        Files.writeString(dir.resolve("result.csv"), ExportWriter.CSV_HEADER + "\n"
+            + "s1,52.23,21.01,2026-06-02,5.1,20.0,10.0,1,\n"
+            + "\"s,2\",50.06,19.94,,,,,,\"503 Service Unavailable, retry later\"\n", StandardCharsets.UTF_8);
+        objectMapper.writeValue(dir.resolve("job.json").toFile(), new ExportJobStatus("job-2", ExportStatus.FAILED,
+            ExportFormat.CSV, 2, 2, 2, 1, 1L, 2L, "upstream down"));
+        service.resumeInterrupted();
+
+        service.resume("job-2");
+        ExportJobStatus done = awaitFinished("job-2");
+
+        assertEquals(ExportStatus.COMPLETED, done.status());
+        assertEquals(2, done.completedSites());
+        assertEquals(0, done.failedSites());
+        verify(weatherService, times(1)).getCachedForecast(anyDouble(), anyDouble(),
+            eq(ExportJobService.FORECAST_DAYS), eq(TrafficClass.BACKGROUND));
+        List<String> lines = Files.readAllLines(dir.resolve("result.csv"));
+        assertEquals(3, lines.size());
+        assertEquals(ExportWriter.CSV_HEADER, lines.get(0));
+        assertTrue(lines.get(2).startsWith("\"s,2\",50.06,19.94,2026-06-02,"));
+    }
+
+    @Test
+    void failsJobWhenCellProcessingThrows() throws Exception {
+        // No day-ahead entry: the worker trips over it after the fetch succeeded
+        when(weatherService.getCachedForecast(anyDouble(), anyDouble(), eq(ExportJobService.FORECAST_DAYS),
+            eq(TrafficClass.BACKGROUND))).thenReturn(new CachedForecast(WeatherForecastResponse.builder()
+                .dailyForecasts(Arrays.asList(day(LocalDate.of(2026, 6, 1)), null))
+                .build(), System.currentTimeMillis()));
+        ExportJobStatus submitted = service.submit(new ExportRequest(List.of(
+            new ExportSite("a", 52.2297, 21.0122, null)), null));
+
+        ExportJobStatus done = awaitFinished(submitted.id());
+
+        assertEquals(ExportStatus.FAILED, done.status());
+        assertEquals(0, done.completedSites());
+    }
+
+    @Test
+    void rejectsInvalidSiteLists() {
+        assertThrows(IllegalArgumentException.class, () -> service.submit(new ExportRequest(List.of(), null)));
+        assertThrows(IllegalArgumentException.class, () -> service.submit(new ExportRequest(List.of(
+            new ExportSite("a", 52.0, 21.0, null), new ExportSite("a", 50.0, 19.0, null)), null)));
+        assertThrows(IllegalArgumentException.class, () -> service.submit(new ExportRequest(List.of(
+            new ExportSite("a", 91.0, 21.0, null)), null)));
+    }
+
+    private ExportJobService newService() {
+        ExportProperties properties = new ExportProperties();
+        properties.setDir(tempDir.toString());
+        properties.setParallelism(2);
+        properties.setUpstreamRequestsPerSecond(0);
+        SolarProperties solar = new SolarProperties();
+        solar.setPower(2.5);
+        solar.setPanelEfficiency(0.2);
+        solar.setSystemLosses(0.85);
+        return new ExportJobService(weatherService, new SolarEnergyCalculator(solar),
+            new ForecastCache(new CacheProperties()), properties, objectMapper);
+    }
+
+    private ExportJobStatus awaitFinished(String id) throws InterruptedException, IOException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            ExportJobStatus status = service.status(id).orElseThrow();
+            if (status.status().isFinished()) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Export job " + id + " did not finish");
+    }
+
+    private static DailyWeather day(LocalDate date) {
+        return DailyWeather.builder()
+            .date(date)
+            .weatherCode(1)
+            .minTemperature(10)
+            .maxTemperature(20)
+            .solarEnergy(5.1)
+            .daylightHours(12.0)
+            .build();
+    }
+}
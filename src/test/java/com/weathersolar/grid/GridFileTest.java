@@ -0,0 +1,71 @@
+package com.weathersolar.grid;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class GridFileTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldIngestDumpIntoMappedGrid() throws IOException {
+        Path file = directory.resolve("grid.bin");
+        GridSpec spec = new GridIngestor(new ObjectMapper()).ingest(SyntheticGrid.writeDump(directory), file);
+
+        GridFile grid = GridFile.open(file);
+
+        assertEquals(spec, grid.spec());
+        assertEquals(3, spec.rows());
+        assertEquals(3, spec.cols());
+        assertEquals(0.5, spec.latitudeStep(), 1e-9);
+        assertEquals(SyntheticGrid.FIRST_DAY, spec.firstDay());
+        assertEquals(48, spec.hours());
+        assertTrue(grid.hasDaily("sunrise"));
+        assertFalse(grid.hasDaily("precipitation_hours"));
+        assertTrue(grid.hasHourly("pressure_msl"));
+    }
+
+    @Test
+    void shouldInterpolateBilinearlyBetweenGridPoints() throws IOException {
+        GridFile grid = ingest();
+
+        assertEquals(SyntheticGrid.maxTemperature(50.3, 20.7, 1),
+            grid.daily("temperature_2m_max", 50.3, 20.7, 1, true), 1e-4);
+        assertEquals(SyntheticGrid.pressure(50.8, 20.1, 30),
+            grid.hourly("pressure_msl", 50.8, 20.1, 30, true), 1e-3);
+    }
+
+    @Test
+    void shouldSnapToNearestPointWhenRequested() throws IOException {
+        GridFile grid = ingest();
+
+        assertEquals(SyntheticGrid.maxTemperature(50.5, 21.0, 0),
+            grid.daily("temperature_2m_max", 50.6, 20.9, 0, false), 1e-4);
+        assertEquals(61, grid.daily("weathercode", 50.9, 20.2, 0, false), 0);
+    }
+
+    @Test
+    void shouldReportCoverageAndMissingSteps() throws IOException {
+        GridFile grid = ingest();
+
+        assertTrue(grid.spec().covers(50.0, 21.0));
+        assertFalse(grid.spec().covers(49.99, 20.5));
+        assertFalse(grid.spec().covers(50.5, 21.01));
+        assertTrue(Double.isNaN(grid.hourly("pressure_msl", 50.5, 20.5, 48, true)));
+        assertTrue(Double.isNaN(grid.daily("precipitation_hours", 50.5, 20.5, 0, true)));
+    }
+
+    private GridFile ingest() throws IOException {
+        Path file = directory.resolve("grid.bin");
+        new GridIngestor(new ObjectMapper()).ingest(SyntheticGrid.writeDump(directory), file);
+        return GridFile.open(file);
+    }
+}
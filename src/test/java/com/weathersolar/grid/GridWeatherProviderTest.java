@@ -0,0 +1,119 @@
+package com.weathersolar.grid;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.weathersolar.Model.HourlySeries;
+import com.weathersolar.client.WeatherProvider;
+import com.weathersolar.config.GridProperties;
+
+import reactor.core.publisher.Mono;
+
+class GridWeatherProviderTest {
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final WeatherProvider remote = mock(WeatherProvider.class);
+    private GridWeatherProvider provider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        GridProperties properties = new GridProperties();
+        properties.setEnabled(true);
+        properties.setSourcePath(SyntheticGrid.writeDump(directory).toString());
+        properties.setDataDir(directory.resolve("data").toString());
+        GridForecastStore store = new GridForecastStore(properties, objectMapper);
+        store.refresh();
+
+        when(remote.name()).thenReturn("remote");
+        Clock clock = Clock.fixed(Instant.parse("2024-06-01T09:00:00Z"), ZoneOffset.UTC);
+        provider = new GridWeatherProvider(store, remote, objectMapper, true, clock);
+    }
+
+    @Test
+    void shouldServeInRegionForecastFromGrid() {
+        JsonNode forecast = provider.getWeatherForecast(50.25, 20.25, 2).block();
+
+        JsonNode daily = forecast.path("daily");
+        assertEquals("2024-06-01", daily.path("time").get(0).asText());
+        assertEquals(SyntheticGrid.maxTemperature(50.25, 20.25, 1), daily.path("temperature_2m_max").get(1).asDouble(), 1e-4);
+        assertEquals(2, daily.path("weathercode").get(0).asInt());
+        assertEquals("2024-06-01T04:15", daily.path("sunrise").get(0).asText());
+        assertTrue(provider.isLocal(50.25, 20.25, 2));
+        verifyNoInteractions(remote);
+    }
+
+    @Test
+    void shouldServePressureWindowsFromGrid() throws IOException {
+        JsonNode full = objectMapper.readTree(provider.getPressureData(50.5, 20.5, 1).block());
+        JsonNode range = objectMapper.readTree(
+            provider.getPressureData(50.5, 20.5, "2024-06-01T03:00", "2024-06-01T05:00").block());
+
+        assertEquals(24, full.path("hourly").path("time").size());
+        assertEquals(SyntheticGrid.FIRST_HOUR, full.path("hourly").path("time").get(0).asLong());
+        assertEquals(3, range.path("hourly").path("pressure_msl").size());
+        assertEquals(SyntheticGrid.pressure(50.5, 20.5, 3), range.path("hourly").path("pressure_msl").get(0).asDouble(), 1e-3);
+        assertTrue(provider.isPressureLocal(50.5, 20.5, 1));
+        assertTrue(provider.isPressureLocal(50.5, 20.5, "2024-06-01T03:00", "2024-06-01T05:00"));
+        verifyNoInteractions(remote);
+    }
+
+    @Test
+    void shouldReportPressureBeyondGridHoursAsRemote() {
+        when(remote.getPressureData(anyDouble(), anyDouble(), anyString(), anyString())).thenReturn(Mono.just(new byte[0]));
+
+        provider.getPressureData(50.5, 20.5, "2024-06-02T20:00", "2024-06-03T05:00").block();
+
+        assertTrue(provider.isLocal(50.5, 20.5, 2));
+        assertFalse(provider.isPressureLocal(50.5, 20.5, "2024-06-02T20:00", "2024-06-03T05:00"));
+        assertFalse(provider.isPressureLocal(52.23, 21.01, 1));
+        verify(remote).getPressureData(50.5, 20.5, "2024-06-02T20:00", "2024-06-03T05:00");
+    }
+
+    @Test
+    void shouldServeHourlySeriesOnlyForGriddedVariables() {
+        HourlySeries series = provider.getHourlyForecast(50.5, 20.5, 1, List.of("pressure_msl")).block();
+        assertEquals(24, series.size());
+        assertEquals(SyntheticGrid.pressure(50.5, 20.5, 23), series.getValues()[0][23], 1e-3);
+
+        when(remote.getHourlyForecast(50.5, 20.5, 1, List.of("temperature_2m"))).thenReturn(Mono.empty());
+        provider.getHourlyForecast(50.5, 20.5, 1, List.of("temperature_2m")).block();
+        verify(remote).getHourlyForecast(50.5, 20.5, 1, List.of("temperature_2m"));
+    }
+
+    @Test
+    void shouldDelegateOutsideRegionOrHorizon() {
+        when(remote.getWeatherForecast(anyDouble(), anyDouble(), anyInt()))
+            .thenReturn(Mono.just(JsonNodeFactory.instance.objectNode()));
+
+        provider.getWeatherForecast(52.23, 21.01, 2).block();
+        provider.getWeatherForecast(50.5, 20.5, 3).block();
+
+        assertFalse(provider.isLocal(52.23, 21.01, 2));
+        assertFalse(provider.isLocal(50.5, 20.5, 3));
+        verify(remote).getWeatherForecast(52.23, 21.01, 2);
+        verify(remote).getWeatherForecast(50.5, 20.5, 3);
+    }
+}
@@ -0,0 +1,78 @@
+package com.weathersolar.grid;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Writes a small regional dump in Open-Meteo's multi-location shape: a 3x3 grid over 50-51N, 20-21E
+ * with two days of daily data and 48 hours of pressure. Values are linear in latitude and longitude so
+ * bilinear lookups have an exact expected answer.
+ */
+final class SyntheticGrid {
+    static final LocalDate FIRST_DAY = LocalDate.of(2024, 6, 1);
+    static final int UTC_OFFSET_SECONDS = 7200;
+    static final long FIRST_HOUR = FIRST_DAY.atStartOfDay().toEpochSecond(ZoneOffset.ofTotalSeconds(UTC_OFFSET_SECONDS));
+
+    private SyntheticGrid() {
+    }
+
+    static double maxTemperature(double latitude, double longitude, int day) {
+        return 10 + (latitude - 50) * 4 + (longitude - 20) * 2 + day;
+    }
+
+    static double pressure(double latitude, double longitude, int hour) {
+        return 1000 + (latitude - 50) * 10 + (longitude - 20) * 20 + hour * 0.5;
+    }
+
+    static Path writeDump(Path directory) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ArrayNode points = mapper.createArrayNode();
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                double latitude = 50 + row * 0.5;
+                double longitude = 20 + col * 0.5;
+                ObjectNode point = points.addObject();
+                point.put("latitude", latitude);
+                point.put("longitude", longitude);
+                point.put("utc_offset_seconds", UTC_OFFSET_SECONDS);
+
+                ObjectNode daily = point.putObject("daily");
+                ArrayNode time = daily.putArray("time");
+                ArrayNode code = daily.putArray("weathercode");
+                ArrayNode max = daily.putArray("temperature_2m_max");
+                ArrayNode min = daily.putArray("temperature_2m_min");
+                ArrayNode sunrise = daily.putArray("sunrise");
+                ArrayNode sunset = daily.putArray("sunset");
+                ArrayNode daylight = daily.putArray("daylight_duration");
+                for (int day = 0; day < 2; day++) {
+                    String date = FIRST_DAY.plusDays(day).toString();
+                    time.add(date);
+                    code.add(row == 2 ? 61 : 2);
+                    max.add(maxTemperature(latitude, longitude, day));
+                    min.add(maxTemperature(latitude, longitude, day) - 10);
+                    sunrise.add(date + "T04:" + (10 + row * 10));
+                    sunset.add(date + "T20:" + (40 + col * 5));
+                    daylight.add(58_000 + row * 100);
+                }
+
+                ObjectNode hourly = point.putObject("hourly");
+                ArrayNode hours = hourly.putArray("time");
+                ArrayNode pressure = hourly.putArray("pressure_msl");
+                for (int hour = 0; hour < 48; hour++) {
+                    hours.add(FIRST_HOUR + hour * 3600L);
+                    pressure.add(pressure(latitude, longitude, hour));
+                }
+            }
+        }
+        Path dump = directory.resolve("region.json");
+        mapper.writeValue(dump.toFile(), points);
+        return dump;
+    }
+}
@@ -0,0 +1,77 @@
+package com.weathersolar.limiter;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.weathersolar.config.LimiterProperties;
+
+class AdaptiveLimitTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(2000);
+
+    @Test
+    void shouldGrowWhileLatencyStaysFlatUnderLoad() {
+        AdaptiveLimit limit = new AdaptiveLimit(new LimiterProperties.Bulkhead(10, 1, 50));
+
+        for (int round = 0; round < 20; round++) {
+            saturateAndRelease(limit, FAST);
+        }
+
+        assertTrue(limit.getLimit() > 10, "limit was " + limit.getLimit());
+    }
+
+    @Test
+    void shouldShrinkWhenLatencyClimbs() {
+        AdaptiveLimit limit = new AdaptiveLimit(new LimiterProperties.Bulkhead(20, 2, 50));
+        for (int round = 0; round < 5; round++) {
+            saturateAndRelease(limit, FAST);
+        }
+        int before = limit.getLimit();
+
+        for (int round = 0; round < 2; round++) {
+            saturateAndRelease(limit, SLOW);
+        }
+
+        assertTrue(limit.getLimit() < before, before + " -> " + limit.getLimit());
+    }
+
+    @Test
+    void shouldNotGrowWithoutDemand() {
+        AdaptiveLimit limit = new AdaptiveLimit(new LimiterProperties.Bulkhead(10, 1, 50));
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.onSuccess(FAST);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void shouldBackOffMultiplicativelyDownToMinimum() {
+        AdaptiveLimit limit = new AdaptiveLimit(new LimiterProperties.Bulkhead(10, 3, 50));
+
+        for (int i = 0; i < 30; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.onDropped();
+        }
+
+        assertEquals(3, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    private static void saturateAndRelease(AdaptiveLimit limit, long rttNanos) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        assertFalse(limit.tryAcquire());
+        for (int i = 0; i < acquired; i++) {
+            limit.onSuccess(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.weathersolar.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.weathersolar.config.RateLimitProperties;
+
+class ClientRateLimiterTest {
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setCapacity(3);
+        properties.setRefillPerSecond(1.0);
+    }
+
+    @Test
+    void shouldAdmitBurstThenReportWait() {
+        ClientRateLimiter limiter = new ClientRateLimiter(properties, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+        }
+        long wait = limiter.tryAcquire("ip:10.0.0.1");
+
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.2"));
+    }
+
+    @Test
+    void shouldRefillOverTime() {
+        ClientRateLimiter limiter = new ClientRateLimiter(properties, now::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("key:abc");
+        }
+        assertTrue(limiter.tryAcquire("key:abc") > 0);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        assertEquals(0, limiter.tryAcquire("key:abc"));
+        assertTrue(limiter.tryAcquire("key:abc") > 0);
+    }
+
+    @Test
+    void shouldStayWithinTableSizeAndEvictIdleClients() {
+        properties.setTableSize(8);
+        ClientRateLimiter limiter = new ClientRateLimiter(properties, now::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("ip:hot");
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+            assertEquals(0, limiter.tryAcquire("ip:client-" + i));
+        }
+
+        assertEquals(8, limiter.size());
+        assertTrue(limiter.tryAcquire("ip:client-999") >= 0);
+    }
+}
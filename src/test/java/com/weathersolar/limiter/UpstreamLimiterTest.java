@@ -0,0 +1,156 @@
+package com.weathersolar.limiter;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.sun.net.httpserver.HttpServer;
+import com.weathersolar.client.OpenMeteoClient;
+import com.weathersolar.config.LimiterProperties;
+import com.weathersolar.exception.UpstreamOverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UpstreamLimiterTest {
+    private LimiterProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LimiterProperties();
+        properties.setInteractive(new LimiterProperties.Bulkhead(2, 1, 10));
+        properties.setBackground(new LimiterProperties.Bulkhead(1, 1, 4));
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenBulkheadIsFull() throws Exception {
+        UpstreamLimiter limiter = new UpstreamLimiter(properties, meterRegistry);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            executor.submit(() -> limiter.call(TrafficClass.INTERACTIVE, () -> {
+                started.countDown();
+                await(release);
+                return "ok";
+            }));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        UpstreamOverloadedException rejected = assertThrows(UpstreamOverloadedException.class,
+            () -> limiter.call(TrafficClass.INTERACTIVE, () -> "too many"));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(TrafficClass.INTERACTIVE, rejected.getTrafficClass());
+        assertEquals(1.0, meterRegistry.counter("weather.upstream.rejected", "bulkhead", "interactive").count());
+        // A saturated interactive bulkhead leaves background capacity untouched, and vice versa
+        assertEquals("background", limiter.call(TrafficClass.BACKGROUND, () -> "background"));
+        release.countDown();
+    }
+
+    @Test
+    void shouldBackOffOnUpstreamOverloadButNotOnClientErrors() {
+        properties.setInteractive(new LimiterProperties.Bulkhead(10, 1, 10));
+        UpstreamLimiter limiter = new UpstreamLimiter(properties, meterRegistry);
+        AdaptiveLimit limit = limiter.limit(TrafficClass.INTERACTIVE);
+
+        assertThrows(WebClientResponseException.class, () -> limiter.call(TrafficClass.INTERACTIVE, () -> {
+            throw WebClientResponseException.create(HttpStatus.BAD_REQUEST.value(), "Bad Request", null, null, null);
+        }));
+        assertEquals(10, limit.getLimit());
+
+        assertThrows(WebClientResponseException.class, () -> limiter.call(TrafficClass.INTERACTIVE, () -> {
+            throw WebClientResponseException.create(HttpStatus.SERVICE_UNAVAILABLE.value(), "Unavailable", null, null, null);
+        }));
+        assertEquals(9, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void shouldBackOffOnStatusReportedThroughOpenMeteoClient() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/overloaded/forecast", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.createContext("/invalid/forecast", exchange -> {
+            exchange.sendResponseHeaders(400, -1);
+            exchange.close();
+        });
+        server.start();
+        properties.setInteractive(new LimiterProperties.Bulkhead(10, 1, 10));
+        UpstreamLimiter limiter = new UpstreamLimiter(properties, meterRegistry);
+        AdaptiveLimit limit = limiter.limit(TrafficClass.INTERACTIVE);
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        try {
+            OpenMeteoClient invalid = new OpenMeteoClient("invalid", WebClient.builder(), baseUrl + "/invalid");
+            assertThrows(WebClientResponseException.BadRequest.class, () -> limiter.call(TrafficClass.INTERACTIVE,
+                () -> invalid.getWeatherForecast(52.0, 21.0, 1).block(Duration.ofSeconds(5))));
+            assertEquals(10, limit.getLimit());
+
+            OpenMeteoClient overloaded = new OpenMeteoClient("overloaded", WebClient.builder(), baseUrl + "/overloaded");
+            assertThrows(WebClientResponseException.ServiceUnavailable.class, () -> limiter.call(TrafficClass.INTERACTIVE,
+                () -> overloaded.getPressureData(52.0, 21.0, 1).block(Duration.ofSeconds(5))));
+            assertEquals(9, limit.getLimit());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void shouldReleaseSlotWhenCallThrowsAnError() {
+        UpstreamLimiter limiter = new UpstreamLimiter(properties, meterRegistry);
+        AdaptiveLimit limit = limiter.limit(TrafficClass.BACKGROUND);
+
+        assertThrows(StackOverflowError.class, () -> limiter.call(TrafficClass.BACKGROUND, () -> {
+            throw new StackOverflowError();
+        }));
+
+        assertEquals(0, limit.getInFlight());
+        assertEquals("next", limiter.call(TrafficClass.BACKGROUND, () -> "next"));
+        assertNull(limiter.admittedClass());
+    }
+
+    @Test
+    void shouldPassThroughWhenDisabled() {
+        properties.setEnabled(false);
+        properties.setInteractive(new LimiterProperties.Bulkhead(1, 1, 1));
+        UpstreamLimiter limiter = new UpstreamLimiter(properties, meterRegistry);
+
+        String nested = limiter.call(TrafficClass.INTERACTIVE,
+            () -> limiter.call(TrafficClass.INTERACTIVE, () -> "nested"));
+
+        assertEquals("nested", nested);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.weathersolar.profiling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.aggregate.AggregateEngine;
+import com.weathersolar.cache.ForecastKey;
+import com.weathersolar.cache.LocationKey;
+import com.weathersolar.config.CacheProperties;
+import com.weathersolar.config.ProfilingProperties;
+import com.weathersolar.dto.WeeklySummaryResponse;
+import com.weathersolar.serialization.ResponseBodyEncoder;
+import com.weathersolar.serialization.ResponseFormat;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class JfrRecordingEndpointTest {
+    @TempDir
+    Path tempDir;
+
+    private ProfilingProperties properties;
+    private JfrRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProfilingProperties();
+        properties.setDir(tempDir.toString());
+        properties.setMaxDuration(Duration.ofMinutes(1));
+        endpoint = new JfrRecordingEndpoint(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.shutdown();
+    }
+
+    @Test
+    void shouldRecordDomainEventsIntoDownloadableFile() throws IOException {
+        WebEndpointResponse<RecordingStatus> started = endpoint.start(Duration.ofSeconds(30));
+        assertEquals(200, started.getStatus());
+        long id = started.getBody().id();
+        assertEquals(409, endpoint.start(null).getStatus());
+        assertEquals(409, endpoint.download(id).getStatus());
+
+        ResponseBodyEncoder encoder = new ResponseBodyEncoder(new ObjectMapper());
+        encoder.gzip(encoder.encode(WeeklySummaryResponse.builder().weatherSummary("Clear").build(), ResponseFormat.JSON));
+        AggregateEngine aggregates = new AggregateEngine(new CacheProperties());
+        ForecastKey key = new ForecastKey(LocationKey.of(52.23, 21.01, 2), 1);
+        aggregates.mergeDaily(key, List.of(DailyWeather.builder().date(LocalDate.of(2024, 6, 1)).minTemperature(1).maxTemperature(5).build()));
+        aggregates.snapshot(key);
+
+        // a recording with a destination is closed by JFR once its file is written
+        assertEquals("CLOSED", endpoint.stop(id).getBody().state());
+        WebEndpointResponse<Resource> download = endpoint.download(id);
+        assertEquals(200, download.getStatus());
+
+        Set<String> recorded = new HashSet<>();
+        String format = null;
+        for (RecordedEvent event : RecordingFile.readAllEvents(download.getBody().getFile().toPath())) {
+            String name = event.getEventType().getName();
+            if (name.startsWith("com.weathersolar.") || name.equals("jdk.InitialEnvironmentVariable")
+                    || name.equals("jdk.InitialSystemProperty")) {
+                recorded.add(name);
+            }
+            if (name.equals("com.weathersolar.Serialization") && format == null) {
+                format = event.getString("format") + ":" + event.getString("type");
+            }
+        }
+        assertEquals(Set.of("com.weathersolar.Serialization", "com.weathersolar.Aggregation"), recorded);
+        assertEquals("JSON:WeeklySummaryResponse", format);
+    }
+
+    @Test
+    void shouldPruneOldRecordingsBeforeStartingNewOne() {
+        properties.setMaxRecordings(1);
+        long first = endpoint.start(Duration.ofSeconds(30)).getBody().id();
+        endpoint.stop(first);
+
+        WebEndpointResponse<RecordingStatus> second = endpoint.start(Duration.ofSeconds(30));
+
+        assertEquals(200, second.getStatus());
+        assertEquals(List.of(second.getBody().id()), endpoint.recordings().stream().map(RecordingStatus::id).toList());
+        assertEquals(404, endpoint.download(first).getStatus());
+    }
+
+    @Test
+    void shouldCapDurationAndRejectNonPositive() {
+        assertEquals(400, endpoint.start(Duration.ZERO).getStatus());
+
+        RecordingStatus status = endpoint.start(Duration.ofHours(1)).getBody();
+
+        assertEquals(Duration.ofMinutes(1), Duration.between(status.startedAt(), status.stopsAt()));
+        assertTrue(endpoint.recordings().stream().anyMatch(recording -> recording.id() == status.id()));
+        assertEquals(404, endpoint.download(status.id() + 1000).getStatus());
+    }
+}
@@ -0,0 +1,87 @@
+package com.weathersolar.serialization;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.protobuf.CodedInputStream;
+import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.dto.WeatherForecastResponse;
+
+class ResponseBodyEncoderTest {
+    private ObjectMapper objectMapper;
+    private ResponseBodyEncoder encoder;
+    private WeatherForecastResponse forecast;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        encoder = new ResponseBodyEncoder(objectMapper);
+        forecast = WeatherForecastResponse.builder()
+            .dailyForecasts(List.of(DailyWeather.builder()
+                .date(LocalDate.of(2024, 6, 21))
+                .weatherCode(3)
+                .minTemperature(12.5)
+                .maxTemperature(24.0)
+                .solarEnergy(6.1)
+                .daylightHours(16.8)
+                .build()))
+            .averagePressure(1013.2)
+            .averageSunExposure(6.1)
+            .minTemperature(12.5)
+            .maxTemperature(24.0)
+            .weatherSummary("Przeważnie bez opadów")
+            .build();
+    }
+
+    @Test
+    void shouldNegotiateFormatFromAcceptHeader() {
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate(null));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("*/*"));
+        assertEquals(ResponseFormat.SMILE, ResponseFormat.negotiate("application/json;q=0.2, application/x-jackson-smile"));
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.negotiate("text/html, application/cbor;q=0.9"));
+        assertNull(ResponseFormat.negotiate("application/xml"));
+    }
+
+    @Test
+    void shouldRoundTripCbor() throws Exception {
+        byte[] cbor = encoder.encode(forecast, ResponseFormat.CBOR);
+        WeatherForecastResponse decoded = objectMapper.copyWith(new CBORFactory())
+            .readValue(cbor, WeatherForecastResponse.class);
+
+        assertEquals(forecast, decoded);
+    }
+
+    @Test
+    void shouldEncodeProtobufPerSchema() throws Exception {
+        CodedInputStream in = CodedInputStream.newInstance(encoder.encode(forecast, ResponseFormat.PROTOBUF));
+
+        assertEquals((1 << 3) | 2, in.readTag());
+        int limit = in.pushLimit(in.readRawVarint32());
+        assertEquals((1 << 3), in.readTag());
+        assertEquals(LocalDate.of(2024, 6, 21).toEpochDay(), in.readInt32());
+        assertEquals((2 << 3), in.readTag());
+        assertEquals(3, in.readInt32());
+        assertEquals((3 << 3) | 1, in.readTag());
+        assertEquals(12.5, in.readDouble());
+        in.skipMessage();
+        in.popLimit(limit);
+
+        assertEquals((2 << 3) | 1, in.readTag());
+        assertEquals(1013.2, in.readDouble());
+        for (int field = 3; field <= 5; field++) {
+            assertEquals((field << 3) | 1, in.readTag());
+            in.readDouble();
+        }
+        assertEquals((6 << 3) | 2, in.readTag());
+        assertEquals("Przeważnie bez opadów", in.readString());
+        assertEquals(true, in.isAtEnd());
+    }
+}
@@ -0,0 +1,62 @@
+package com.weathersolar.serialization;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.weathersolar.dto.SolarGridResponse;
+import com.weathersolar.solargrid.GridTile;
+import com.weathersolar.solargrid.SolarGrid;
+import com.weathersolar.solargrid.TileKey;
+
+class SolarGridWriterTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 6, 2);
+
+    // One 2x2 tile at resolution 1°, tile (70, 95) => cells from 50.5°N 10.5°E, at 2 kWp
+    private final SolarGrid grid = new SolarGrid(DAY, 1.0, 2, 2.0, 140, 190, 2, 2, 70, 95, 1,
+        List.of(new GridTile(new TileKey(1_000_000, DAY.toEpochDay(), 70, 95),
+            new float[] {1f, 2f, 3f, Float.NaN}, 0L)));
+
+    @Test
+    void shouldWriteHeaderAndScaledYieldsRowMajor() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SolarGridWriter.writeBinary(grid, out);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(SolarGridWriter.MAGIC, in.readInt());
+        assertEquals(2, in.readInt());
+        assertEquals(2, in.readInt());
+        assertEquals(50.5, in.readDouble());
+        assertEquals(10.5, in.readDouble());
+        assertEquals(1.0, in.readDouble());
+        assertEquals(DAY.toEpochDay(), in.readLong());
+        assertEquals(2f, in.readFloat());
+        assertEquals(4f, in.readFloat());
+        assertEquals(6f, in.readFloat());
+        assertTrue(Float.isNaN(in.readFloat()));
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    void shouldWriteTilesWithNullForMissingCells() {
+        SolarGridResponse response = SolarGridWriter.toTiles(grid);
+
+        assertEquals(1, response.getTiles().size());
+        SolarGridResponse.Tile tile = response.getTiles().get(0);
+        assertEquals(70, tile.getTileRow());
+        assertEquals(95, tile.getTileCol());
+        assertEquals(50.5, tile.getSouth(), 1e-9);
+        assertEquals(10.5, tile.getWest(), 1e-9);
+        assertEquals(2f, tile.getValues()[0]);
+        assertEquals(6f, tile.getValues()[2]);
+        assertNull(tile.getValues()[3]);
+    }
+}
@@ -0,0 +1,182 @@
+package com.weathersolar.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weathersolar.aggregate.AggregateEngine;
+import com.weathersolar.cache.ForecastKey;
+import com.weathersolar.cache.LocationKey;
+import com.weathersolar.client.OpenMeteoClient;
+import com.weathersolar.config.CacheProperties;
+import com.weathersolar.config.RefreshProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class PressureRefresherTest {
+    private static final ForecastKey KEY = new ForecastKey(LocationKey.of(52.0, 21.0, 2), 1);
+    private static final long MIDNIGHT = Instant.parse("2024-01-01T00:00:00Z").getEpochSecond();
+
+    private final OpenMeteoClient meteoClient = mock(OpenMeteoClient.class);
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T12:00:00Z"));
+    private SimpleMeterRegistry meterRegistry;
+    private AggregateEngine aggregateEngine;
+    private PressureRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        aggregateEngine = new AggregateEngine(cacheProperties);
+        refresher = new PressureRefresher(meteoClient, aggregateEngine, new RefreshProperties(), cacheProperties,
+            new ObjectMapper(), meterRegistry, clock);
+
+        when(meteoClient.getPressureData(anyDouble(), anyDouble(), anyInt()))
+            .thenReturn(Mono.just(payload(MIDNIGHT, 3)));
+        when(meteoClient.getPressureData(anyDouble(), anyDouble(), anyString(), anyString()))
+            .thenReturn(Mono.just(payload(MIDNIGHT + 3 * 3600, 21)));
+    }
+
+    @Test
+    void shouldRequestOnlyMissingHoursWithinModelRun() {
+        JsonNode full = refresher.refresh(KEY, 52.0, 21.0, 1);
+        merge(full);
+
+        JsonNode delta = refresher.refresh(KEY, 52.0, 21.0, 1);
+
+        assertEquals(3, full.path("hourly").path("time").size());
+        assertEquals(21, delta.path("hourly").path("time").size());
+        verify(meteoClient).getPressureData(52.0, 21.0, "2024-01-01T03:00", "2024-01-01T23:00");
+        assertEquals(1.0, meterRegistry.counter("weather.refresh.requests", "mode", "full").count());
+        assertEquals(1.0, meterRegistry.counter("weather.refresh.requests", "mode", "delta").count());
+    }
+
+    @Test
+    void shouldRunRemoteCallsThroughUpstreamGuardUnlessServedLocally() {
+        AtomicInteger guarded = new AtomicInteger();
+        merge(refresher.refresh(KEY, 52.0, 21.0, 1, call -> {
+            guarded.incrementAndGet();
+            return call.get();
+        }));
+        assertEquals(1, guarded.get());
+
+        when(meteoClient.isPressureLocal(52.0, 21.0, "2024-01-01T03:00", "2024-01-01T23:00")).thenReturn(true);
+        refresher.refresh(KEY, 52.0, 21.0, 1, call -> {
+            guarded.incrementAndGet();
+            return call.get();
+        });
+        assertEquals(1, guarded.get());
+        verify(meteoClient).getPressureData(52.0, 21.0, "2024-01-01T03:00", "2024-01-01T23:00");
+    }
+
+    @Test
+    void shouldSkipRequestWhenHorizonIsCovered() {
+        merge(refresher.refresh(KEY, 52.0, 21.0, 1));
+        merge(refresher.refresh(KEY, 52.0, 21.0, 1));
+
+        JsonNode skipped = refresher.refresh(KEY, 52.0, 21.0, 1);
+
+        assertEquals(0, skipped.path("hourly").path("time").size());
+        verify(meteoClient, times(1)).getPressureData(anyDouble(), anyDouble(), anyString(), anyString());
+        assertEquals(1.0, meterRegistry.counter("weather.refresh.requests", "mode", "skipped").count());
+        double fullBytesPerDay = payload(MIDNIGHT, 3).length / 3.0 * 24;
+        assertEquals(true, meterRegistry.counter("weather.refresh.bytes.saved").count() >= fullBytesPerDay);
+    }
+
+    @Test
+    void shouldRefetchEverythingOnNewModelRun() {
+        merge(refresher.refresh(KEY, 52.0, 21.0, 1));
+        aggregateEngine.mergePressure(KEY, new long[] {MIDNIGHT + 3 * 3600}, new double[] {1013.0});
+
+        clock.advance(Duration.ofHours(6));
+        refresher.refresh(KEY, 52.0, 21.0, 1);
+
+        verify(meteoClient, times(2)).getPressureData(anyDouble(), anyDouble(), anyInt());
+        verify(meteoClient, never()).getPressureData(anyDouble(), anyDouble(), anyString(), anyString());
+        assertEquals(Long.MIN_VALUE, aggregateEngine.lastPressureTime(KEY));
+    }
+
+    @Test
+    void shouldAlwaysRefetchWhenDeltaDisabled() {
+        RefreshProperties properties = new RefreshProperties();
+        properties.setDeltaEnabled(false);
+        refresher = new PressureRefresher(meteoClient, aggregateEngine, properties, new CacheProperties(),
+            new ObjectMapper(), meterRegistry, clock);
+
+        merge(refresher.refresh(KEY, 52.0, 21.0, 1));
+        refresher.refresh(KEY, 52.0, 21.0, 1);
+
+        verify(meteoClient, times(2)).getPressureData(anyDouble(), anyDouble(), anyInt());
+        verify(meteoClient, never()).getPressureData(anyDouble(), anyDouble(), anyString(), anyString());
+    }
+
+    private void merge(JsonNode payload) {
+        JsonNode time = payload.path("hourly").path("time");
+        JsonNode pressure = payload.path("hourly").path("pressure_msl");
+        long[] times = new long[time.size()];
+        double[] values = new double[time.size()];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = time.get(i).asLong();
+            values[i] = pressure.get(i).asDouble();
+        }
+        aggregateEngine.mergePressure(KEY, times, values);
+    }
+
+    private static byte[] payload(long start, int hours) {
+        StringBuilder time = new StringBuilder();
+        StringBuilder pressure = new StringBuilder();
+        for (int i = 0; i < hours; i++) {
+            String separator = i == 0 ? "" : ",";
+            time.append(separator).append(start + i * 3600L);
+            pressure.append(separator).append(1010.0 + i);
+        }
+        return ("{\"utc_offset_seconds\":0,\"hourly\":{\"time\":[" + time + "],\"pressure_msl\":[" + pressure + "]}}")
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -29,6 +29,13 @@ class SolarEnergyCalculatorTest {
         assertEquals(expectedEnergy, result, 0.01);
     }
 
+    @Test
+    void shouldScaleEnergyWithInstalledPower() {
+        double result = calculator.calculateDailySolarEnergy(12.0, 10.0);
+        assertEquals(10.0 * 12.0 * 0.2 * 0.85, result, 0.01);
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculateDailySolarEnergy(12.0, 0.0));
+    }
+
     @Test
     void shouldReturnZeroForZeroExposure() {
         double result = calculator.calculateDailySolarEnergy(0.0);
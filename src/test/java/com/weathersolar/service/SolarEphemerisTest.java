@@ -0,0 +1,65 @@
+package com.weathersolar.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.api.Test;
+
+import com.weathersolar.utils.SolarEphemeris;
+import com.weathersolar.utils.SolarEphemeris.SunTimes;
+
+class SolarEphemerisTest {
+
+    /**
+     * Reference sun times in local civil time. The Warsaw January rows are the Open-Meteo daily values
+     * (timezone=auto) the service tests were recorded with; the others are published almanac values.
+     * Sunrise and sunset are given to the minute, so they are checked to within a minute; day length is
+     * checked to within 30 s of Open-Meteo's value in seconds and 45 s of the almanacs' minute-derived one.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        // latitude, longitude, date,   utc offset, sunrise, sunset, daylight seconds, tolerance
+        "52.0,   21.0,     2024-01-01, 1,  07:45, 15:35, 28200, 30",
+        "52.0,   21.0,     2024-01-02, 1,  07:45, 15:36, 28260, 30",
+        "52.23,  21.01,    2024-06-21, 2,  04:14, 21:01, 60420, 45",
+        "52.23,  21.01,    2024-12-21, 1,  07:43, 15:25, 27720, 45",
+        "51.5074, -0.1278, 2024-06-21, 1,  04:43, 21:21, 59880, 45",
+        "-33.8688, 151.2093, 2024-12-21, 11, 05:41, 20:05, 51840, 45",
+        "0.0,    0.0,      2024-03-20, 0,  06:04, 18:10, 43560, 45"
+    })
+    void matchesRecordedSunTimes(double latitude, double longitude, LocalDate date, int utcOffset,
+            LocalTime sunrise, LocalTime sunset, long daylightSeconds, long daylightTolerance) {
+        SunTimes sun = SolarEphemeris.compute(latitude, longitude, date);
+        ZoneOffset offset = ZoneOffset.ofHours(utcOffset);
+
+        assertTrue(sun.hasSunrise());
+        assertWithinMinute(sunrise, LocalDateTime.ofEpochSecond(sun.sunrise(), 0, offset).toLocalTime());
+        assertWithinMinute(sunset, LocalDateTime.ofEpochSecond(sun.sunset(), 0, offset).toLocalTime());
+        assertEquals(daylightSeconds, sun.daylightSeconds(), daylightTolerance);
+        assertEquals(date, LocalDateTime.ofEpochSecond(sun.sunrise(), 0, offset).toLocalDate());
+    }
+
+    @Test
+    void reportsPolarDayAndNight() {
+        SunTimes winter = SolarEphemeris.compute(69.65, 18.96, LocalDate.of(2024, 12, 21));
+        SunTimes summer = SolarEphemeris.compute(69.65, 18.96, LocalDate.of(2024, 6, 21));
+
+        assertFalse(winter.hasSunrise());
+        assertEquals(0.0, winter.daylightHours());
+        assertFalse(summer.hasSunrise());
+        assertEquals(24.0, summer.daylightHours());
+    }
+
+    private static void assertWithinMinute(LocalTime expected, LocalTime actual) {
+        long difference = Math.abs(expected.toSecondOfDay() - actual.toSecondOfDay());
+        assertTrue(difference <= 60, "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,208 @@
+package com.weathersolar.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.weathersolar.Model.HourlySeries;
+import com.weathersolar.aggregate.AggregateEngine;
+import com.weathersolar.cache.ForecastCache;
+import com.weathersolar.client.WeatherProvider;
+import com.weathersolar.cluster.PeerForwarder;
+import com.weathersolar.config.CacheProperties;
+import com.weathersolar.config.LimiterProperties;
+import com.weathersolar.config.RefreshProperties;
+import com.weathersolar.config.SolarProperties;
+import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.dto.WeeklySummaryResponse;
+import com.weathersolar.limiter.UpstreamLimiter;
+import com.weathersolar.utils.SolarEnergyCalculator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Fires thousands of concurrent forecast and summary requests for many locations at one shared
+ * service and checks that every response carries the values of its own location. The stub derives
+ * pressure and temperatures from the coordinates it is asked for and answers after a random delay,
+ * so requests for different places overlap inside the service.
+ */
+class WeatherServiceConcurrencyTest {
+    private static final int LOCATIONS = 400;
+    private static final int REQUESTS = 4000;
+    private static final int THREADS = 64;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private ExecutorService executor;
+    private WeatherService weatherService;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LimiterProperties limiterProperties = new LimiterProperties();
+        limiterProperties.setEnabled(false);
+        AggregateEngine aggregateEngine = new AggregateEngine(cacheProperties);
+        WeatherProvider provider = new LocationEchoProvider();
+        PressureRefresher pressureRefresher = new PressureRefresher(provider, aggregateEngine,
+            new RefreshProperties(), cacheProperties, objectMapper, meterRegistry);
+        weatherService = new WeatherService(provider, new SolarEnergyCalculator(new SolarProperties()),
+            new ForecastCache(cacheProperties), aggregateEngine, pressureRefresher,
+            new UpstreamLimiter(limiterProperties, meterRegistry), PeerForwarder.LOCAL);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void everyResponseMatchesItsOwnLocation() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int location = Math.floorMod(i * 7919, LOCATIONS);
+            boolean summary = i % 5 == 0;
+            results.add(executor.submit((Callable<Void>) () -> {
+                start.await();
+                check(location, summary);
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+
+        assertTrue(upstreamCalls.get() <= LOCATIONS * 2 * 2,
+            "concurrent misses for one location should share a fetch, upstream calls: " + upstreamCalls.get());
+    }
+
+    private void check(int location, boolean summary) {
+        double latitude = latitude(location);
+        double longitude = longitude(location);
+        String where = "location " + latitude + "," + longitude;
+        if (summary) {
+            WeeklySummaryResponse response = weatherService.getWeeklySummary(latitude, longitude);
+            assertEquals(pressure(latitude, longitude), response.getAveragePressure(), 1e-9, where);
+            assertEquals(minTemperature(latitude, longitude), response.getMinTemperature(), 1e-9, where);
+            assertEquals(maxTemperature(latitude, longitude), response.getMaxTemperature(), 1e-9, where);
+        } else {
+            WeatherForecastResponse response = weatherService.getForecast(latitude, longitude, 2);
+            assertEquals(pressure(latitude, longitude), response.getAveragePressure(), 1e-9, where);
+            assertEquals(minTemperature(latitude, longitude), response.getMinTemperature(), 1e-9, where);
+            assertEquals(maxTemperature(latitude, longitude), response.getMaxTemperature(), 1e-9, where);
+            response.getDailyForecasts().forEach(day ->
+                assertEquals(maxTemperature(latitude, longitude), day.getMaxTemperature(), 1e-9, where));
+        }
+    }
+
+    private static double latitude(int location) {
+        return 35.0 + (location / 20) * 1.25;
+    }
+
+    private static double longitude(int location) {
+        return -10.0 + (location % 20) * 2.5;
+    }
+
+    private static double pressure(double latitude, double longitude) {
+        return 980.0 + latitude + longitude / 8;
+    }
+
+    private static double minTemperature(double latitude, double longitude) {
+        return -latitude / 4;
+    }
+
+    private static double maxTemperature(double latitude, double longitude) {
+        return longitude / 2 + 15;
+    }
+
+    /** Answers every call with values derived from the requested coordinates, after a random delay. */
+    private class LocationEchoProvider implements WeatherProvider {
+        private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+        @Override
+        public String name() {
+            return "stub";
+        }
+
+        @Override
+        public Mono<JsonNode> getWeatherForecast(double latitude, double longitude, int days) {
+            ObjectNode root = objectMapper.createObjectNode();
+            ObjectNode daily = root.putObject("daily");
+            ArrayNode time = daily.putArray("time");
+            ArrayNode code = daily.putArray("weathercode");
+            ArrayNode max = daily.putArray("temperature_2m_max");
+            ArrayNode min = daily.putArray("temperature_2m_min");
+            ArrayNode sunrise = daily.putArray("sunrise");
+            ArrayNode sunset = daily.putArray("sunset");
+            ArrayNode daylight = daily.putArray("daylight_duration");
+            for (int d = 0; d < days; d++) {
+                LocalDate date = FIRST_DAY.plusDays(d);
+                time.add(date.toString());
+                code.add(1);
+                max.add(maxTemperature(latitude, longitude));
+                min.add(minTemperature(latitude, longitude));
+                sunrise.add(date + "T07:00");
+                sunset.add(date + "T16:00");
+                daylight.add(9 * 3600);
+            }
+            return delayed(root);
+        }
+
+        @Override
+        public Mono<byte[]> getPressureData(double latitude, double longitude, int days) {
+            ObjectNode root = objectMapper.createObjectNode();
+            ObjectNode hourly = root.putObject("hourly");
+            ArrayNode time = hourly.putArray("time");
+            ArrayNode pressure = hourly.putArray("pressure_msl");
+            long first = FIRST_DAY.toEpochDay() * 86_400;
+            for (int h = 0; h < days * 24; h++) {
+                time.add(first + h * 3600L);
+                pressure.add(pressure(latitude, longitude));
+            }
+            return delayed(root).map(node -> node.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Mono<byte[]> getPressureData(double latitude, double longitude, String startHour, String endHour) {
+            return delayed(objectMapper.createObjectNode())
+                .map(node -> "{\"hourly\":{\"time\":[],\"pressure_msl\":[]}}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Mono<HourlySeries> getHourlyForecast(double latitude, double longitude, int days,
+                List<String> variables) {
+            return Mono.error(new UnsupportedOperationException());
+        }
+
+        private Mono<JsonNode> delayed(JsonNode body) {
+            upstreamCalls.incrementAndGet();
+            return Mono.just(body).delayElement(Duration.ofMillis(ThreadLocalRandom.current().nextInt(3)));
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package com.weathersolar.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -8,6 +15,10 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
@@ -15,10 +26,21 @@ import org.mockito.MockitoAnnotations;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.weathersolar.Model.DailyWeather;
+import com.weathersolar.aggregate.AggregateEngine;
+import com.weathersolar.cache.ForecastCache;
 import com.weathersolar.client.OpenMeteoClient;
+import com.weathersolar.cache.ForecastKey;
+import com.weathersolar.cluster.PeerForwarder;
+import com.weathersolar.config.CacheProperties;
+import com.weathersolar.config.LimiterProperties;
+import com.weathersolar.config.RefreshProperties;
 import com.weathersolar.dto.WeatherForecastResponse;
+import com.weathersolar.dto.WeeklySummaryResponse;
+import com.weathersolar.limiter.TrafficClass;
+import com.weathersolar.limiter.UpstreamLimiter;
 import com.weathersolar.utils.SolarEnergyCalculator;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import reactor.core.publisher.Mono;
 
 class WeatherServiceTest {
@@ -34,8 +56,15 @@ class WeatherServiceTest {
    @BeforeEach
    void setUp() {
        MockitoAnnotations.openMocks(this);
-       weatherService = new WeatherService(meteoClient, solarEnergyCalculator);
+       CacheProperties cacheProperties = new CacheProperties();
        objectMapper = new ObjectMapper();
+       AggregateEngine aggregateEngine = new AggregateEngine(cacheProperties);
+       SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+       PressureRefresher pressureRefresher = new PressureRefresher(meteoClient, aggregateEngine,
+           new RefreshProperties(), cacheProperties, objectMapper, meterRegistry);
+       weatherService = new WeatherService(meteoClient, solarEnergyCalculator,
+           new ForecastCache(cacheProperties), aggregateEngine, pressureRefresher,
+           new UpstreamLimiter(new LimiterProperties(), meterRegistry), PeerForwarder.LOCAL);
        // domyślne mockowanie energii słonecznej
        when(solarEnergyCalculator.calculateDailySolarEnergy(anyDouble())).thenReturn(10.0);
    }
@@ -59,18 +88,18 @@ class WeatherServiceTest {
        String pressureJson = """
            {
                "hourly": {
+                   "time": [1704067200, 1704070800],
                    "pressure_msl": [1013.0, 1014.0]
                }
            }
            """;
        
        JsonNode weatherData = objectMapper.readTree(weatherJson);
-       JsonNode pressureData = objectMapper.readTree(pressureJson);
 
-       when(meteoClient.getWeatherForecast(anyDouble(), anyDouble()))
+       when(meteoClient.getWeatherForecast(anyDouble(), anyDouble(), anyInt()))
            .thenReturn(Mono.just(weatherData));
-       when(meteoClient.getPressureData(anyDouble(), anyDouble()))
-           .thenReturn(Mono.just(pressureData));
+       when(meteoClient.getPressureData(anyDouble(), anyDouble(), anyInt()))
+           .thenReturn(Mono.just(pressureJson.getBytes(StandardCharsets.UTF_8)));
 
        WeatherForecastResponse response = weatherService.getForecast(52.0, 21.0);
 
@@ -103,18 +132,18 @@ class WeatherServiceTest {
        String pressureJson = """
            {
                "hourly": {
+                   "time": [1704067200, 1704070800],
                    "pressure_msl": [1013.0, 1014.0]
                }
            }
            """;
        
        JsonNode weatherData = objectMapper.readTree(weatherJson);
-       JsonNode pressureData = objectMapper.readTree(pressureJson);
 
-       when(meteoClient.getWeatherForecast(anyDouble(), anyDouble()))
+       when(meteoClient.getWeatherForecast(anyDouble(), anyDouble(), anyInt()))
            .thenReturn(Mono.just(weatherData));
-       when(meteoClient.getPressureData(anyDouble(), anyDouble()))
-           .thenReturn(Mono.just(pressureData));
+       when(meteoClient.getPressureData(anyDouble(), anyDouble(), anyInt()))
+           .thenReturn(Mono.just(pressureJson.getBytes(StandardCharsets.UTF_8)));
 
        WeatherForecastResponse response = weatherService.getForecast(52.0, 21.0);
 
@@ -125,4 +154,156 @@ class WeatherServiceTest {
        assertEquals(21.5, response.getMaxTemperature());
        assertNotNull(response.getWeatherSummary());
    }
-}
\ No newline at end of file
+
+   @Test
+   void shouldServeWeeklySummaryFromAggregates() throws Exception {
+       String weatherJson = """
+           {
+               "daily": {
+                   "time": ["2024-01-01", "2024-01-02"],
+                   "weathercode": [1, 61],
+                   "temperature_2m_max": [4.0, 6.5],
+                   "temperature_2m_min": [-3.0, 1.0],
+                   "sunrise": ["2024-01-01T07:45", "2024-01-02T07:45"],
+                   "sunset": ["2024-01-01T15:35", "2024-01-02T15:36"],
+                   "daylight_duration": [28200, 28260]
+               }
+           }
+           """;
+
+       String pressureJson = """
+           {
+               "hourly": {
+                   "time": [1704067200, 1704070800, 1704074400],
+                   "pressure_msl": [1010.0, 1011.0, 1012.0]
+               }
+           }
+           """;
+
+       when(meteoClient.getWeatherForecast(anyDouble(), anyDouble(), anyInt()))
+           .thenReturn(Mono.just(objectMapper.readTree(weatherJson)));
+       when(meteoClient.getPressureData(anyDouble(), anyDouble(), anyInt()))
+           .thenReturn(Mono.just(pressureJson.getBytes(StandardCharsets.UTF_8)));
+
+       WeeklySummaryResponse summary = weatherService.getWeeklySummary(52.0, 21.0);
+
+       assertEquals(1011.0, summary.getAveragePressure(), 0.001);
+       assertEquals(1.0, summary.getPressureTrend(), 0.001);
+       assertEquals(-3.0, summary.getMinTemperature());
+       assertEquals(6.5, summary.getMaxTemperature());
+       assertEquals(10.0, summary.getAverageSunExposure());
+   }
+
+   @Test
+   void shouldServeForecastFromOwningPeerWithoutUpstreamCall() {
+       CacheProperties cacheProperties = new CacheProperties();
+       AggregateEngine aggregateEngine = new AggregateEngine(cacheProperties);
+       SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+       PressureRefresher pressureRefresher = new PressureRefresher(meteoClient, aggregateEngine,
+           new RefreshProperties(), cacheProperties, objectMapper, meterRegistry);
+       WeatherForecastResponse owned = WeatherForecastResponse.builder()
+           .dailyForecasts(List.of(new DailyWeather(LocalDate.of(2024, 1, 1), 1, -3.0, 4.0, 5.0, 7.8)))
+           .averagePressure(1012.0)
+           .weatherSummary("Clear")
+           .build();
+       WeatherService clustered = new WeatherService(meteoClient, solarEnergyCalculator,
+           new ForecastCache(cacheProperties), aggregateEngine, pressureRefresher,
+           new UpstreamLimiter(new LimiterProperties(), meterRegistry), (key, trafficClass) -> owned);
+
+       WeatherForecastResponse response = clustered.getForecast(52.0, 21.0, 1);
+
+       assertEquals(owned, response);
+       verify(meteoClient, never()).getWeatherForecast(anyDouble(), anyDouble(), anyInt());
+       verify(meteoClient, never()).getPressureData(anyDouble(), anyDouble(), anyInt());
+   }
+
+   @Test
+   void shouldTakeWeeklySummaryFromOwningPeer() {
+       CacheProperties cacheProperties = new CacheProperties();
+       AggregateEngine aggregateEngine = new AggregateEngine(cacheProperties);
+       SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+       PressureRefresher pressureRefresher = new PressureRefresher(meteoClient, aggregateEngine,
+           new RefreshProperties(), cacheProperties, objectMapper, meterRegistry);
+       WeeklySummaryResponse owned = WeeklySummaryResponse.builder()
+           .averagePressure(1012.0)
+           .pressureTrend(-0.4)
+           .weatherSummary("Clear")
+           .build();
+       PeerForwarder peer = new PeerForwarder() {
+           @Override
+           public WeatherForecastResponse forward(ForecastKey key, TrafficClass trafficClass) {
+               return WeatherForecastResponse.builder().dailyForecasts(List.of()).build();
+           }
+
+           @Override
+           public WeeklySummaryResponse forwardSummary(ForecastKey key, TrafficClass trafficClass) {
+               return owned;
+           }
+       };
+       WeatherService clustered = new WeatherService(meteoClient, solarEnergyCalculator,
+           new ForecastCache(cacheProperties), aggregateEngine, pressureRefresher,
+           new UpstreamLimiter(new LimiterProperties(), meterRegistry), peer);
+
+       clustered.getForecast(52.0, 21.0);
+       WeeklySummaryResponse summary = clustered.getWeeklySummary(52.0, 21.0);
+
+       assertEquals(-0.4, summary.getPressureTrend());
+       verify(meteoClient, never()).getWeatherForecast(anyDouble(), anyDouble(), anyInt());
+   }
+
+   @Test
+   void shouldRefetchMissingAggregatesOnceForConcurrentSummaries() throws Exception {
+       CacheProperties cacheProperties = new CacheProperties();
+       AggregateEngine aggregateEngine = new AggregateEngine(cacheProperties);
+       SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+       PressureRefresher pressureRefresher = new PressureRefresher(meteoClient, aggregateEngine,
+           new RefreshProperties(), cacheProperties, objectMapper, meterRegistry);
+       // The owner answered the forecast but is gone by the time the summaries arrive
+       PeerForwarder unreachableOwner = (key, trafficClass) ->
+           WeatherForecastResponse.builder().dailyForecasts(List.of()).weatherSummary("Clear").build();
+       WeatherService clustered = new WeatherService(meteoClient, solarEnergyCalculator,
+           new ForecastCache(cacheProperties), aggregateEngine, pressureRefresher,
+           new UpstreamLimiter(new LimiterProperties(), meterRegistry), unreachableOwner);
+       String weatherJson = """
+           {
+               "daily": {
+                   "time": ["2024-01-01"],
+                   "weathercode": [1],
+                   "temperature_2m_max": [4.0],
+                   "temperature_2m_min": [-3.0],
+                   "sunrise": ["2024-01-01T07:45"],
+                   "sunset": ["2024-01-01T15:35"],
+                   "daylight_duration": [28200]
+               }
+           }
+           """;
+       String pressureJson = """
+           {"hourly": {"time": [1704067200, 1704070800], "pressure_msl": [1010.0, 1011.0]}}
+           """;
+       when(meteoClient.getWeatherForecast(anyDouble(), anyDouble(), anyInt()))
+           .thenReturn(Mono.just(objectMapper.readTree(weatherJson)).delayElement(Duration.ofMillis(200)));
+       when(meteoClient.getPressureData(anyDouble(), anyDouble(), anyInt()))
+           .thenReturn(Mono.just(pressureJson.getBytes(StandardCharsets.UTF_8)));
+       clustered.getForecast(52.0, 21.0);
+
+       ExecutorService executor = Executors.newFixedThreadPool(2);
+       try {
+           CountDownLatch start = new CountDownLatch(1);
+           Future<WeeklySummaryResponse> first = executor.submit(() -> {
+               start.await();
+               return clustered.getWeeklySummary(52.0, 21.0);
+           });
+           Future<WeeklySummaryResponse> second = executor.submit(() -> {
+               start.await();
+               return clustered.getWeeklySummary(52.0, 21.0);
+           });
+           start.countDown();
+
+           assertEquals(1010.5, first.get().getAveragePressure(), 0.001);
+           assertEquals(1010.5, second.get().getAveragePressure(), 0.001);
+       } finally {
+           executor.shutdownNow();
+       }
+       verify(meteoClient, times(1)).getWeatherForecast(anyDouble(), anyDouble(), anyInt());
+   }
+}
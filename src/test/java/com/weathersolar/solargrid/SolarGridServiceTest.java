@@ -0,0 +1,197 @@
+package com.weathersolar.solargrid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.weathersolar.Model.HourlySeries;
+import com.weathersolar.client.WeatherProvider;
+import com.weathersolar.config.LimiterProperties;
+import com.weathersolar.config.SolarGridProperties;
+import com.weathersolar.config.SolarProperties;
+import com.weathersolar.exception.ExternalServiceException;
+import com.weathersolar.limiter.UpstreamLimiter;
+import com.weathersolar.utils.SolarEnergyCalculator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class SolarGridServiceTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-06-01T08:00:00Z"), ZoneOffset.UTC);
+    private static final double SUNSHINE_HOURS = 8;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger batches = new AtomicInteger();
+    private final AtomicInteger largestBatch = new AtomicInteger();
+    private final AtomicInteger failingBatch = new AtomicInteger();
+    private final SolarEnergyCalculator calculator = new SolarEnergyCalculator(new SolarProperties());
+    private SolarGridService service;
+
+    @BeforeEach
+    void setUp() {
+        LimiterProperties limiterProperties = new LimiterProperties();
+        limiterProperties.setEnabled(false);
+        SolarGridProperties properties = new SolarGridProperties();
+        properties.setFetchConcurrency(1);
+        service = new SolarGridService(new SunshineProvider(), calculator,
+            new UpstreamLimiter(limiterProperties, new SimpleMeterRegistry()), properties, CLOCK);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void shouldFetchOneBatchPerTileAndOnlyNewTilesWhenPanning() {
+        SolarGrid grid = service.getGrid(new BoundingBox(10, 50, 20, 60), 0.1, null, 1.0);
+
+        assertEquals(100, grid.rows());
+        assertEquals(100, grid.cols());
+        assertEquals(LocalDate.of(2026, 6, 2), grid.date());
+        assertEquals(100, batches.get());
+        assertEquals(100, largestBatch.get());
+        assertEquals(100, service.cachedTiles());
+
+        service.getGrid(new BoundingBox(11, 50, 21, 60), 0.1, null, 1.0);
+
+        assertEquals(110, batches.get());
+        assertEquals(110, service.cachedTiles());
+    }
+
+    @Test
+    void shouldKeepTilesComputedBeforeAFailingBatch() {
+        BoundingBox box = new BoundingBox(10, 50, 20, 60);
+        failingBatch.set(5);
+
+        ExternalServiceException error = assertThrows(ExternalServiceException.class,
+            () -> service.getGrid(box, 0.1, null, 1.0));
+
+        assertEquals(503, error.getStatusCode());
+        assertEquals(5, batches.get());
+        assertEquals(4, service.cachedTiles());
+
+        SolarGrid grid = service.getGrid(box, 0.1, null, 1.0);
+
+        assertEquals(101, batches.get());
+        assertEquals(100, service.cachedTiles());
+        assertEquals(100, grid.tiles().size());
+    }
+
+    @Test
+    void shouldComputeYieldsWithCalculatorScaledByInstalledPower() {
+        SolarGrid grid = service.getGrid(new BoundingBox(10, 50, 11, 51), 0.25, LocalDate.of(2026, 6, 3), 5.0);
+
+        assertEquals(4, grid.rows());
+        assertEquals(4, grid.cols());
+        assertEquals(50.125, grid.south(), 1e-9);
+        assertEquals(10.125, grid.west(), 1e-9);
+        double expected = calculator.calculateDailySolarEnergy(SUNSHINE_HOURS, 1.0) * 5.0;
+        for (int row = 0; row < grid.rows(); row++) {
+            for (int col = 0; col < grid.cols(); col++) {
+                assertEquals(expected, grid.yieldAt(row, col), 1e-4);
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectGridsOutsideLimits() {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.getGrid(new BoundingBox(0, 0, 30, 30), 0.1, null, 1.0));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.getGrid(new BoundingBox(0, 0, 1, 1), 0.001, null, 1.0));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.getGrid(new BoundingBox(0, 0, 1, 1), 0.1, LocalDate.of(2026, 7, 1), 1.0));
+        assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("10,60,20,50"));
+        assertEquals(0, batches.get());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedTilesAtCapacity() {
+        SolarGridProperties properties = new SolarGridProperties();
+        properties.setMaxTiles(2);
+        TileCache cache = new TileCache(properties);
+        long now = System.currentTimeMillis();
+        TileKey first = new TileKey(100_000, 0, 0, 0);
+        TileKey second = new TileKey(100_000, 0, 0, 1);
+        TileKey third = new TileKey(100_000, 0, 0, 2);
+
+        cache.put(new GridTile(first, new float[0], now));
+        cache.put(new GridTile(second, new float[0], now));
+        assertNotNull(cache.get(first));
+        cache.put(new GridTile(third, new float[0], now));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(first));
+        assertNull(cache.get(second));
+        assertNotNull(cache.get(third));
+    }
+
+    private class SunshineProvider implements WeatherProvider {
+
+        @Override
+        public String name() {
+            return "stub";
+        }
+
+        @Override
+        public Mono<List<JsonNode>> getDailyBatch(double[] latitudes, double[] longitudes, int days,
+                List<String> variables) {
+            if (batches.incrementAndGet() == failingBatch.get()) {
+                return Mono.error(WebClientResponseException.create(503, "Service Unavailable",
+                    HttpHeaders.EMPTY, new byte[0], null));
+            }
+            largestBatch.accumulateAndGet(latitudes.length, Math::max);
+            List<JsonNode> locations = new ArrayList<>(latitudes.length);
+            for (int i = 0; i < latitudes.length; i++) {
+                ObjectNode location = objectMapper.createObjectNode();
+                ArrayNode sunshine = location.putObject("daily").putArray("sunshine_duration");
+                for (int day = 0; day < days; day++) {
+                    sunshine.add(SUNSHINE_HOURS * 3600);
+                }
+                locations.add(location);
+            }
+            return Mono.just(locations);
+        }
+
+        @Override
+        public Mono<JsonNode> getWeatherForecast(double latitude, double longitude, int days) {
+            return Mono.error(new UnsupportedOperationException());
+        }
+
+        @Override
+        public Mono<byte[]> getPressureData(double latitude, double longitude, int days) {
+            return Mono.error(new UnsupportedOperationException());
+        }
+
+        @Override
+        public Mono<byte[]> getPressureData(double latitude, double longitude, String startHour, String endHour) {
+            return Mono.error(new UnsupportedOperationException());
+        }
+
+        @Override
+        public Mono<HourlySeries> getHourlyForecast(double latitude, double longitude, int days,
+                List<String> variables) {
+            return Mono.error(new UnsupportedOperationException());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.weathersolar.warmup;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weathersolar.config.SolarProperties;
+import com.weathersolar.config.WarmupProperties;
+import com.weathersolar.controller.CoordinateGuardInterceptor;
+import com.weathersolar.serialization.ResponseBodyEncoder;
+import com.weathersolar.service.SolarService;
+import com.weathersolar.utils.SolarEnergyCalculator;
+
+class WarmupRunnerTest {
+
+    @Test
+    void shouldHoldReadinessUntilReplayHasSettled() {
+        WarmupProperties properties = new WarmupProperties();
+        properties.setRoundSize(20);
+        properties.setMinRounds(3);
+        properties.setStableRounds(1);
+        properties.setTolerance(10.0);
+        properties.setMaxDuration(Duration.ofSeconds(30));
+        WarmupRunner runner = runner(properties);
+        WarmupHealthIndicator health = new WarmupHealthIndicator(runner);
+        assertEquals(Status.OUT_OF_SERVICE, health.health().getStatus());
+
+        runner.run();
+
+        WarmupRunner.Progress progress = runner.progress();
+        assertEquals(WarmupRunner.Phase.COMPLETED, progress.phase());
+        assertEquals(3, progress.rounds());
+        // 60 sessions of four calls each, plus the hourly series in sessions 0, 8, ..., 56
+        assertEquals(60 * 4 + 8, progress.requests());
+        assertTrue(progress.requestsPerSecond() > 0);
+        assertEquals(Status.UP, health.health().getStatus());
+    }
+
+    @Test
+    void shouldReportReadyWhenDisabled() {
+        WarmupProperties properties = new WarmupProperties();
+        properties.setEnabled(false);
+        WarmupRunner runner = runner(properties);
+
+        runner.start();
+
+        assertEquals(WarmupRunner.Phase.DISABLED, runner.progress().phase());
+        assertEquals(Status.UP, new WarmupHealthIndicator(runner).health().getStatus());
+    }
+
+    private static WarmupRunner runner(WarmupProperties properties) {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        SolarEnergyCalculator calculator = new SolarEnergyCalculator(new SolarProperties());
+        return new WarmupRunner(properties, calculator, new SolarService(calculator),
+            new ResponseBodyEncoder(objectMapper), objectMapper, WebClient.builder(),
+            new HttpMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper)),
+            new CoordinateGuardInterceptor());
+    }
+}